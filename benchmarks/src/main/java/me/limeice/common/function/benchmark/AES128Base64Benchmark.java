@@ -0,0 +1,85 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Base64;
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * {@link AES128#encryptBase64(String, byte[])} 与融合路径 {@link AES128Base64} 的对比，
+ * 配合 {@code -prof gc} 查看每次调用的分配量
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AES128Base64Benchmark {
+
+    @Param({"32", "256"})
+    public int size;
+
+    private byte[] key;
+
+    private String msg;
+
+    private AES128 aes;
+
+    private AES128Base64 codec;
+
+    private byte[] out;
+
+    private String secret;
+
+    private StringBuilder builder;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++)
+            sb.append((char) ('a' + i % 26));
+        msg = sb.toString();
+        aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        codec = new AES128Base64(aes.newSession(key));
+        out = new byte[codec.getEncryptOutputSize(size)];
+        builder = new StringBuilder(out.length);
+        secret = aes.encryptBase64(msg, key);
+    }
+
+    @Benchmark
+    public String encryptBase64() throws Exception {
+        return aes.encryptBase64(msg, key);
+    }
+
+    @Benchmark
+    public String decryptBase64() throws Exception {
+        return aes.decryptBase64(secret, key);
+    }
+
+    @Benchmark
+    public int fusedBytes() throws Exception {
+        return codec.encrypt(msg, out, 0);
+    }
+
+    @Benchmark
+    public StringBuilder fusedAppendable() throws Exception {
+        builder.setLength(0);
+        codec.encrypt(msg, builder);
+        return builder;
+    }
+}
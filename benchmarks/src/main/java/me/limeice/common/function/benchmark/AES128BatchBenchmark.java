@@ -0,0 +1,79 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Batch;
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * 逐条 {@link AES128#encrypt(String, byte[])} 与批量加密的对比（每次操作处理整批记录）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AES128BatchBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"32"})
+    public int size;
+
+    private byte[] key;
+
+    private String[] fields;
+
+    private byte[][] records;
+
+    private AES128 aes;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        Random random = new Random(rows);
+        fields = new String[rows];
+        records = new byte[rows][];
+        char[] cs = new char[size];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < size; j++)
+                cs[j] = (char) ('a' + random.nextInt(26));
+            fields[i] = new String(cs);
+            records[i] = fields[i].getBytes("UTF-8");
+        }
+    }
+
+    @Benchmark
+    public void perRecord(Blackhole bh) throws Exception {
+        for (String field : fields)
+            bh.consume(aes.encrypt(field, key));
+    }
+
+    @Benchmark
+    public AES128Batch batch() throws Exception {
+        return aes.encryptBatch(records, key, false);
+    }
+
+    @Benchmark
+    public AES128Batch batchParallel() throws Exception {
+        return aes.encryptBatch(records, key, true);
+    }
+}
@@ -0,0 +1,80 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Base;
+import me.limeice.common.function.algorithm.security.BitslicedAES128;
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * {@link AES128Base#encrypt(byte[], byte[])} 使用 JCE 与{@link BitslicedAES128}引擎的对比，按消息长度
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AES128EngineBenchmark {
+
+    @Param({"16", "64", "1024", "65536"})
+    public int size;
+
+    @Param({"ECB/PKCS5Padding", "CBC/PKCS5Padding", "CTR/NoPadding"})
+    public String transformation;
+
+    private byte[] key;
+
+    private byte[] msg;
+
+    private byte[] secret;
+
+    private AES128Base jce;
+
+    private AES128Base bitsliced;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        msg = new byte[size];
+        new Random(size).nextBytes(msg);
+        jce = new AES128(AES128ModeBenchmark.aesType(transformation));
+        bitsliced = new AES128(AES128ModeBenchmark.aesType(transformation));
+        bitsliced.setEngine(new BitslicedAES128());
+        secret = jce.encrypt(msg, key);
+    }
+
+    @Benchmark
+    public byte[] encryptJce() throws Exception {
+        return jce.encrypt(msg, key);
+    }
+
+    @Benchmark
+    public byte[] encryptBitsliced() throws Exception {
+        return bitsliced.encrypt(msg, key);
+    }
+
+    @Benchmark
+    public byte[] decryptJce() throws Exception {
+        return jce.decrypt(secret, key);
+    }
+
+    @Benchmark
+    public byte[] decryptBitsliced() throws Exception {
+        return bitsliced.decrypt(secret, key);
+    }
+}
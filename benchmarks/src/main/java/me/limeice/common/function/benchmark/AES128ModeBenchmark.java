@@ -0,0 +1,115 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Base;
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * {@link AES128Base#encrypt(byte[], byte[])} / {@link AES128Base#decrypt(byte[], byte[])}
+ * 在所有 JCE 支持的模式与填充组合、不同数据长度下的吞吐量
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AES128ModeBenchmark {
+
+    /* 长度均为16的倍数，NoPadding 也可处理 */
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"CBC/PKCS5Padding", "CBC/ISO10126Padding", "CBC/NoPadding",
+            "ECB/PKCS5Padding", "ECB/ISO10126Padding", "ECB/NoPadding",
+            "CFB/PKCS5Padding", "CFB/NoPadding",
+            "OFB/PKCS5Padding", "OFB/NoPadding",
+            "CTR/NoPadding", "GCM/NoPadding"})
+    public String transformation;
+
+    private byte[] key;
+
+    private byte[] msg;
+
+    private byte[] secret;
+
+    private AES128Base aes;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        msg = new byte[size];
+        new Random(size).nextBytes(msg);
+        aes = new AES128(aesType(transformation));
+        secret = aes.encrypt(msg, key);
+        // 在预热前发现无法往返的组合，避免完整运行中途失败
+        if (!Arrays.equals(msg, aes.decrypt(secret, key)))
+            throw new IllegalStateException(transformation + " round trip failed");
+    }
+
+    @Benchmark
+    public byte[] encrypt() throws Exception {
+        return aes.encrypt(msg, key);
+    }
+
+    @Benchmark
+    public byte[] decrypt() throws Exception {
+        return aes.decrypt(secret, key);
+    }
+
+    /**
+     * 将"模式/填充"转换为{@link AES128Base}构造参数
+     */
+    static int aesType(String transformation) {
+        String[] parts = transformation.split("/");
+        int mode;
+        switch (parts[0]) {
+            case "CBC":
+                mode = AES128Base.CBC;
+                break;
+            case "CFB":
+                mode = AES128Base.CFB;
+                break;
+            case "ECB":
+                mode = AES128Base.ECB;
+                break;
+            case "OFB":
+                mode = AES128Base.OFB;
+                break;
+            case "CTR":
+                mode = AES128Base.CTR;
+                break;
+            case "GCM":
+                mode = AES128Base.GCM;
+                break;
+            default:
+                throw new IllegalArgumentException(transformation);
+        }
+        switch (parts[1]) {
+            case "NoPadding":
+                return mode | AES128Base.NoPadding;
+            case "ISO10126Padding":
+                return mode | AES128Base.ISO10126Padding;
+            case "PKCS5Padding":
+                return mode | AES128Base.PKCS5Padding;
+            default:
+                throw new IllegalArgumentException(transformation);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Session;
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * 每次调用创建Cipher 与 {@link AES128Session} 复用Cipher 的对比
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AES128SessionBenchmark {
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int size;
+
+    private byte[] key;
+
+    private byte[] msg;
+
+    private AES128 aes;
+
+    private AES128Session session;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        msg = new byte[size];
+        new Random(size).nextBytes(msg);
+        aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        session = aes.newSession(key);
+    }
+
+    @Benchmark
+    public byte[] perCall() throws Exception {
+        return aes.encrypt(msg, key);
+    }
+
+    @Benchmark
+    public byte[] session() throws Exception {
+        return session.encrypt(msg);
+    }
+}
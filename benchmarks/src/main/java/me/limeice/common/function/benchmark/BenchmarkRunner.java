@@ -0,0 +1,70 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * 基准测试入口
+ * <pre>
+ *     接受 JMH 的全部命令行参数；未指定 -rf/-rff 时，结果以 JSON 保存到
+ *     results/&lt;版本&gt;/&lt;时间&gt;.json（目录可由 -Dbenchmark.results 指定），
+ *     便于在版本之间比较、追踪性能回退
+ *
+ *     java -jar benchmarks/target/benchmarks.jar                 # 全部
+ *     java -jar benchmarks/target/benchmarks.jar HashBenchmark   # 正则筛选
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("Don't instantiate...");
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            // 帮助与列表类命令交给 JMH 原生入口
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResult().hasValue() && !cmd.getResultFormat().hasValue()) {
+            File file = resultFile();
+            if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs())
+                throw new IOException("Failure to create a directory!Path->" + file.getParentFile());
+            builder.resultFormat(ResultFormatType.JSON).result(file.getPath());
+            System.out.println("# Results: " + file.getAbsolutePath());
+        }
+        new Runner(builder.build()).run();
+    }
+
+    private static File resultFile() throws IOException {
+        String dir = System.getProperty("benchmark.results", "results");
+        String time = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        return new File(new File(dir, version()), time + ".json");
+    }
+
+    private static String version() throws IOException {
+        Properties properties = new Properties();
+        InputStream in = BenchmarkRunner.class.getResourceAsStream("/benchmark.properties");
+        if (in == null)
+            return "unknown";
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+        return properties.getProperty("version", "unknown");
+    }
+}
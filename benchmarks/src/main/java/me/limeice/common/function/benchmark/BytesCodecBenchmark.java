@@ -0,0 +1,95 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.BytesUtils;
+
+/**
+ * 批量 long[]/double[] 编解码与逐个{@link BytesUtils#put(byte[], long, int)}循环的对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BytesCodecBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int count;
+
+    private long[] longs;
+
+    private double[] doubles;
+
+    private byte[] bytes;
+
+    private ByteBuffer direct;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        longs = new long[count];
+        doubles = new double[count];
+        for (int i = 0; i < count; i++) {
+            longs[i] = random.nextLong();
+            doubles[i] = random.nextDouble();
+        }
+        bytes = new byte[count * 8];
+        direct = ByteBuffer.allocateDirect(count * 8);
+    }
+
+    @Benchmark
+    public byte[] longsLoop() {
+        for (int i = 0; i < count; i++)
+            BytesUtils.put(bytes, longs[i], i * 8);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] longsBulkLittle() {
+        BytesUtils.put(bytes, 0, longs, 0, count, ByteOrder.LITTLE_ENDIAN);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] longsBulkBig() {
+        BytesUtils.put(bytes, 0, longs, 0, count, ByteOrder.BIG_ENDIAN);
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer longsBulkDirect() {
+        direct.clear();
+        BytesUtils.put(direct, longs, 0, count, ByteOrder.nativeOrder());
+        return direct;
+    }
+
+    @Benchmark
+    public double[] doublesDecodeLoop() {
+        for (int i = 0; i < count; i++)
+            doubles[i] = BytesUtils.getDouble(bytes, i * 8);
+        return doubles;
+    }
+
+    @Benchmark
+    public double[] doublesDecodeBulk() {
+        BytesUtils.getDoubles(bytes, 0, doubles, 0, count, ByteOrder.LITTLE_ENDIAN);
+        return doubles;
+    }
+}
@@ -0,0 +1,71 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.algorithm.security.Hash;
+
+/**
+ * {@link Hash} 各摘要算法的吞吐量，以及与每次调用{@link MessageDigest#getInstance(String)}的对比
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashBenchmark {
+
+    @Param({"MD5", "SHA-1", "SHA-256", "SHA-384", "SHA-512"})
+    public String algorithm;
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    private byte[] msg;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        msg = new byte[size];
+        new Random(size).nextBytes(msg);
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++)
+            builder.append((char) ('a' + i % 26));
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public byte[] encodeBytes() {
+        return Hash.encode(algorithm, msg);
+    }
+
+    @Benchmark
+    public byte[] encodeString() {
+        return Hash.encode(algorithm, text);
+    }
+
+    @Benchmark
+    public byte[] getInstance() throws Exception {
+        return MessageDigest.getInstance(algorithm).digest(msg);
+    }
+
+    @Benchmark
+    public long crc32() {
+        return Hash.crc32(text);
+    }
+}
@@ -0,0 +1,134 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.BytesUtils;
+
+/**
+ * 查表十六进制编解码与原实现（{@code Integer.toHexString}/{@code indexOf}）的对比，以及异或、常量时间比较。
+ * 多版本JAR在 JDK 17+ 上使用 VarHandle 实现，加 {@code -Djdk.util.jar.enableMultiRelease=false} 可对比通用实现
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HexBenchmark {
+
+    @Param({"16", "32", "64", "4096"})
+    public int size;
+
+    private byte[] bytes;
+
+    private String hex;
+
+    private char[] chars;
+
+    private byte[] other;
+
+    private byte[] out;
+
+    private byte[] ascii;
+
+    @Setup
+    public void setUp() {
+        bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        hex = BytesUtils.toHexString(bytes);
+        chars = new char[size * 2];
+        other = bytes.clone();
+        out = new byte[size];
+        ascii = new byte[size * 2];
+    }
+
+    @Benchmark
+    public String encodeLegacy() {
+        return Legacy.toHexString(bytes);
+    }
+
+    @Benchmark
+    public String encode() {
+        return BytesUtils.toHexString(bytes);
+    }
+
+    @Benchmark
+    public char[] encodeInto() {
+        BytesUtils.encodeHex(bytes, 0, bytes.length, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public byte[] encodeAscii() {
+        BytesUtils.encodeHex(bytes, 0, bytes.length, ascii, 0);
+        return ascii;
+    }
+
+    @Benchmark
+    public byte[] decodeLegacy() {
+        return Legacy.hexStringToBytes(hex);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return BytesUtils.hexStringToBytes(hex);
+    }
+
+    @Benchmark
+    public byte[] xor() {
+        BytesUtils.xor(bytes, 0, other, 0, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public boolean constantTimeEquals() {
+        return BytesUtils.constantTimeEquals(bytes, other);
+    }
+
+    /**
+     * 原实现，作为基线
+     */
+    static final class Legacy {
+
+        static String toHexString(byte[] bytes) {
+            if (bytes.length == 0)
+                return "";
+            StringBuilder builder = new StringBuilder();
+            for (byte b : bytes) {
+                String hv = Integer.toHexString(b & 0xFF);
+                if (hv.length() < 2)
+                    builder.append(0);
+                builder.append(hv);
+            }
+            return builder.toString();
+        }
+
+        static byte[] hexStringToBytes(String hexString) {
+            if (hexString == null || hexString.length() == 0)
+                return null;
+            hexString = hexString.toUpperCase();
+            int length = hexString.length() / 2;
+            char[] hexChars = hexString.toCharArray();
+            byte[] d = new byte[length];
+            for (int i = 0; i < length; i++) {
+                int pos = i << 1;
+                d[i] = (byte) ("0123456789ABCDEF".indexOf(hexChars[pos]) << 4
+                        | "0123456789ABCDEF".indexOf(hexChars[pos + 1]));
+            }
+            return d;
+        }
+    }
+}
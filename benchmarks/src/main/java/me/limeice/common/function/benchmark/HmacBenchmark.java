@@ -0,0 +1,74 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.algorithm.security.Hash;
+import me.limeice.common.function.algorithm.security.HmacEngine;
+
+/**
+ * {@link HmacEngine} 与每次调用{@link Mac#getInstance(String)}、{@link Mac#init(java.security.Key)}的对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HmacBenchmark {
+
+    @Param({HmacEngine.HMAC_SHA1, HmacEngine.HMAC_SHA256, HmacEngine.HMAC_SHA512})
+    public String algorithm;
+
+    @Param({"200", "4096"})
+    public int size;
+
+    private byte[] key;
+
+    private byte[] msg;
+
+    private byte[] tag;
+
+    private HmacEngine engine;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = Hash.md5ToBytes("benchmark");
+        msg = new byte[size];
+        new Random(size).nextBytes(msg);
+        engine = Hash.hmac(algorithm, key);
+        tag = engine.sign(msg);
+    }
+
+    @Benchmark
+    public byte[] getInstance() throws Exception {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(key, algorithm));
+        return mac.doFinal(msg);
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return engine.sign(msg);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return engine.verify(msg, tag);
+    }
+}
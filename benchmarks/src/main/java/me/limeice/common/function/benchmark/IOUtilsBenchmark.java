@@ -0,0 +1,139 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.limeice.common.function.IOUtils;
+import me.limeice.common.function.ParallelGzip;
+
+/**
+ * {@link IOUtils} 文件读写、gzip 压缩与文件复制
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IOUtilsBenchmark {
+
+    @Param({"4096", "1048576", "16777216"})
+    public int size;
+
+    private byte[] data;
+
+    private byte[] zipped;
+
+    private File src;
+
+    private File dst;
+
+    private final ParallelGzip gzip = new ParallelGzip();
+
+    @Setup
+    public void setUp() throws IOException {
+        // 半随机数据，压缩率接近日志类文本
+        data = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++)
+            data[i] = (byte) ('a' + random.nextInt(16));
+        src = File.createTempFile("bench-src", ".bin");
+        dst = File.createTempFile("bench-dst", ".bin");
+        IOUtils.write(src, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtils.zip(new ByteArrayInputStream(data), out);
+        zipped = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        src.delete();
+        dst.delete();
+    }
+
+    @Benchmark
+    public byte[] readFile() throws IOException {
+        return IOUtils.read(src);
+    }
+
+    @Benchmark
+    public byte[] readStream() throws IOException {
+        FileInputStream in = new FileInputStream(src);
+        try {
+            return IOUtils.read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] readStreamHint() throws IOException {
+        FileInputStream in = new FileInputStream(src);
+        try {
+            return IOUtils.read(in, size);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer readBuffer() throws IOException {
+        FileInputStream in = new FileInputStream(src);
+        try {
+            return IOUtils.readBuffer(in, -1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public File write() throws IOException {
+        IOUtils.write(dst, data);
+        return dst;
+    }
+
+    @Benchmark
+    public boolean copyFile() {
+        return IOUtils.copyFile(src, dst);
+    }
+
+    @Benchmark
+    public int zip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size / 2);
+        IOUtils.zip(new ByteArrayInputStream(data), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int zipParallel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size / 2);
+        IOUtils.zip(new ByteArrayInputStream(data), out, gzip);
+        return out.size();
+    }
+
+    @Benchmark
+    public int unzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        IOUtils.unzip(new ByteArrayInputStream(zipped), out);
+        return out.size();
+    }
+}
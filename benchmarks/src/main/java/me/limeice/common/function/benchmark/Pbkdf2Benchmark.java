@@ -0,0 +1,81 @@
+package me.limeice.common.function.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import me.limeice.common.function.algorithm.security.Pbkdf2;
+
+/**
+ * {@link Pbkdf2} 与{@code SecretKeyFactory("PBKDF2WithHmacSHA256")}的对比，按迭代次数与输出长度
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Pbkdf2Benchmark {
+
+    @Param({"10000", "100000"})
+    public int iterations;
+
+    /* 32字节为单个输出块，64字节为两个并行通道 */
+    @Param({"16", "64"})
+    public int keyLength;
+
+    private static final char[] PASSWORD = "benchmark-password".toCharArray();
+
+    private final byte[] salt = "0123456789abcdef".getBytes();
+
+    private final byte[][] salts = new byte[4][];
+
+    private SecretKeyFactory factory;
+
+    private Pbkdf2 kdf;
+
+    @Setup
+    public void setUp() throws Exception {
+        factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        kdf = new Pbkdf2(iterations);
+        for (int i = 0; i < salts.length; i++)
+            salts[i] = ("0123456789abcde" + i).getBytes();
+    }
+
+    @Benchmark
+    public byte[] secretKeyFactory() throws Exception {
+        return factory.generateSecret(new PBEKeySpec(PASSWORD, salt, iterations, keyLength * 8)).getEncoded();
+    }
+
+    @Benchmark
+    public byte[] pbkdf2() {
+        return kdf.derive(PASSWORD, salt, keyLength);
+    }
+
+    @Benchmark
+    public byte[][] secretKeyFactory4Salts() throws Exception {
+        byte[][] keys = new byte[salts.length][];
+        for (int i = 0; i < salts.length; i++)
+            keys[i] = factory.generateSecret(new PBEKeySpec(PASSWORD, salts[i], iterations, keyLength * 8))
+                    .getEncoded();
+        return keys;
+    }
+
+    @Benchmark
+    public byte[][] pbkdf2Lanes4Salts() {
+        return kdf.derive(new String(PASSWORD), salts, keyLength);
+    }
+}
@@ -0,0 +1,232 @@
+package me.limeice.common.function;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界缓冲管道
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 连接两个线程的单写单读字节管道，数据按块传递，块在两端之间循环复用，
+ *             占用内存不超过 (depth + 2) * bufferSize。任一端调用{@link #fail(Throwable)}后，
+ *             另一端的读写立即以IOException结束，不会永久阻塞
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ */
+final class BlockingPipe {
+
+    /* 等待时检查对端状态的间隔 */
+    private static final long WAIT_MILLIS = 50;
+
+    private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+
+    private final ArrayBlockingQueue<ByteBuffer> filled;
+
+    private final ArrayBlockingQueue<ByteBuffer> free;
+
+    private final int bufferSize;
+
+    private volatile Throwable error;
+
+    private volatile boolean readerClosed;
+
+    private final Sink sink = new Sink();
+
+    private final Source source = new Source();
+
+    /**
+     * @param bufferSize 块大小
+     * @param depth      队列中最多等待的块数
+     */
+    BlockingPipe(int bufferSize, int depth) {
+        this.bufferSize = bufferSize;
+        this.filled = new ArrayBlockingQueue<>(depth + 1);
+        this.free = new ArrayBlockingQueue<>(depth + 2);
+    }
+
+    /**
+     * @return 写入端，关闭时发送结束标记
+     */
+    @NotNull
+    OutputStream sink() {
+        return sink;
+    }
+
+    /**
+     * @return 读取端，关闭后写入端的后续写入失败
+     */
+    @NotNull
+    InputStream source() {
+        return source;
+    }
+
+    /**
+     * 标记失败，唤醒并终止对端
+     *
+     * @param t 原因
+     */
+    void fail(@NotNull Throwable t) {
+        if (error == null)
+            error = t;
+    }
+
+    private void check() throws IOException {
+        Throwable t = error;
+        if (t != null)
+            throw new IOException("Pipeline stage failed", t);
+    }
+
+    private ByteBuffer newBuffer() {
+        ByteBuffer buf = free.poll();
+        if (buf == null)
+            return ByteBuffer.allocate(bufferSize);
+        buf.clear();
+        return buf;
+    }
+
+    private final class Sink extends OutputStream {
+
+        private ByteBuffer current;
+
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            if (closed)
+                throw new IOException("Stream closed");
+            while (len > 0) {
+                if (current == null)
+                    current = newBuffer();
+                int n = Math.min(len, current.remaining());
+                current.put(b, off, n);
+                off += n;
+                len -= n;
+                if (!current.hasRemaining())
+                    send();
+            }
+        }
+
+        /**
+         * 立即发送未满的块
+         */
+        @Override
+        public void flush() throws IOException {
+            if (current != null && current.position() > 0)
+                send();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+            flush();
+            closed = true;
+            // 读取端已结束时不再需要结束标记
+            if (!readerClosed)
+                put(EOF);
+        }
+
+        private void send() throws IOException {
+            if (readerClosed)
+                throw new IOException("Pipe closed");
+            ByteBuffer buf = current;
+            current = null;
+            buf.flip();
+            put(buf);
+        }
+
+        private void put(ByteBuffer buf) throws IOException {
+            try {
+                while (!filled.offer(buf, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    check();
+                    if (readerClosed)
+                        throw new IOException("Pipe closed");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    private final class Source extends InputStream {
+
+        private ByteBuffer current;
+
+        private boolean eof;
+
+        @Override
+        public int read() throws IOException {
+            if (!next())
+                return -1;
+            return current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (!next())
+                return -1;
+            int n = Math.min(len, current.remaining());
+            current.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            if (current != null && current.hasRemaining())
+                return current.remaining();
+            ByteBuffer head = filled.peek();
+            return head == null ? 0 : head.remaining();
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            filled.clear();
+        }
+
+        /* 当前块为空时取下一块，返回是否有数据 */
+        private boolean next() throws IOException {
+            while (current == null || !current.hasRemaining()) {
+                if (eof)
+                    return false;
+                if (current != null) {
+                    free.offer(current);
+                    current = null;
+                }
+                ByteBuffer buf;
+                try {
+                    while ((buf = filled.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS)) == null)
+                        check();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                if (buf == EOF) {
+                    // 写入端失败时先标记错误，避免把不完整的数据当作正常结束
+                    check();
+                    eof = true;
+                    return false;
+                }
+                current = buf;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package me.limeice.common.function;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 字节数组缓冲池
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 按 2 的幂分级（8KB ~ 1MB）缓存 byte[]，借出与归还均为无锁 CAS，
+ *             按线程ID散列到不同槽位；池为空时直接分配，槽位已满时归还的数组被丢弃。
+ *             入池前清零，避免明文残留在池中
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class BufferPool {
+
+    /**
+     * 最小分级（8KB）
+     */
+    public static final int MIN_SIZE = 8 * 1024;
+
+    /**
+     * 最大分级（1MB），更大的请求直接分配且不入池
+     */
+    public static final int MAX_SIZE = 1024 * 1024;
+
+    private static final int MIN_SHIFT = 13;
+
+    private static final int CLASSES = 8;
+
+    /* 每次借出/归还最多探测的槽位数 */
+    private static final int PROBES = 4;
+
+    private static final BufferPool SHARED = new BufferPool(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicReferenceArray<byte[]>[] slots;
+
+    private final int mask;
+
+    /**
+     * @param slotsPerClass 每个分级最多缓存的数组数
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(int slotsPerClass) {
+        int size = Integer.highestOneBit(Math.max(slotsPerClass - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray[CLASSES];
+        for (int i = 0; i < CLASSES; i++)
+            slots[i] = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @return 全局共享缓冲池
+     */
+    @NotNull
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * 借出长度不小于minSize的数组，长度为 2 的幂（超过{@link #MAX_SIZE}时为minSize）
+     *
+     * @param minSize 最小长度
+     * @return 数组
+     */
+    @NotNull
+    public byte[] acquire(int minSize) {
+        if (minSize > MAX_SIZE)
+            return new byte[minSize];
+        int cls = sizeClass(minSize);
+        AtomicReferenceArray<byte[]> s = slots[cls];
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (home + i) & mask;
+            if (s.get(idx) != null) {
+                byte[] buf = s.getAndSet(idx, null);
+                if (buf != null)
+                    return buf;
+            }
+        }
+        return new byte[MIN_SIZE << cls];
+    }
+
+    /**
+     * 归还数组并清零，只接受{@link #acquire(int)}分配的分级长度，其余直接丢弃
+     *
+     * @param buf 数组，归还后调用方不得再使用
+     */
+    public void release(@NotNull byte[] buf) {
+        int len = buf.length;
+        if (len < MIN_SIZE || len > MAX_SIZE || Integer.bitCount(len) != 1)
+            return;
+        Arrays.fill(buf, (byte) 0);
+        AtomicReferenceArray<byte[]> s = slots[sizeClass(len)];
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (home + i) & mask;
+            if (s.get(idx) == null && s.compareAndSet(idx, null, buf))
+                return;
+        }
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= MIN_SIZE)
+            return 0;
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+
+    private static int home() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,104 @@
+package me.limeice.common.function;
+
+
+import java.util.Arrays;
+
+/**
+ * 字节处理内核（Java 8 通用实现）
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 十六进制编解码、异或、常量时间比较的底层实现，不做边界检查，由{@link BytesUtils}调用。
+ *             多版本JAR中 META-INF/versions/17 下有同名的 VarHandle 宽访问实现
+ *             （src/main/java17），运行在 JDK 17+ 上时由类加载器自动选用，两者输出必须一致
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ */
+final class ByteKernels {
+
+    /**
+     * 当前实现名称
+     */
+    static final String NAME = "portable";
+
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+    /* 十六进制解码表，非法字符为-1 */
+    private static final byte[] HEX_DECODE = new byte[128];
+
+    static {
+        Arrays.fill(HEX_DECODE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DECODE[HEX_LOWER[i]] = (byte) i;
+            HEX_DECODE[HEX_UPPER[i]] = (byte) i;
+        }
+    }
+
+    private ByteKernels() {
+        throw new UnsupportedOperationException("Don't instantiate...");
+    }
+
+    /**
+     * 十六进制编码为字符
+     */
+    static void encodeHex(byte[] src, int srcOff, int len, char[] dst, int dstOff, boolean upperCase) {
+        char[] table = upperCase ? HEX_UPPER : HEX_LOWER;
+        for (int i = 0; i < len; i++) {
+            int v = src[srcOff + i] & 0xFF;
+            dst[dstOff++] = table[v >>> 4];
+            dst[dstOff++] = table[v & 0x0F];
+        }
+    }
+
+    /**
+     * 十六进制编码为小写ASCII字节
+     */
+    static void encodeHex(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            int v = src[srcOff + i] & 0xFF;
+            dst[dstOff++] = (byte) HEX_LOWER[v >>> 4];
+            dst[dstOff++] = (byte) HEX_LOWER[v & 0x0F];
+        }
+    }
+
+    /**
+     * 十六进制解码，len为偶数
+     *
+     * @return 第一个非法字符的位置，全部合法时为-1
+     */
+    static int decodeHex(CharSequence src, int srcOff, int len, byte[] dst, int dstOff) {
+        int end = srcOff + len;
+        for (int i = srcOff; i < end; i += 2) {
+            int hi = hexValue(src.charAt(i));
+            int lo = hexValue(src.charAt(i + 1));
+            if ((hi | lo) < 0)
+                return hi < 0 ? i : i + 1;
+            dst[dstOff++] = (byte) (hi << 4 | lo);
+        }
+        return -1;
+    }
+
+    /**
+     * dst = a ^ b，dst可以与a或b是同一数组的同一位置
+     */
+    static void xor(byte[] a, int aOff, byte[] b, int bOff, byte[] dst, int dstOff, int len) {
+        for (int i = 0; i < len; i++)
+            dst[dstOff + i] = (byte) (a[aOff + i] ^ b[bOff + i]);
+    }
+
+    /**
+     * 常量时间比较，耗时只与len有关
+     */
+    static boolean equals(byte[] a, int aOff, byte[] b, int bOff, int len) {
+        int diff = 0;
+        for (int i = 0; i < len; i++)
+            diff |= a[aOff + i] ^ b[bOff + i];
+        return diff == 0;
+    }
+
+    private static int hexValue(char c) {
+        return c < 128 ? HEX_DECODE[c] : -1;
+    }
+}
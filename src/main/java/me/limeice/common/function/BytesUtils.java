@@ -4,6 +4,12 @@ package me.limeice.common.function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+
 /**
  * 字节流处理工具
  * <pre>
@@ -19,24 +25,132 @@ public final class BytesUtils {
         throw new UnsupportedOperationException("Don't instantiate...");
     }
 
+    /* 十六进制编码表 */
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+
+    /* hexDump 每行字节数 */
+    private static final int DUMP_WIDTH = 16;
+
     /**
      * Convert byte array to hex string
      *
      * @param bytes byte array, eg:[0x1A,0x2C,0x3B]
-     * @return hex string, eg: 1A2C3B
+     * @return hex string, eg: 1a2c3b
      */
     @NotNull
     public static String toHexString(@NotNull byte[] bytes) {
-        if (bytes.length == 0)
+        return toHexString(bytes, 0, bytes.length, false);
+    }
+
+    /**
+     * Convert byte array range to hex string
+     *
+     * @param bytes     byte array
+     * @param offset    offset of bytes
+     * @param len       length
+     * @param upperCase use A-F instead of a-f
+     * @return hex string
+     */
+    @NotNull
+    public static String toHexString(@NotNull byte[] bytes, int offset, int len, boolean upperCase) {
+        if (len == 0)
             return "";
-        StringBuilder builder = new StringBuilder();
-        for (byte b : bytes) {
-            String hv = Integer.toHexString(b & 0xFF);
-            if (hv.length() < 2)
-                builder.append(0);
-            builder.append(hv);
+        char[] out = new char[len << 1];
+        encodeHex(bytes, offset, len, out, 0, upperCase);
+        return new String(out);
+    }
+
+    /**
+     * Encode bytes as lower-case hex into caller-supplied chars
+     *
+     * @param src    source bytes
+     * @param srcOff offset of src
+     * @param len    bytes to encode
+     * @param dst    target chars, needs {@code len * 2} chars from dstOff
+     * @param dstOff offset of dst
+     * @return chars written
+     */
+    public static int encodeHex(@NotNull byte[] src, int srcOff, int len, @NotNull char[] dst, int dstOff) {
+        return encodeHex(src, srcOff, len, dst, dstOff, false);
+    }
+
+    /**
+     * Encode bytes as hex into caller-supplied chars
+     *
+     * @param src       source bytes
+     * @param srcOff    offset of src
+     * @param len       bytes to encode
+     * @param dst       target chars, needs {@code len * 2} chars from dstOff
+     * @param dstOff    offset of dst
+     * @param upperCase use A-F instead of a-f
+     * @return chars written
+     */
+    public static int encodeHex(@NotNull byte[] src, int srcOff, int len, @NotNull char[] dst, int dstOff,
+                                boolean upperCase) {
+        if (srcOff < 0 || len < 0 || srcOff + len > src.length || dstOff < 0 || dstOff + (len << 1) > dst.length)
+            throw new IndexOutOfBoundsException();
+        ByteKernels.encodeHex(src, srcOff, len, dst, dstOff, upperCase);
+        return len << 1;
+    }
+
+    /**
+     * Encode bytes as lower-case hex into caller-supplied bytes (ASCII)
+     *
+     * @param src    source bytes
+     * @param srcOff offset of src
+     * @param len    bytes to encode
+     * @param dst    target bytes, needs {@code len * 2} bytes from dstOff
+     * @param dstOff offset of dst
+     * @return bytes written
+     */
+    public static int encodeHex(@NotNull byte[] src, int srcOff, int len, @NotNull byte[] dst, int dstOff) {
+        if (srcOff < 0 || len < 0 || srcOff + len > src.length || dstOff < 0 || dstOff + (len << 1) > dst.length)
+            throw new IndexOutOfBoundsException();
+        ByteKernels.encodeHex(src, srcOff, len, dst, dstOff);
+        return len << 1;
+    }
+
+    /**
+     * Append bytes as lower-case hex
+     *
+     * @param src    source bytes
+     * @param srcOff offset of src
+     * @param len    bytes to encode
+     * @param out    target, eg: StringBuilder, Writer
+     * @throws IOException from out
+     */
+    public static void appendHex(@NotNull byte[] src, int srcOff, int len, @NotNull Appendable out)
+            throws IOException {
+        char[] buf = new char[Math.min(len, 256) << 1];
+        while (len > 0) {
+            int n = Math.min(len, buf.length >> 1);
+            encodeHex(src, srcOff, n, buf, 0, false);
+            append(out, buf, n << 1);
+            srcOff += n;
+            len -= n;
         }
-        return builder.toString();
+    }
+
+    /**
+     * Decode hex chars (either case) into caller-supplied bytes
+     *
+     * @param src    hex chars
+     * @param srcOff offset of src
+     * @param len    chars to decode, must be even
+     * @param dst    target bytes, needs {@code len / 2} bytes from dstOff
+     * @param dstOff offset of dst
+     * @return bytes written
+     * @throws IllegalArgumentException odd length or non-hex char
+     */
+    public static int decodeHex(@NotNull CharSequence src, int srcOff, int len, @NotNull byte[] dst, int dstOff) {
+        if ((len & 1) != 0)
+            throw new IllegalArgumentException("Hex length must be even: " + len);
+        if (srcOff < 0 || len < 0 || srcOff + len > src.length() || dstOff < 0 || dstOff + (len >> 1) > dst.length)
+            throw new IndexOutOfBoundsException();
+        int illegal = ByteKernels.decodeHex(src, srcOff, len, dst, dstOff);
+        if (illegal >= 0)
+            throw new IllegalArgumentException("Illegal hex char '" + src.charAt(illegal) + "' at index " + illegal);
+        return len >> 1;
     }
 
     /**
@@ -47,8 +161,7 @@ public final class BytesUtils {
      */
     @NotNull
     public static String convert(byte b) {
-        String hv = Integer.toHexString(b & 0xFF);
-        return hv.length() < 2 ? ("0x0" + hv) : ("0x" + hv);
+        return new String(new char[]{'0', 'x', HEX_LOWER[(b >>> 4) & 0x0F], HEX_LOWER[b & 0x0F]});
     }
 
     /**
@@ -59,35 +172,140 @@ public final class BytesUtils {
      */
     @NotNull
     public static String convert(@NotNull final byte[] bytes) {
-        StringBuilder builder = new StringBuilder("[");
-        int i = 0;
-        for (; i < bytes.length - 1; i++)
-            builder.append(convert(bytes[i])).append(", ");
-
-        return builder.append(convert(bytes[i])).append(']').toString();
+        if (bytes.length == 0)
+            return "[]";
+        StringBuilder builder = new StringBuilder(bytes.length * 6);
+        builder.append('[');
+        for (int i = 0; i < bytes.length; i++) {
+            if (i > 0)
+                builder.append(", ");
+            int v = bytes[i] & 0xFF;
+            builder.append('0').append('x').append(HEX_LOWER[v >>> 4]).append(HEX_LOWER[v & 0x0F]);
+        }
+        return builder.append(']').toString();
     }
 
     /**
-     * Convert hex string to byte array
+     * Convert hex string (either case) to byte array
      *
      * @param hexString hex string eg: 1A2C3B
      * @return byte array eg:[0x1A,0x2C,0x3B]
+     * @throws IllegalArgumentException odd length or non-hex char
      */
     @Nullable
     public static byte[] hexStringToBytes(@Nullable String hexString) {
         if (hexString == null || hexString.length() == 0)
             return null;
-        hexString = hexString.toUpperCase();
-        int length = hexString.length() / 2;
-        char[] hexChars = hexString.toCharArray();
-        byte[] d = new byte[length];
-        for (int i = 0; i < length; i++) {
-            int pos = i << 1;
-            d[i] = (byte) (charToByte(hexChars[pos]) << 4 | charToByte(hexChars[pos + 1]));
-        }
+        byte[] d = new byte[hexString.length() >> 1];
+        decodeHex(hexString, 0, hexString.length(), d, 0);
         return d;
     }
 
+    /**
+     * XOR two byte ranges: {@code dst[i] = a[i] ^ b[i]}, dst may be a or b at the same offset
+     *
+     * @param a      first operand
+     * @param aOff   offset of a
+     * @param b      second operand, eg: keystream
+     * @param bOff   offset of b
+     * @param dst    target bytes
+     * @param dstOff offset of dst
+     * @param len    bytes to process
+     */
+    public static void xor(@NotNull byte[] a, int aOff, @NotNull byte[] b, int bOff,
+                           @NotNull byte[] dst, int dstOff, int len) {
+        if (len < 0 || aOff < 0 || aOff + len > a.length || bOff < 0 || bOff + len > b.length
+                || dstOff < 0 || dstOff + len > dst.length)
+            throw new IndexOutOfBoundsException();
+        ByteKernels.xor(a, aOff, b, bOff, dst, dstOff, len);
+    }
+
+    /**
+     * Compare in constant time, time depends only on length (eg: MAC, token)
+     *
+     * @param a first bytes
+     * @param b second bytes
+     * @return true if same length and content
+     */
+    public static boolean constantTimeEquals(@NotNull byte[] a, @NotNull byte[] b) {
+        return a.length == b.length && ByteKernels.equals(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Compare ranges in constant time, time depends only on len
+     *
+     * @param a    first bytes
+     * @param aOff offset of a
+     * @param b    second bytes
+     * @param bOff offset of b
+     * @param len  bytes to compare
+     * @return true if same content
+     */
+    public static boolean constantTimeEquals(@NotNull byte[] a, int aOff, @NotNull byte[] b, int bOff, int len) {
+        if (len < 0 || aOff < 0 || aOff + len > a.length || bOff < 0 || bOff + len > b.length)
+            throw new IndexOutOfBoundsException();
+        return ByteKernels.equals(a, aOff, b, bOff, len);
+    }
+
+    /**
+     * Write a hex dump (offset, hex bytes, ASCII), 16 bytes per line
+     * <pre>
+     * 00000000  48 65 6c 6c 6f 20 4c 69  6d 65 0a                 |Hello Lime.|
+     * </pre>
+     *
+     * @param bytes source bytes
+     * @param out   target, eg: StringBuilder, Writer
+     * @throws IOException from out
+     */
+    public static void hexDump(@NotNull byte[] bytes, @NotNull Appendable out) throws IOException {
+        hexDump(ByteBuffer.wrap(bytes), out);
+    }
+
+    /**
+     * Write a hex dump of the remaining bytes (position unchanged), line by line without buffering the whole
+     * output
+     *
+     * @param buffer source bytes, heap or direct
+     * @param out    target, eg: StringBuilder, Writer
+     * @throws IOException from out
+     */
+    public static void hexDump(@NotNull ByteBuffer buffer, @NotNull Appendable out) throws IOException {
+        // 8(offset) + 2 + 16 * 3 + 1 + 2 + 16 + 1 + 1(\n)
+        char[] line = new char[79];
+        int base = buffer.position();
+        int total = buffer.remaining();
+        for (int off = 0; off < total; off += DUMP_WIDTH) {
+            int n = Math.min(DUMP_WIDTH, total - off);
+            int p = 0;
+            for (int shift = 28; shift >= 0; shift -= 4)
+                line[p++] = HEX_LOWER[(off >>> shift) & 0x0F];
+            line[p++] = ' ';
+            line[p++] = ' ';
+            for (int i = 0; i < DUMP_WIDTH; i++) {
+                if (i == 8)
+                    line[p++] = ' ';
+                if (i < n) {
+                    int v = buffer.get(base + off + i) & 0xFF;
+                    line[p++] = HEX_LOWER[v >>> 4];
+                    line[p++] = HEX_LOWER[v & 0x0F];
+                } else {
+                    line[p++] = ' ';
+                    line[p++] = ' ';
+                }
+                line[p++] = ' ';
+            }
+            line[p++] = ' ';
+            line[p++] = '|';
+            for (int i = 0; i < n; i++) {
+                int v = buffer.get(base + off + i) & 0xFF;
+                line[p++] = v >= 0x20 && v < 0x7F ? (char) v : '.';
+            }
+            line[p++] = '|';
+            line[p++] = '\n';
+            append(out, line, p);
+        }
+    }
+
     /**
      * boolean value to byte
      *
@@ -427,12 +645,387 @@ public final class BytesUtils {
     }
 
     /**
-     * Convert char to byte
+     * int array to byte array
+     *
+     * @param values int array
+     * @param order  byte order
+     * @return bytes(length = values.length * 4)
+     */
+    @NotNull
+    public static byte[] toBytes(@NotNull int[] values, @NotNull ByteOrder order) {
+        byte[] bs = new byte[values.length * 4];
+        put(bs, 0, values, 0, values.length, order);
+        return bs;
+    }
+
+    /**
+     * int array put byte array
+     *
+     * @param bs     bytes
+     * @param index  bytes offset
+     * @param values int array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     * @return bytes written
+     */
+    public static int put(@NotNull byte[] bs, int index, @NotNull int[] values, int off, int len,
+                          @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 4).order(order).asIntBuffer().put(values, off, len);
+        return len * 4;
+    }
+
+    /**
+     * int array put ByteBuffer, position advances by len * 4
+     *
+     * @param buf    buffer
+     * @param values int array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void put(@NotNull ByteBuffer buf, @NotNull int[] values, int off, int len,
+                           @NotNull ByteOrder order) {
+        view(buf, len * 4, order).asIntBuffer().put(values, off, len);
+        buf.position(buf.position() + len * 4);
+    }
+
+    /**
+     * get int array from byte array
+     *
+     * @param bs    bytes(length % 4 == 0)
+     * @param order byte order
+     * @return values
+     */
+    @NotNull
+    public static int[] getInts(@NotNull byte[] bs, @NotNull ByteOrder order) {
+        if (bs.length % 4 != 0)
+            throw new IllegalArgumentException("bytes length must be a multiple of 4!");
+        int[] values = new int[bs.length / 4];
+        getInts(bs, 0, values, 0, values.length, order);
+        return values;
+    }
+
+    /**
+     * get int array from byte array
+     *
+     * @param bs     bytes
+     * @param index  bs offset
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getInts(@NotNull byte[] bs, int index, @NotNull int[] values, int off, int len,
+                               @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 4).order(order).asIntBuffer().get(values, off, len);
+    }
+
+    /**
+     * get int array from ByteBuffer, position advances by len * 4
+     *
+     * @param buf    buffer
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getInts(@NotNull ByteBuffer buf, @NotNull int[] values, int off, int len,
+                               @NotNull ByteOrder order) {
+        view(buf, len * 4, order).asIntBuffer().get(values, off, len);
+        buf.position(buf.position() + len * 4);
+    }
+
+    /**
+     * long array to byte array
      *
-     * @param c char
-     * @return byte 0 1 2 3 4 5 6 7 8 9 A B C D E F
+     * @param values long array
+     * @param order  byte order
+     * @return bytes(length = values.length * 8)
      */
-    private static byte charToByte(char c) {
-        return (byte) "0123456789ABCDEF".indexOf(c);
+    @NotNull
+    public static byte[] toBytes(@NotNull long[] values, @NotNull ByteOrder order) {
+        byte[] bs = new byte[values.length * 8];
+        put(bs, 0, values, 0, values.length, order);
+        return bs;
+    }
+
+    /**
+     * long array put byte array
+     *
+     * @param bs     bytes
+     * @param index  bytes offset
+     * @param values long array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     * @return bytes written
+     */
+    public static int put(@NotNull byte[] bs, int index, @NotNull long[] values, int off, int len,
+                          @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 8).order(order).asLongBuffer().put(values, off, len);
+        return len * 8;
+    }
+
+    /**
+     * long array put ByteBuffer, position advances by len * 8
+     *
+     * @param buf    buffer
+     * @param values long array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void put(@NotNull ByteBuffer buf, @NotNull long[] values, int off, int len,
+                           @NotNull ByteOrder order) {
+        view(buf, len * 8, order).asLongBuffer().put(values, off, len);
+        buf.position(buf.position() + len * 8);
+    }
+
+    /**
+     * get long array from byte array
+     *
+     * @param bs    bytes(length % 8 == 0)
+     * @param order byte order
+     * @return values
+     */
+    @NotNull
+    public static long[] getLongs(@NotNull byte[] bs, @NotNull ByteOrder order) {
+        if (bs.length % 8 != 0)
+            throw new IllegalArgumentException("bytes length must be a multiple of 8!");
+        long[] values = new long[bs.length / 8];
+        getLongs(bs, 0, values, 0, values.length, order);
+        return values;
+    }
+
+    /**
+     * get long array from byte array
+     *
+     * @param bs     bytes
+     * @param index  bs offset
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getLongs(@NotNull byte[] bs, int index, @NotNull long[] values, int off, int len,
+                                @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 8).order(order).asLongBuffer().get(values, off, len);
+    }
+
+    /**
+     * get long array from ByteBuffer, position advances by len * 8
+     *
+     * @param buf    buffer
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getLongs(@NotNull ByteBuffer buf, @NotNull long[] values, int off, int len,
+                                @NotNull ByteOrder order) {
+        view(buf, len * 8, order).asLongBuffer().get(values, off, len);
+        buf.position(buf.position() + len * 8);
+    }
+
+    /**
+     * float array to byte array
+     *
+     * @param values float array
+     * @param order  byte order
+     * @return bytes(length = values.length * 4)
+     */
+    @NotNull
+    public static byte[] toBytes(@NotNull float[] values, @NotNull ByteOrder order) {
+        byte[] bs = new byte[values.length * 4];
+        put(bs, 0, values, 0, values.length, order);
+        return bs;
+    }
+
+    /**
+     * float array put byte array
+     *
+     * @param bs     bytes
+     * @param index  bytes offset
+     * @param values float array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     * @return bytes written
+     */
+    public static int put(@NotNull byte[] bs, int index, @NotNull float[] values, int off, int len,
+                          @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 4).order(order).asFloatBuffer().put(values, off, len);
+        return len * 4;
+    }
+
+    /**
+     * float array put ByteBuffer, position advances by len * 4
+     *
+     * @param buf    buffer
+     * @param values float array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void put(@NotNull ByteBuffer buf, @NotNull float[] values, int off, int len,
+                           @NotNull ByteOrder order) {
+        view(buf, len * 4, order).asFloatBuffer().put(values, off, len);
+        buf.position(buf.position() + len * 4);
+    }
+
+    /**
+     * get float array from byte array
+     *
+     * @param bs    bytes(length % 4 == 0)
+     * @param order byte order
+     * @return values
+     */
+    @NotNull
+    public static float[] getFloats(@NotNull byte[] bs, @NotNull ByteOrder order) {
+        if (bs.length % 4 != 0)
+            throw new IllegalArgumentException("bytes length must be a multiple of 4!");
+        float[] values = new float[bs.length / 4];
+        getFloats(bs, 0, values, 0, values.length, order);
+        return values;
+    }
+
+    /**
+     * get float array from byte array
+     *
+     * @param bs     bytes
+     * @param index  bs offset
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getFloats(@NotNull byte[] bs, int index, @NotNull float[] values, int off, int len,
+                                 @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 4).order(order).asFloatBuffer().get(values, off, len);
+    }
+
+    /**
+     * get float array from ByteBuffer, position advances by len * 4
+     *
+     * @param buf    buffer
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getFloats(@NotNull ByteBuffer buf, @NotNull float[] values, int off, int len,
+                                 @NotNull ByteOrder order) {
+        view(buf, len * 4, order).asFloatBuffer().get(values, off, len);
+        buf.position(buf.position() + len * 4);
+    }
+
+    /**
+     * double array to byte array
+     *
+     * @param values double array
+     * @param order  byte order
+     * @return bytes(length = values.length * 8)
+     */
+    @NotNull
+    public static byte[] toBytes(@NotNull double[] values, @NotNull ByteOrder order) {
+        byte[] bs = new byte[values.length * 8];
+        put(bs, 0, values, 0, values.length, order);
+        return bs;
+    }
+
+    /**
+     * double array put byte array
+     *
+     * @param bs     bytes
+     * @param index  bytes offset
+     * @param values double array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     * @return bytes written
+     */
+    public static int put(@NotNull byte[] bs, int index, @NotNull double[] values, int off, int len,
+                          @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 8).order(order).asDoubleBuffer().put(values, off, len);
+        return len * 8;
+    }
+
+    /**
+     * double array put ByteBuffer, position advances by len * 8
+     *
+     * @param buf    buffer
+     * @param values double array
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void put(@NotNull ByteBuffer buf, @NotNull double[] values, int off, int len,
+                           @NotNull ByteOrder order) {
+        view(buf, len * 8, order).asDoubleBuffer().put(values, off, len);
+        buf.position(buf.position() + len * 8);
+    }
+
+    /**
+     * get double array from byte array
+     *
+     * @param bs    bytes(length % 8 == 0)
+     * @param order byte order
+     * @return values
+     */
+    @NotNull
+    public static double[] getDoubles(@NotNull byte[] bs, @NotNull ByteOrder order) {
+        if (bs.length % 8 != 0)
+            throw new IllegalArgumentException("bytes length must be a multiple of 8!");
+        double[] values = new double[bs.length / 8];
+        getDoubles(bs, 0, values, 0, values.length, order);
+        return values;
+    }
+
+    /**
+     * get double array from byte array
+     *
+     * @param bs     bytes
+     * @param index  bs offset
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getDoubles(@NotNull byte[] bs, int index, @NotNull double[] values, int off, int len,
+                                  @NotNull ByteOrder order) {
+        ByteBuffer.wrap(bs, index, len * 8).order(order).asDoubleBuffer().get(values, off, len);
+    }
+
+    /**
+     * get double array from ByteBuffer, position advances by len * 8
+     *
+     * @param buf    buffer
+     * @param values output
+     * @param off    values offset
+     * @param len    values count
+     * @param order  byte order
+     */
+    public static void getDoubles(@NotNull ByteBuffer buf, @NotNull double[] values, int off, int len,
+                                  @NotNull ByteOrder order) {
+        view(buf, len * 8, order).asDoubleBuffer().get(values, off, len);
+        buf.position(buf.position() + len * 8);
+    }
+
+    /* 从position开始、长度为len的视图，不改变原缓冲的position与字节序 */
+    private static ByteBuffer view(ByteBuffer buf, int len, ByteOrder order) {
+        ByteBuffer dup = buf.duplicate();
+        // 超出剩余空间时由视图缓冲抛出 BufferOverflowException/BufferUnderflowException
+        dup.limit(dup.position() + Math.min(len, dup.remaining()));
+        return dup.order(order);
+    }
+
+    private static void append(Appendable out, char[] chars, int len) throws IOException {
+        if (out instanceof StringBuilder)
+            ((StringBuilder) out).append(chars, 0, len);
+        else if (out instanceof Writer)
+            ((Writer) out).write(chars, 0, len);
+        else
+            out.append(CharBuffer.wrap(chars, 0, len));
     }
 }
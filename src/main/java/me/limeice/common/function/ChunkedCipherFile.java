@@ -0,0 +1,543 @@
+package me.limeice.common.function;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.algorithm.security.AES128Base;
+import me.limeice.common.function.algorithm.security.AES128Gcm;
+import me.limeice.common.function.algorithm.security.HmacEngine;
+import me.limeice.common.function.algorithm.security.ProviderTuner;
+
+/**
+ * 分块加密文件容器，支持随机读取
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 明文按固定大小分块，每块独立使用 AES-128-GCM 加密，读取任意区间只需解密覆盖该区间的块；
+ *             写入为流式，内存占用只有一个块。格式：
+ *             头部（44字节）：magic "AESC" | 版本 | 标签长度 | 保留2字节 | 块大小 | 32字节随机盐
+ *             块 i：密文 || 标签，除最后一块外明文均为块大小，位置由块号直接计算
+ *             尾部（12字节）：明文总长度 | magic "AESC"
+ *             每个文件使用子密钥 HMAC-SHA256(密钥, 盐) 的前16字节，块 i 的 nonce 为块号 i，
+ *             不同文件间不会因随机值碰撞而复用 nonce；
+ *             AAD 为 头部 || i || 是否最后一块 || 总长度（仅最后一块），
+ *             块被篡改、调换、截断或头部被修改均无法通过校验
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ * <p>
+ * 示例：
+ * <pre>{@code
+ * ChunkedCipherFile container = new ChunkedCipherFile(keyBytes);
+ * try (OutputStream out = container.newWriter(new File("video.aesc"))) {
+ *     out.write(data);
+ * }
+ * try (SeekableByteChannel channel = container.newReader(new File("video.aesc"))) {
+ *     channel.position(5L << 30);
+ *     channel.read(buffer);
+ * }
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ChunkedCipherFile {
+
+    /**
+     * 默认块大小（64KB）
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 头部长度
+     */
+    public static final int HEADER_SIZE = 44;
+
+    /**
+     * 尾部长度
+     */
+    public static final int TRAILER_SIZE = 12;
+
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final byte[] MAGIC = {'A', 'E', 'S', 'C'};
+
+    private static final byte VERSION = 2;
+
+    private static final int SALT_OFFSET = 12;
+
+    private static final int SALT_SIZE = 32;
+
+    private static final int TAG_SIZE = AES128Gcm.DEFAULT_TAG_LENGTH / 8;
+
+    /* 4字节块号使nonce不重复 */
+    private static final long MAX_CHUNKS = 0xFFFFFFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /* 由盐派生每个文件的子密钥 */
+    private final HmacEngine kdf;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * @param keyBytes 密钥，必须位16位密码
+     * @throws InvalidKeyException 密钥长度错误
+     */
+    public ChunkedCipherFile(@NotNull byte[] keyBytes) throws InvalidKeyException {
+        if (keyBytes.length != 16)
+            throw new InvalidKeyException("Invalid AES key length: " + keyBytes.length + " bytes");
+        try {
+            this.kdf = new HmacEngine(HmacEngine.HMAC_SHA256, keyBytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 设置写入时的块大小，读取时以文件头部为准
+     *
+     * @param chunkSize 块大小，16B ~ 16MB
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE)
+            throw new IllegalArgumentException("chunkSize must be between 16 and 16MB!");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return 写入时的块大小
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 计算加密后的文件长度
+     *
+     * @param length    明文长度
+     * @param chunkSize 块大小
+     * @return 文件长度
+     */
+    public static long getEncryptedSize(long length, int chunkSize) {
+        return HEADER_SIZE + chunkCount(length, chunkSize) * TAG_SIZE + length + TRAILER_SIZE;
+    }
+
+    /**
+     * 流式写入
+     *
+     * @param out 输出流，关闭时（或创建失败时）一并关闭
+     * @return 明文输出流，必须关闭才能写入最后一块与尾部；写入中途失败时应调用{@link Writer#abort()}
+     * @throws IOException IOException
+     */
+    @NotNull
+    public Writer newWriter(@NotNull OutputStream out) throws IOException {
+        try {
+            return new Writer(out, chunkSize);
+        } catch (IOException | RuntimeException e) {
+            CloseUtils.closeIOQuietly(out);
+            throw e;
+        }
+    }
+
+    /**
+     * 流式写入文件
+     *
+     * @param dst 目标文件（如果存在覆盖，否则创建）
+     * @return 明文输出流，必须关闭才能写入最后一块与尾部；写入中途失败时应调用{@link Writer#abort()}
+     * @throws IOException IOException
+     */
+    @NotNull
+    public Writer newWriter(@NotNull File dst) throws IOException {
+        return newWriter(new FileOutputStream(dst));
+    }
+
+    /**
+     * 随机读取，打开时校验头部、尾部与最后一块
+     *
+     * @param source 加密数据，关闭时一并关闭
+     * @return 明文只读通道，非线程安全
+     * @throws IOException 格式错误或校验失败
+     */
+    @NotNull
+    public SeekableByteChannel newReader(@NotNull SeekableByteChannel source) throws IOException {
+        try {
+            return new Reader(source);
+        } catch (IOException | RuntimeException e) {
+            CloseUtils.closeIOQuietly(source);
+            throw e;
+        }
+    }
+
+    /**
+     * 随机读取文件，打开时校验头部、尾部与最后一块
+     *
+     * @param src 加密文件
+     * @return 明文只读通道，非线程安全
+     * @throws IOException 格式错误或校验失败
+     */
+    @NotNull
+    public SeekableByteChannel newReader(@NotNull File src) throws IOException {
+        return newReader(Files.newByteChannel(src.toPath(), StandardOpenOption.READ));
+    }
+
+    private static long chunkCount(long length, int chunkSize) {
+        // 空文件也有一个空的最后一块
+        return length == 0 ? 1 : (length + chunkSize - 1) / chunkSize;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return ProviderTuner.getCipher(AES128Gcm.TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void putLong(byte[] b, int off, long v) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 0; i < 8; i++)
+            v = (v << 8) | (b[off + i] & 0xFF);
+        return v;
+    }
+
+    private static boolean isMagic(byte[] b, int off) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (b[off + i] != MAGIC[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 块加解密，子密钥由头部的盐派生，nonce为块号，AAD由头部与块号确定
+     */
+    private final class ChunkCodec {
+
+        private final Cipher cipher = newCipher();
+
+        private final SecretKeySpec key;
+
+        private final byte[] nonce = new byte[AES128Gcm.NONCE_LENGTH];
+
+        private final byte[] aad = new byte[HEADER_SIZE + 17];
+
+        ChunkCodec(byte[] header) {
+            System.arraycopy(header, 0, aad, 0, HEADER_SIZE);
+            byte[] subkey = kdf.sign(header, SALT_OFFSET, SALT_SIZE);
+            key = new SecretKeySpec(subkey, 0, 16, AES128Base.ALGORITHM);
+            Arrays.fill(subkey, (byte) 0);
+        }
+
+        int process(int opMode, long index, boolean last, long length, byte[] in, int inLen, byte[] out)
+                throws GeneralSecurityException {
+            nonce[8] = (byte) (index >>> 24);
+            nonce[9] = (byte) (index >>> 16);
+            nonce[10] = (byte) (index >>> 8);
+            nonce[11] = (byte) index;
+            putLong(aad, HEADER_SIZE, index);
+            aad[HEADER_SIZE + 8] = (byte) (last ? 1 : 0);
+            putLong(aad, HEADER_SIZE + 9, last ? length : 0);
+            cipher.init(opMode, key, new GCMParameterSpec(AES128Gcm.DEFAULT_TAG_LENGTH, nonce));
+            cipher.updateAAD(aad);
+            return cipher.doFinal(in, 0, inLen, out, 0);
+        }
+    }
+
+    /**
+     * <p>流式写入，非线程安全，块满且后续还有数据时才加密该块，最后一块在关闭时加密
+     * <p>{@link #close()}写入最后一块与尾部，文件即通过校验；数据来源中途失败时须调用{@link #abort()}，
+     * 否则已写入的部分会成为一个完整、可校验的短文件。本流自身写入失败后{@link #close()}不再写入尾部
+     */
+    public final class Writer extends OutputStream {
+
+        private final OutputStream out;
+
+        private final ChunkCodec codec;
+
+        private final byte[] plain;
+
+        private final byte[] secret;
+
+        private int count;
+
+        private long index;
+
+        private long length;
+
+        private boolean closed;
+
+        /* 写入失败后不再写入尾部 */
+        private boolean failed;
+
+        private Writer(OutputStream out, int chunkSize) throws IOException {
+            this.out = out;
+            this.plain = new byte[chunkSize];
+            this.secret = new byte[chunkSize + TAG_SIZE];
+            byte[] header = new byte[HEADER_SIZE];
+            System.arraycopy(MAGIC, 0, header, 0, MAGIC.length);
+            header[4] = VERSION;
+            header[5] = TAG_SIZE;
+            header[8] = (byte) (chunkSize >>> 24);
+            header[9] = (byte) (chunkSize >>> 16);
+            header[10] = (byte) (chunkSize >>> 8);
+            header[11] = (byte) chunkSize;
+            byte[] salt = new byte[SALT_SIZE];
+            RANDOM.nextBytes(salt);
+            System.arraycopy(salt, 0, header, SALT_OFFSET, SALT_SIZE);
+            this.codec = new ChunkCodec(header);
+            out.write(header);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            if (closed)
+                throw new IOException("Stream closed");
+            if (off < 0 || len < 0 || len > b.length - off)
+                throw new IndexOutOfBoundsException();
+            while (len > 0) {
+                if (count == plain.length) {
+                    failed = true;
+                    flushChunk(false);
+                    failed = false;
+                }
+                int n = Math.min(len, plain.length - count);
+                System.arraycopy(b, off, plain, count, n);
+                count += n;
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 未满的块须等到关闭才能确定是否为最后一块
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+            if (failed) {
+                abort();
+                return;
+            }
+            closed = true;
+            try {
+                flushChunk(true);
+                byte[] trailer = new byte[TRAILER_SIZE];
+                putLong(trailer, 0, length);
+                System.arraycopy(MAGIC, 0, trailer, 8, MAGIC.length);
+                out.write(trailer);
+            } finally {
+                Arrays.fill(plain, (byte) 0);
+                out.close();
+            }
+        }
+
+        /**
+         * 放弃写入：不写入最后一块与尾部，只关闭输出流，生成的文件无法通过校验（已关闭时无操作）
+         *
+         * @throws IOException IOException
+         */
+        public void abort() throws IOException {
+            if (closed)
+                return;
+            closed = true;
+            Arrays.fill(plain, (byte) 0);
+            out.close();
+        }
+
+        private void flushChunk(boolean last) throws IOException {
+            if (index >= MAX_CHUNKS)
+                throw new IOException("Too many chunks, increase chunkSize");
+            int n;
+            try {
+                n = codec.process(Cipher.ENCRYPT_MODE, index, last, length, plain, count, secret);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+            out.write(secret, 0, n);
+            index++;
+            count = 0;
+        }
+    }
+
+    /**
+     * 随机读取，缓存最近解密的一块
+     */
+    private final class Reader implements SeekableByteChannel {
+
+        private final SeekableByteChannel source;
+
+        private final ChunkCodec codec;
+
+        private final int chunkSize;
+
+        private final long length;
+
+        private final long lastIndex;
+
+        private final byte[] plain;
+
+        private final byte[] secret;
+
+        private long cached = -1;
+
+        private long position;
+
+        private boolean closed;
+
+        Reader(SeekableByteChannel source) throws IOException {
+            this.source = source;
+            long size = source.size();
+            if (size < HEADER_SIZE + TAG_SIZE + TRAILER_SIZE)
+                throw new IOException("Not a chunked cipher file: too short");
+            byte[] header = new byte[HEADER_SIZE];
+            readFully(0, header, HEADER_SIZE);
+            if (!isMagic(header, 0) || header[4] != VERSION || header[5] != TAG_SIZE)
+                throw new IOException("Not a chunked cipher file: bad header");
+            chunkSize = ((header[8] & 0xFF) << 24) | ((header[9] & 0xFF) << 16)
+                    | ((header[10] & 0xFF) << 8) | (header[11] & 0xFF);
+            if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE)
+                throw new IOException("Not a chunked cipher file: bad chunk size " + chunkSize);
+            byte[] trailer = new byte[TRAILER_SIZE];
+            readFully(size - TRAILER_SIZE, trailer, TRAILER_SIZE);
+            length = getLong(trailer, 0);
+            if (!isMagic(trailer, 8) || length < 0 || chunkCount(length, chunkSize) > MAX_CHUNKS
+                    || getEncryptedSize(length, chunkSize) != size)
+                throw new IOException("Chunked cipher file is truncated or corrupted");
+            lastIndex = chunkCount(length, chunkSize) - 1;
+            codec = new ChunkCodec(header);
+            plain = new byte[chunkSize];
+            secret = new byte[chunkSize + TAG_SIZE];
+            // 最后一块的AAD包含总长度，校验后尾部可信
+            load(lastIndex);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= length)
+                return dst.hasRemaining() ? -1 : 0;
+            int total = 0;
+            while (dst.hasRemaining() && position < length) {
+                long index = position / chunkSize;
+                load(index);
+                int offset = (int) (position - index * chunkSize);
+                int n = Math.min(dst.remaining(), chunkLength(index) - offset);
+                dst.put(plain, offset, n);
+                position += n;
+                total += n;
+            }
+            return total;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0)
+                throw new IllegalArgumentException("position < 0");
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return length;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            source.close();
+        }
+
+        private int chunkLength(long index) {
+            return index < lastIndex ? chunkSize : (int) (length - lastIndex * chunkSize);
+        }
+
+        private void load(long index) throws IOException {
+            if (cached == index)
+                return;
+            cached = -1;
+            int n = chunkLength(index) + TAG_SIZE;
+            readFully(HEADER_SIZE + index * (chunkSize + TAG_SIZE), secret, n);
+            try {
+                codec.process(Cipher.DECRYPT_MODE, index, index == lastIndex, length, secret, n, plain);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Chunk " + index + " failed authentication", e);
+            }
+            cached = index;
+        }
+
+        private void readFully(long offset, byte[] b, int len) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(b, 0, len);
+            source.position(offset);
+            while (buffer.hasRemaining()) {
+                if (source.read(buffer) < 0)
+                    throw new EOFException();
+            }
+        }
+
+        private void ensureOpen() throws ClosedChannelException {
+            if (closed)
+                throw new ClosedChannelException();
+        }
+    }
+}
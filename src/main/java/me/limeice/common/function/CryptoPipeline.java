@@ -0,0 +1,279 @@
+package me.limeice.common.function;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.crypto.Cipher;
+
+import me.limeice.common.function.algorithm.security.AES128InputStream;
+import me.limeice.common.function.algorithm.security.AES128OutputStream;
+import me.limeice.common.function.algorithm.security.AES128Session;
+
+/**
+ * 压缩加密流水线
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 一次读取完成 源文件 → gzip → AES → 目标文件，反向为 AES解密 → gunzip。
+ *             读取、压缩（或解密）、加密（或解压）分别在独立线程上运行，
+ *             各阶段之间通过有界缓冲队列连接，压缩与加密重叠进行，
+ *             内存占用只有若干个缓冲块，与文件大小无关
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ * <p>
+ * 示例：
+ * <pre>{@code
+ * CryptoPipeline pipeline = new CryptoPipeline(aes.newSession(keyBytes));
+ * pipeline.encrypt(new File("export.csv"), new File("export.csv.gz.aes"));
+ * pipeline.decrypt(new File("export.csv.gz.aes"), new File("export.csv"));
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class CryptoPipeline {
+
+    /**
+     * 默认缓冲块大小（64KB）
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 默认队列深度
+     */
+    public static final int DEFAULT_QUEUE_DEPTH = 4;
+
+    private final AES128Session session;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private int queueDepth = DEFAULT_QUEUE_DEPTH;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * @param session 加解密会话（不支持GCM）
+     */
+    public CryptoPipeline(@NotNull AES128Session session) {
+        this.session = session;
+    }
+
+    /**
+     * 设置缓冲块大小
+     *
+     * @param bufferSize 块大小，不小于4KB
+     * @return this
+     */
+    @NotNull
+    public CryptoPipeline setBufferSize(int bufferSize) {
+        if (bufferSize < 4096)
+            throw new IllegalArgumentException("bufferSize must be at least 4KB!");
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 设置阶段之间的队列深度
+     *
+     * @param queueDepth 队列中最多等待的块数
+     * @return this
+     */
+    @NotNull
+    public CryptoPipeline setQueueDepth(int queueDepth) {
+        if (queueDepth < 1)
+            throw new IllegalArgumentException("queueDepth must be positive!");
+        this.queueDepth = queueDepth;
+        return this;
+    }
+
+    /**
+     * 设置压缩级别
+     *
+     * @param level 0 ~ 9，或{@link Deflater#DEFAULT_COMPRESSION}
+     * @return this
+     */
+    @NotNull
+    public CryptoPipeline setLevel(int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+            throw new IllegalArgumentException("level must be between 0 and 9!");
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 压缩并加密文件
+     *
+     * @param src 源文件
+     * @param dst 目标文件（如果存在覆盖，否则创建）
+     * @return 目标文件长度
+     * @throws IOException IOException，加解密错误的原因为{@link java.security.GeneralSecurityException}
+     */
+    public long encrypt(@NotNull File src, @NotNull File dst) throws IOException {
+        IOUtils.checkFileIfNotExistCreate(dst);
+        FileInputStream in = null;
+        FileOutputStream out = null;
+        try {
+            in = new FileInputStream(src);
+            out = new FileOutputStream(dst);
+            encrypt(in, out);
+        } finally {
+            // 正常结束时已由encrypt关闭，此处处理打开目标文件失败的情况
+            CloseUtils.closeIOQuietly(in, out);
+        }
+        return dst.length();
+    }
+
+    /**
+     * 解密并解压文件
+     *
+     * @param src 源文件
+     * @param dst 目标文件（如果存在覆盖，否则创建）
+     * @return 目标文件长度
+     * @throws IOException IOException，加解密错误的原因为{@link java.security.GeneralSecurityException}
+     */
+    public long decrypt(@NotNull File src, @NotNull File dst) throws IOException {
+        IOUtils.checkFileIfNotExistCreate(dst);
+        FileInputStream in = null;
+        FileOutputStream out = null;
+        try {
+            in = new FileInputStream(src);
+            out = new FileOutputStream(dst);
+            decrypt(in, out);
+        } finally {
+            // 正常结束时已由decrypt关闭，此处处理打开目标文件失败的情况
+            CloseUtils.closeIOQuietly(in, out);
+        }
+        return dst.length();
+    }
+
+    /**
+     * 压缩并加密，读取到输入流末尾，结束后关闭两个流
+     *
+     * @param input  输入流（源数据）
+     * @param output 输出流（密文）
+     * @throws IOException IOException
+     */
+    public void encrypt(@NotNull final InputStream input, @NotNull final OutputStream output) throws IOException {
+        final BlockingPipe raw = new BlockingPipe(bufferSize, queueDepth);
+        final BlockingPipe zipped = new BlockingPipe(bufferSize, queueDepth);
+        run(new Stage[]{
+                () -> copy(input, raw.sink()),
+                () -> {
+                    OutputStream gzip = new LevelGZIPOutputStream(zipped.sink(), bufferSize, level);
+                    copy(raw.source(), gzip);
+                },
+                () -> copy(zipped.source(),
+                        new AES128OutputStream(output, session, Cipher.ENCRYPT_MODE, bufferSize))
+        }, input, output, raw, zipped);
+    }
+
+    /**
+     * 解密并解压，读取到输入流末尾，结束后关闭两个流
+     *
+     * @param input  输入流（密文）
+     * @param output 输出流（源数据）
+     * @throws IOException IOException
+     */
+    public void decrypt(@NotNull final InputStream input, @NotNull final OutputStream output) throws IOException {
+        final BlockingPipe raw = new BlockingPipe(bufferSize, queueDepth);
+        final BlockingPipe plain = new BlockingPipe(bufferSize, queueDepth);
+        run(new Stage[]{
+                () -> copy(input, raw.sink()),
+                () -> copy(new AES128InputStream(raw.source(), session, Cipher.DECRYPT_MODE, bufferSize),
+                        plain.sink()),
+                () -> copy(new GZIPInputStream(plain.source(), bufferSize), output)
+        }, input, output, raw, plain);
+    }
+
+    /* 最后一个阶段在调用线程上运行，其余阶段各用一个线程 */
+    private void run(Stage[] stages, InputStream input, OutputStream output, final BlockingPipe... pipes)
+            throws IOException {
+        try {
+            runStages(stages, pipes);
+        } finally {
+            // 正常结束时已关闭，失败时确保释放文件句柄
+            CloseUtils.closeIOQuietly(input, output);
+        }
+    }
+
+    private void runStages(Stage[] stages, final BlockingPipe... pipes) throws IOException {
+        // 最先失败的阶段的异常为根因，其余阶段只是被连带终止
+        final AtomicReference<Throwable> first = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(stages.length - 1);
+        for (int i = 0; i < stages.length - 1; i++) {
+            final Stage stage = stages[i];
+            Thread thread = new Thread(() -> runStage(stage, first, pipes), "CryptoPipeline-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        runStage(stages[stages.length - 1], first, pipes);
+        try {
+            for (Thread thread : threads)
+                thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (BlockingPipe pipe : pipes)
+                pipe.fail(e);
+            throw new InterruptedIOException();
+        }
+        Throwable t = first.get();
+        if (t == null)
+            return;
+        if (t instanceof IOException)
+            throw (IOException) t;
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        throw new IOException(t);
+    }
+
+    private static void runStage(Stage stage, AtomicReference<Throwable> first, BlockingPipe[] pipes) {
+        try {
+            stage.run();
+        } catch (Throwable t) {
+            first.compareAndSet(null, t);
+            for (BlockingPipe pipe : pipes)
+                pipe.fail(t);
+        }
+    }
+
+    /* 复制到末尾后关闭两端；失败时只关闭输入，避免输出端发出正常结束标记 */
+    private void copy(InputStream in, OutputStream out) throws IOException {
+        try {
+            byte[] buf = new byte[bufferSize];
+            int len;
+            while ((len = in.read(buf)) != -1)
+                out.write(buf, 0, len);
+            out.close();
+        } finally {
+            CloseUtils.closeIOQuietly(in);
+        }
+    }
+
+    private interface Stage {
+        void run() throws IOException;
+    }
+
+    /* 可设置压缩级别的GZIPOutputStream */
+    private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(OutputStream out, int size, int level) throws IOException {
+            super(out, size);
+            def.setLevel(level);
+        }
+    }
+}
@@ -4,7 +4,6 @@ package me.limeice.common.function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -14,6 +13,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -38,8 +40,17 @@ public final class IOUtils {
      */
     private static final int BUFFER_SIZE = 1024;
 
+    /* 压缩缓冲区大小 */
+    private static final int ZIP_BUFFER_SIZE = 64 * 1024;
+
+    /* 数组最大长度（部分JVM在数组头中保留若干字） */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /* 按预计长度预先分配的上限，超出部分随实际读取的数据增长，避免不可信的长度（如Content-Length）导致大量分配 */
+    private static final int MAX_INITIAL_SIZE = 16 * 1024 * 1024;
+
     /**
-     * 从输入流中读取数据，并转换为Byte数组
+     * 从输入流中读取数据，并转换为Byte数组，不关闭流
      *
      * @param inStream 待操作的输入流
      * @return Byte数组形式的html文件
@@ -47,18 +58,70 @@ public final class IOUtils {
      */
     @NotNull
     public static byte[] read(@NotNull InputStream inStream) throws IOException {
-        // 字节缓冲流
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        try {
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            // 循环读取
-            while ((len = inStream.read(buffer)) != -1)
-                outStream.write(buffer, 0, len);
-            return outStream.toByteArray();
-        } finally {
-            CloseUtils.closeIOQuietly(outStream);
+        return read(inStream, -1);
+    }
+
+    /**
+     * <p>从输入流中读取全部数据，不关闭流
+     * <p>预计长度（未提供时使用{@link InputStream#available()}）准确且不超过16MB时只分配一次、不复制；
+     * 否则按块读取，块大小逐步翻倍（最大1MB），块取自{@link BufferPool#shared()}，最后一次性复制到结果数组
+     *
+     * @param inStream 输入流
+     * @param sizeHint 预计长度（如Content-Length），未知时传入负数
+     * @return 数据
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static byte[] read(@NotNull InputStream inStream, long sizeHint) throws IOException {
+        if (sizeHint <= 0)
+            sizeHint = available(inStream);
+        if (sizeHint > MAX_ARRAY_SIZE)
+            throw new IOException("Required array size too large");
+        if (sizeHint <= 0)
+            return readChunks(inStream, null, BufferPool.MIN_SIZE);
+        byte[] head = new byte[(int) Math.min(sizeHint, MAX_INITIAL_SIZE)];
+        int n = readFully(inStream, head, 0, head.length);
+        if (n < head.length)
+            return Arrays.copyOf(head, n);
+        int b = inStream.read();
+        if (b < 0)
+            return head;
+        // 数据比预计的长，转为分块读取
+        return readChunks(inStream, head, b);
+    }
+
+    /**
+     * <p>从输入流中读取全部数据，不关闭流，返回的缓冲区直接包装内部数组，没有最终的复制
+     * <p>position为0，limit为数据长度，{@link ByteBuffer#array()}可能比数据长
+     *
+     * @param inStream 输入流
+     * @param sizeHint 预计长度（如Content-Length），未知时传入负数
+     * @return 数据
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static ByteBuffer readBuffer(@NotNull InputStream inStream, long sizeHint) throws IOException {
+        if (sizeHint > MAX_ARRAY_SIZE)
+            throw new IOException("Required array size too large");
+        byte[] buf = new byte[sizeHint > 0 ? (int) Math.min(sizeHint, MAX_INITIAL_SIZE) : initialSize(inStream)];
+        int n = 0;
+        while (true) {
+            if (n == buf.length) {
+                // 缓冲区已满，确认是否还有数据再扩容
+                int b = inStream.read();
+                if (b < 0)
+                    break;
+                if (n == MAX_ARRAY_SIZE)
+                    throw new IOException("Required array size too large");
+                buf = Arrays.copyOf(buf, (int) Math.min((long) n * 2, MAX_ARRAY_SIZE));
+                buf[n++] = (byte) b;
+            }
+            int len = inStream.read(buf, n, buf.length - n);
+            if (len < 0)
+                break;
+            n += len;
         }
+        return ByteBuffer.wrap(buf, 0, n);
     }
 
     /**
@@ -75,9 +138,13 @@ public final class IOUtils {
         try {
             in = new FileInputStream(file);
             inChannel = in.getChannel();
-            ByteBuffer buffer = ByteBuffer.allocate((int) inChannel.size());
-            inChannel.read(buffer);
-            return buffer.array();
+            long size = inChannel.size();
+            if (size > MAX_ARRAY_SIZE)
+                throw new IOException("File too large!File Path->" + file.getAbsolutePath());
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            // 单次read不保证读满
+            while (buffer.hasRemaining() && inChannel.read(buffer) >= 0) ;
+            return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
         } finally {
             CloseUtils.closeIOQuietly(in, inChannel);
         }
@@ -218,19 +285,37 @@ public final class IOUtils {
      */
     public static void zip(@NotNull InputStream input, @NotNull OutputStream output) throws IOException {
         GZIPOutputStream gzip = null;
+        byte[] buf = BufferPool.shared().acquire(ZIP_BUFFER_SIZE);
         try {
-            gzip = new GZIPOutputStream(output);
-            byte[] buf = new byte[BUFFER_SIZE];
+            gzip = new GZIPOutputStream(output, ZIP_BUFFER_SIZE);
             int len;
-            while ((len = input.read(buf)) != -1) {
+            // 不在每次写入后flush，否则每块都会强制结束当前deflate块，降低压缩率
+            while ((len = input.read(buf)) != -1)
                 gzip.write(buf, 0, len);
-                gzip.flush();
-            }
+            gzip.finish();
         } finally {
+            BufferPool.shared().release(buf);
             CloseUtils.closeIOQuietly(input, gzip);
         }
     }
 
+    /**
+     * 并行压缩为多成员gzip，输出可由{@link #unzip(InputStream, OutputStream)}解压
+     *
+     * @param input  输入流（源文件）
+     * @param output 输出流（压缩文件）
+     * @param gzip   并行压缩配置，如：new ParallelGzip().setLevel(6)
+     * @throws IOException IOE
+     */
+    public static void zip(@NotNull InputStream input, @NotNull OutputStream output, @NotNull ParallelGzip gzip)
+            throws IOException {
+        try {
+            gzip.compress(input, output);
+        } finally {
+            CloseUtils.closeIOQuietly(input, output);
+        }
+    }
+
     /**
      * 解压文件
      *
@@ -288,4 +373,84 @@ public final class IOUtils {
     public static boolean moveFile(@Nullable File input, @Nullable File output) {
         return !(input == null || output == null) && input.exists() && input.renameTo(output);
     }
+
+    /* 未知长度时的初始缓冲区大小：已可读取的字节数再加一个最小块 */
+    private static int initialSize(InputStream in) throws IOException {
+        return (int) Math.min((long) BufferPool.MIN_SIZE + Math.max(available(in), 0), MAX_INITIAL_SIZE);
+    }
+
+    /* 已可读取的字节数，超过数组最大长度时（如超过2GB的文件流）直接失败，而不是尝试分配 */
+    private static int available(InputStream in) throws IOException {
+        int available = in.available();
+        if (available > MAX_ARRAY_SIZE)
+            throw new IOException("Required array size too large");
+        return available;
+    }
+
+    /* 读满len字节或到流末尾，返回实际读取的字节数 */
+    private static int readFully(InputStream in, byte[] buf, int off, int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            int r = in.read(buf, off + n, len - n);
+            if (r < 0)
+                break;
+            n += r;
+        }
+        return n;
+    }
+
+    /*
+     * 分块读取：head不为null时为已读满的首块，next为其后已读出的一个字节；
+     * 否则next为首块的建议大小。head不是从池中借出的，不归还
+     */
+    private static byte[] readChunks(InputStream in, byte[] head, int next) throws IOException {
+        BufferPool pool = BufferPool.shared();
+        // 只存放从池中借出的块
+        List<byte[]> chunks = new ArrayList<>();
+        long total = 0;
+        byte[] chunk;
+        int pos = 0;
+        if (head != null) {
+            total = head.length;
+            chunk = pool.acquire(Math.min(Math.max(head.length, BufferPool.MIN_SIZE), BufferPool.MAX_SIZE));
+            chunk[pos++] = (byte) next;
+        } else {
+            chunk = pool.acquire(Math.min(next, BufferPool.MAX_SIZE));
+        }
+        try {
+            int len;
+            while ((len = in.read(chunk, pos, chunk.length - pos)) != -1) {
+                pos += len;
+                if (pos == chunk.length) {
+                    chunks.add(chunk);
+                    // 已移入chunks，避免在finally中重复归还
+                    chunk = null;
+                    total += pos;
+                    if (total > MAX_ARRAY_SIZE)
+                        throw new IOException("Required array size too large");
+                    chunk = pool.acquire(Math.min(pos * 2, BufferPool.MAX_SIZE));
+                    pos = 0;
+                }
+            }
+            if (total + pos > MAX_ARRAY_SIZE)
+                throw new IOException("Required array size too large");
+            byte[] result = new byte[(int) (total + pos)];
+            int off = 0;
+            if (head != null) {
+                System.arraycopy(head, 0, result, 0, head.length);
+                off = head.length;
+            }
+            for (byte[] c : chunks) {
+                System.arraycopy(c, 0, result, off, c.length);
+                off += c.length;
+            }
+            System.arraycopy(chunk, 0, result, off, pos);
+            return result;
+        } finally {
+            for (byte[] c : chunks)
+                pool.release(c);
+            if (chunk != null)
+                pool.release(chunk);
+        }
+    }
 }
\ No newline at end of file
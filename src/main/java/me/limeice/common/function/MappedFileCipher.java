@@ -0,0 +1,314 @@
+package me.limeice.common.function;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.algorithm.security.AES128Base;
+import me.limeice.common.function.algorithm.security.AES128Ctr;
+import me.limeice.common.function.algorithm.security.ProviderTuner;
+
+/**
+ * 内存映射文件加解密
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 使用 FileChannel.map 分段映射源文件与目标文件，数据不经过Java堆；
+ *             ECB/CTR 加解密、CBC 解密等分段互不依赖的模式在 ForkJoinPool 上并行处理；
+ *             支持超过 2GB 的文件；CTR 模式须先对配置调用 setIV，每个文件使用不同的计数器块
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class MappedFileCipher {
+
+    /**
+     * 默认分段大小（64MB）
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private static final int BLOCK = 16;
+
+    private final AES128Base config;
+
+    private final SecretKeySpec key;
+
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param config   算法配置
+     * @param keyBytes 密钥，必须位16位密码
+     */
+    public MappedFileCipher(@NotNull AES128Base config, @NotNull byte[] keyBytes) {
+        this.config = config;
+        this.key = new SecretKeySpec(keyBytes, AES128Base.ALGORITHM);
+    }
+
+    /**
+     * 设置分段大小，向下取整为16的倍数
+     *
+     * @param segmentSize 分段大小，16B ~ 1GB
+     */
+    public void setSegmentSize(int segmentSize) {
+        if (segmentSize < BLOCK || segmentSize > MAX_SEGMENT_SIZE)
+            throw new IllegalArgumentException("segmentSize must be between 16 and 1GB!");
+        this.segmentSize = segmentSize - segmentSize % BLOCK;
+    }
+
+    /**
+     * 设置并行处理所用线程池
+     *
+     * @param pool 线程池
+     */
+    public void setPool(@NotNull ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 加密文件
+     *
+     * @param src 源文件
+     * @param dst 目标文件（如果存在覆盖，否则创建）
+     * @return 处理报告
+     * @throws IOException              IOException
+     * @throws GeneralSecurityException 算法或密钥错误
+     */
+    @NotNull
+    public Report encrypt(@NotNull File src, @NotNull File dst) throws IOException, GeneralSecurityException {
+        return process(src, dst, Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 解密文件
+     *
+     * @param src 源文件
+     * @param dst 目标文件（如果存在覆盖，否则创建）
+     * @return 处理报告
+     * @throws IOException              IOException
+     * @throws GeneralSecurityException 算法或密钥错误，或填充错误
+     */
+    @NotNull
+    public Report decrypt(@NotNull File src, @NotNull File dst) throws IOException, GeneralSecurityException {
+        return process(src, dst, Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * 当前模式在指定方向上能否分段并行
+     *
+     * @param opMode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @return {@code true}可以
+     */
+    public boolean isParallel(int opMode) {
+        int mode = config.getMode();
+        return mode == AES128Base.ECB || mode == AES128Base.CTR
+                || (mode == AES128Base.CBC && opMode == Cipher.DECRYPT_MODE);
+    }
+
+    private Report process(File src, File dst, int opMode) throws IOException, GeneralSecurityException {
+        if (config.getMode() == AES128Base.GCM)
+            throw new InvalidAlgorithmParameterException("GCM is not supported by MappedFileCipher");
+        if (config.getMode() == AES128Base.CTR && !config.isIVSet())
+            throw new InvalidAlgorithmParameterException("CTR requires a unique counter per file, call setIV");
+        IOUtils.checkFileIfNotExistCreate(dst);
+        long start = System.nanoTime();
+        Report report = new Report();
+        RandomAccessFile in = null;
+        RandomAccessFile out = null;
+        try {
+            in = new RandomAccessFile(src, "r");
+            out = new RandomAccessFile(dst, "rw");
+            FileChannel inChannel = in.getChannel();
+            FileChannel outChannel = out.getChannel();
+            long size = inChannel.size();
+            long outSize = isParallel(opMode)
+                    ? parallel(inChannel, outChannel, size, opMode, report)
+                    : serial(inChannel, outChannel, size, opMode, report);
+            outChannel.truncate(outSize);
+            report.bytes = size;
+        } finally {
+            CloseUtils.closeIOQuietly(in, out);
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /* 单个Cipher顺序处理所有分段 */
+    private long serial(FileChannel in, FileChannel out, long size, int opMode, Report report)
+            throws IOException, GeneralSecurityException {
+        Cipher cipher = newCipher(config.getAlgorithm(), opMode, config.isUseIV() ? config.getIV() : null);
+        long pos = 0;
+        long outPos = 0;
+        long begin = System.nanoTime();
+        do {
+            int len = (int) Math.min(segmentSize, size - pos);
+            boolean last = pos + len >= size;
+            ByteBuffer srcBuf = in.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            MappedByteBuffer dstBuf = out.map(FileChannel.MapMode.READ_WRITE, outPos, len + BLOCK);
+            int n = last ? cipher.doFinal(srcBuf, dstBuf) : cipher.update(srcBuf, dstBuf);
+            pos += len;
+            outPos += n;
+        } while (pos < size);
+        report.record(Thread.currentThread().getName(), size, System.nanoTime() - begin);
+        return outPos;
+    }
+
+    /* 分段互不依赖，中间分段使用NoPadding并行处理，末段使用原算法执行doFinal */
+    private long parallel(final FileChannel in, final FileChannel out, final long size,
+                          final int opMode, final Report report) throws IOException, GeneralSecurityException {
+        final boolean cbc = config.getMode() == AES128Base.CBC;
+        final boolean ctr = config.getMode() == AES128Base.CTR;
+        final String noPadding = cbc ? "AES/CBC/NoPadding" : ctr ? AES128Ctr.TRANSFORMATION : "AES/ECB/NoPadding";
+        final byte[] iv = config.isUseIV() ? config.getIV() : null;
+        long lastStart = size == 0 ? 0 : ((size - 1) / segmentSize) * segmentSize;
+
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+        for (long pos = 0; pos <= lastStart; pos += segmentSize) {
+            final long offset = pos;
+            final boolean last = pos == lastStart;
+            final int len = (int) (last ? size - pos : segmentSize);
+            tasks.add(pool.submit(() -> {
+                long begin = System.nanoTime();
+                byte[] segIv = iv;
+                if (cbc && offset > 0) {
+                    segIv = new byte[BLOCK];
+                    readFully(in, ByteBuffer.wrap(segIv), offset - BLOCK);
+                } else if (ctr) {
+                    segIv = AES128Ctr.counterBlock(iv, offset / BLOCK);
+                }
+                Cipher cipher = newCipher(last ? config.getAlgorithm() : noPadding, opMode, segIv);
+                ByteBuffer srcBuf = in.map(FileChannel.MapMode.READ_ONLY, offset, len);
+                MappedByteBuffer dstBuf = out.map(FileChannel.MapMode.READ_WRITE, offset,
+                        last ? len + BLOCK : len);
+                int n = last ? cipher.doFinal(srcBuf, dstBuf) : cipher.update(srcBuf, dstBuf);
+                report.record(Thread.currentThread().getName(), len, System.nanoTime() - begin);
+                return offset + n;
+            }));
+        }
+        long outSize = 0;
+        for (ForkJoinTask<Long> task : tasks) {
+            try {
+                outSize = Math.max(outSize, task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException)
+                    throw (IOException) cause;
+                if (cause instanceof GeneralSecurityException)
+                    throw (GeneralSecurityException) cause;
+                throw new RuntimeException(cause);
+            }
+        }
+        return outSize;
+    }
+
+    private Cipher newCipher(String algorithm, int opMode, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = ProviderTuner.getCipher(algorithm);
+        if (iv == null)
+            cipher.init(opMode, key);
+        else
+            cipher.init(opMode, key, new IvParameterSpec(iv));
+        return cipher;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position);
+            if (n < 0)
+                throw new IOException("Unexpected end of file");
+            position += n;
+        }
+    }
+
+    /**
+     * 处理报告
+     */
+    public static final class Report {
+
+        private long bytes;
+
+        private long elapsedNanos;
+
+        /* 线程名 -> [字节数, 耗时纳秒] */
+        private final Map<String, long[]> threads = new ConcurrentHashMap<>();
+
+        private void record(String thread, long bytes, long nanos) {
+            threads.merge(thread, new long[]{bytes, nanos}, (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+        }
+
+        /**
+         * @return 处理的源文件字节数
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return 总耗时（纳秒）
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return 总吞吐量（MB/s）
+         */
+        public double getThroughput() {
+            return mbps(bytes, elapsedNanos);
+        }
+
+        /**
+         * @return 每个线程的吞吐量（MB/s），按线程名排序
+         */
+        @NotNull
+        public Map<String, Double> getThreadThroughput() {
+            List<String> names = new ArrayList<>(threads.keySet());
+            Collections.sort(names);
+            Map<String, Double> result = new LinkedHashMap<>();
+            for (String name : names) {
+                long[] v = threads.get(name);
+                result.put(name, mbps(v[0], v[1]));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder()
+                    .append(String.format("%d bytes in %.3f ms, %.2f MB/s", bytes, elapsedNanos / 1e6, getThroughput()));
+            for (Map.Entry<String, Double> e : getThreadThroughput().entrySet())
+                builder.append(String.format("%n  %s: %.2f MB/s", e.getKey(), e.getValue()));
+            return builder.toString();
+        }
+
+        private static double mbps(long bytes, long nanos) {
+            return nanos <= 0 ? 0 : bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+        }
+    }
+}
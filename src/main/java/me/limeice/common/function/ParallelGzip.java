@@ -0,0 +1,253 @@
+package me.limeice.common.function;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 并行 gzip 压缩
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 输入按固定大小分块，各块在线程池上独立压缩为一个完整的 gzip 成员（member），
+ *             按顺序拼接输出。结果是标准的多成员 gzip 流（RFC 1952），
+ *             GZIPInputStream、gzip -d 均可直接解压。
+ *             同时处理的块数不超过 threads * 2，内存占用与输入大小无关
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ * <p>
+ * 注意：GZIPInputStream 在成员边界处依赖{@link InputStream#available()}判断是否还有后续成员，
+ * 对网络流等available()可能返回0的输入，建议先包装为{@link java.io.BufferedInputStream}
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ParallelGzip {
+
+    /**
+     * 默认块大小（1MB）
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private static final int MIN_BLOCK_SIZE = 32 * 1024;
+
+    /* gzip 头：ID1 ID2 CM=deflate FLG MTIME(4) XFL OS，与GZIPOutputStream一致 */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int TRAILER_SIZE = 8;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /* 为null时每次压缩创建threads个工作线程 */
+    private Executor executor;
+
+    /**
+     * 设置压缩级别
+     *
+     * @param level 0 ~ 9，或{@link Deflater#DEFAULT_COMPRESSION}
+     * @return this
+     */
+    @NotNull
+    public ParallelGzip setLevel(int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+            throw new IllegalArgumentException("level must be between 0 and 9!");
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 设置块大小，块越大压缩率越接近单线程gzip
+     *
+     * @param blockSize 块大小，不小于32KB
+     * @return this
+     */
+    @NotNull
+    public ParallelGzip setBlockSize(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE)
+            throw new IllegalArgumentException("blockSize must be at least 32KB!");
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * 设置并行线程数，为1时在调用线程上顺序压缩；
+     * 未设置线程池时每次压缩使用该数量的工作线程，设置了线程池时并行度由线程池决定，
+     * 此值只限制同时处理的块数（threads * 2）
+     *
+     * @param threads 线程数
+     * @return this
+     */
+    @NotNull
+    public ParallelGzip setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive!");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * 设置执行压缩任务的线程池，默认每次压缩创建{@link #setThreads(int)}个工作线程，结束后关闭
+     *
+     * @param executor 线程池
+     * @return this
+     */
+    @NotNull
+    public ParallelGzip setExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 压缩，读取到输入流末尾，不关闭流
+     *
+     * @param input  输入流（源数据）
+     * @param output 输出流（gzip数据）
+     * @return 写入的字节数
+     * @throws IOException IOException
+     */
+    public long compress(@NotNull InputStream input, @NotNull OutputStream output) throws IOException {
+        ConcurrentLinkedQueue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+        ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        long written = 0;
+        boolean empty = true;
+        Executor exec = executor;
+        ForkJoinPool own = null;
+        if (threads > 1 && exec == null)
+            exec = own = new ForkJoinPool(threads);
+        try {
+            while (true) {
+                byte[] block = new byte[blockSize];
+                int len = readFully(input, block);
+                if (len == 0 && !empty)
+                    break;
+                empty = false;
+                if (threads == 1) {
+                    byte[] member = deflate(deflaters, block, len);
+                    output.write(member);
+                    written += member.length;
+                } else {
+                    pending.add(CompletableFuture.supplyAsync(() -> deflate(deflaters, block, len), exec));
+                    // 窗口已满时按顺序写出最早的块
+                    while (pending.size() >= threads * 2)
+                        written += writeNext(pending, output);
+                }
+                if (len < blockSize)
+                    break;
+            }
+            while (!pending.isEmpty())
+                written += writeNext(pending, output);
+            output.flush();
+            return written;
+        } finally {
+            // 出错时等待已提交的任务结束后再释放Deflater
+            for (CompletableFuture<byte[]> future : pending) {
+                try {
+                    future.join();
+                } catch (RuntimeException ignored) {
+                }
+            }
+            if (own != null)
+                own.shutdown();
+            Deflater deflater;
+            while ((deflater = deflaters.poll()) != null)
+                deflater.end();
+        }
+    }
+
+    /**
+     * 压缩整个字节数组
+     *
+     * @param data 源数据
+     * @return gzip数据
+     */
+    @NotNull
+    public byte[] compress(@NotNull byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try {
+            compress(new ByteArrayInputStream(data), out);
+        } catch (IOException e) {
+            // 内存流不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static long writeNext(ArrayDeque<CompletableFuture<byte[]>> pending, OutputStream output)
+            throws IOException {
+        byte[] member;
+        try {
+            member = pending.peek().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        pending.poll();
+        output.write(member);
+        return member.length;
+    }
+
+    /* 将一个块压缩为完整的 gzip 成员 */
+    private byte[] deflate(ConcurrentLinkedQueue<Deflater> deflaters, byte[] block, int len) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null)
+            deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(block, 0, len);
+            deflater.finish();
+            // 不可压缩数据的膨胀上限约为 len + len/1000 + 若干字节
+            byte[] out = new byte[HEADER.length + len + (len >> 10) + 64 + TRAILER_SIZE];
+            System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+            int pos = HEADER.length;
+            while (!deflater.finished()) {
+                if (out.length - pos < TRAILER_SIZE + 64)
+                    out = Arrays.copyOf(out, out.length * 2);
+                pos += deflater.deflate(out, pos, out.length - pos - TRAILER_SIZE);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(block, 0, len);
+            pos = putIntLE(out, pos, (int) crc.getValue());
+            pos = putIntLE(out, pos, len);
+            return pos == out.length ? out : Arrays.copyOf(out, pos);
+        } finally {
+            deflater.reset();
+            deflaters.add(deflater);
+        }
+    }
+
+    private static int putIntLE(byte[] bs, int pos, int value) {
+        bs[pos] = (byte) value;
+        bs[pos + 1] = (byte) (value >>> 8);
+        bs[pos + 2] = (byte) (value >>> 16);
+        bs[pos + 3] = (byte) (value >>> 24);
+        return pos + 4;
+    }
+
+    private static int readFully(InputStream in, byte[] buf) throws IOException {
+        int n = 0;
+        while (n < buf.length) {
+            int r = in.read(buf, n, buf.length - n);
+            if (r < 0)
+                break;
+            n += r;
+        }
+        return n;
+    }
+}
@@ -2,6 +2,7 @@ package me.limeice.common.function.algorithm.security;
 
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.UnsupportedEncodingException;
 import java.security.InvalidAlgorithmParameterException;
@@ -33,10 +34,32 @@ import javax.crypto.NoSuchPaddingException;
  */
 public final class AES128 extends AES128Base {
 
+    /* 口令派生密钥缓存，为null时每次调用都执行一次MD5 */
+    private volatile KeyCache keyCache;
+
     public AES128(int aesType) {
         super(aesType);
     }
 
+    /**
+     * 设置口令派生密钥缓存（可选），影响所有以String作为密钥的方法
+     *
+     * @param keyCache 缓存，null表示不使用缓存
+     */
+    public void setKeyCache(@Nullable KeyCache keyCache) {
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * 获取口令派生密钥缓存
+     *
+     * @return 缓存，可能为null
+     */
+    @Nullable
+    public KeyCache getKeyCache() {
+        return keyCache;
+    }
+
     /**
      * 使用AES-128算法对数据进行加密
      *
@@ -87,7 +110,7 @@ public final class AES128 extends AES128Base {
     public String encryptBase64(@NotNull String msg, @NotNull String sKey) throws NoSuchPaddingException,
             InvalidAlgorithmParameterException, NoSuchAlgorithmException,
             IllegalBlockSizeException, BadPaddingException, InvalidKeyException {
-        return encryptBase64(msg, Hash.md5ToBytes(sKey));
+        return encryptBase64(msg, deriveKey(sKey));
     }
 
     /**
@@ -140,6 +163,18 @@ public final class AES128 extends AES128Base {
     public String decryptBase64(@NotNull String msg, @NotNull String sKey) throws NoSuchPaddingException,
             InvalidAlgorithmParameterException, NoSuchAlgorithmException,
             IllegalBlockSizeException, BadPaddingException, InvalidKeyException {
-        return decryptBase64(msg, Hash.md5ToBytes(sKey));
+        return decryptBase64(msg, deriveKey(sKey));
+    }
+
+    /**
+     * 口令派生密钥
+     *
+     * @param sKey 口令
+     * @return 密钥
+     */
+    @NotNull
+    private byte[] deriveKey(@NotNull String sKey) {
+        KeyCache cache = keyCache;
+        return cache != null ? cache.get(sKey) : Hash.md5ToBytes(sKey);
     }
 }
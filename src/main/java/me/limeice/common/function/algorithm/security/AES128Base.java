@@ -1,19 +1,26 @@
 package me.limeice.common.function.algorithm.security;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Arrays;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
+import me.limeice.common.function.BytesUtils;
+
 /**
  * <p>AES 算法 对称加密，密码学中的高级加密标准
  * <p>警告：
@@ -60,6 +67,20 @@ public class AES128Base {
      */
     public static final int OFB = 0x40;
 
+    /**
+     * Counter Mode，仅支持NoPadding。
+     * byte[]接口每次加密使用随机初始计数器块，输出格式为 计数器块(16) || 密文；
+     * ByteBuffer接口须先调用{@link #setIV(byte[])}提供计数器块，会话不支持，
+     * 需要流式或随机访问时使用{@link AES128Ctr}。
+     */
+    public static final int CTR = 0x50;
+
+    /**
+     * Galois/Counter Mode，认证加密，仅支持NoPadding。
+     * 每次加密使用随机nonce，输出格式为 nonce(12) || 密文 || 认证标签，详见{@link AES128Gcm}。
+     */
+    public static final int GCM = 0x60;
+
     /**
      * No padding.
      */
@@ -94,7 +115,12 @@ public class AES128Base {
      */
     public final static String BYTE_TYPE = "UTF-8";
 
-    protected final static String[] MODES = new String[]{"NONE", "CBC", "CFB", "ECB", "OFB"};
+    /* CTR模式byte[]接口输出前缀的计数器块长度 */
+    private static final int COUNTER_LENGTH = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    protected final static String[] MODES = new String[]{"NONE", "CBC", "CFB", "ECB", "OFB", "CTR", "GCM"};
     protected final static String[] PADDING = new String[]{"NoPadding", "ISO10126Padding", "PKCS5Padding", "SSL3Padding"};
 
 
@@ -108,6 +134,27 @@ public class AES128Base {
     /* 是否为CBC模式 */
     protected boolean isCBC = false;
 
+    /* 是否需要IV向量 */
+    protected boolean isUseIV = false;
+
+    /* 模式，如{@link #CBC} */
+    protected int mode;
+
+    /* 填充方式，如{@link #PKCS5Padding} */
+    protected int padding;
+
+    /* GCM认证标签长度（位） */
+    protected int tagLength = AES128Gcm.DEFAULT_TAG_LENGTH;
+
+    /* 加解密引擎，为null时使用JCE */
+    protected volatile AES128Engine engine;
+
+    /* 是否由调用方设置过IV */
+    protected volatile boolean isIVSet = false;
+
+    /* GCM模式最近使用的密钥及其AES128Gcm，同一密钥复用其Cipher池 */
+    private volatile GcmKey lastGcm;
+
     public AES128Base(int aesType) {
         algorithm = getAlgorithm(aesType);
     }
@@ -123,9 +170,144 @@ public class AES128Base {
         else {
             IV = null;
             IV = Arrays.copyOf(iv, 16);
+            isIVSet = true;
         }
     }
 
+    /**
+     * 设置GCM认证标签长度
+     *
+     * @param tagLength 认证标签长度（位），96~128且为8的倍数
+     */
+    public void setTagLength(int tagLength) {
+        AES128Gcm.checkTagLength(tagLength);
+        this.tagLength = tagLength;
+    }
+
+    /**
+     * 设置加解密引擎，只作用于byte[]接口的{@link #encrypt(byte[], byte[])}与{@link #decrypt(byte[], byte[])}，
+     * 引擎不支持当前模式/填充时仍使用JCE；会话、批量、ByteBuffer接口始终使用JCE
+     *
+     * @param engine 引擎，如{@link BitslicedAES128}，null表示使用JCE
+     */
+    public void setEngine(@Nullable AES128Engine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * 获取加解密引擎
+     *
+     * @return 引擎，null表示使用JCE
+     */
+    @Nullable
+    public AES128Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * 获取GCM认证标签长度
+     *
+     * @return 认证标签长度（位）
+     */
+    public int getTagLength() {
+        return tagLength;
+    }
+
+    /**
+     * 获取算法描述，如：AES/CBC/PKCS5Padding
+     *
+     * @return 算法描述
+     */
+    @NotNull
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取当前IV向量（副本）
+     *
+     * @return 向量
+     */
+    @NotNull
+    public byte[] getIV() {
+        return Arrays.copyOf(IV, 16);
+    }
+
+    /**
+     * 获取模式
+     *
+     * @return 模式，如{@link #CBC}
+     */
+    public int getMode() {
+        return mode;
+    }
+
+    /**
+     * 获取填充方式
+     *
+     * @return 填充方式，如{@link #PKCS5Padding}
+     */
+    public int getPadding() {
+        return padding;
+    }
+
+    /**
+     * 计算加密输出长度，便于调用方预先分配或复用输出缓冲区
+     *
+     * @param inputLen 明文长度
+     * @return 密文长度
+     */
+    public int getEncryptOutputSize(int inputLen) {
+        if (mode == GCM)
+            return AES128Gcm.NONCE_LENGTH + inputLen + tagLength / 8;
+        if (mode == CTR)
+            return COUNTER_LENGTH + inputLen;
+        return outputSize(padding, inputLen, true);
+    }
+
+    /**
+     * 计算解密输出长度上限，实际长度为解密方法的返回值
+     *
+     * @param inputLen 密文长度
+     * @return 明文长度上限
+     */
+    public int getDecryptOutputSize(int inputLen) {
+        if (mode == GCM)
+            return Math.max(inputLen - AES128Gcm.NONCE_LENGTH - tagLength / 8, 0);
+        return outputSize(padding, inputLen, false);
+    }
+
+    /**
+     * 是否调用过{@link #setIV(byte[])}，CTR模式的ByteBuffer接口与{@code MappedFileCipher}要求调用方提供计数器块
+     *
+     * @return {@code true}已设置
+     */
+    public boolean isIVSet() {
+        return isIVSet;
+    }
+
+    /**
+     * 当前模式是否需要IV向量
+     *
+     * @return {@code true}需要
+     */
+    public boolean isUseIV() {
+        return isUseIV;
+    }
+
+    /**
+     * 创建与密钥绑定的会话，会话内部复用已初始化的{@link Cipher}，适合同一密钥的高频调用
+     *
+     * @param keyBytes 密钥，必须位16位密码
+     * @return 会话
+     */
+    @NotNull
+    public AES128Session newSession(@NotNull byte[] keyBytes)
+            throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        return new AES128Session(this, keyBytes);
+    }
+
     /**
      * <p>
      * 使用AES-128算法对数据进行加密
@@ -137,13 +319,18 @@ public class AES128Base {
     public byte[] encrypt(@NotNull byte[] msg, @NotNull byte[] keyBytes)
             throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
             InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
-        SecretKeySpec key = new SecretKeySpec(keyBytes, ALGORITHM);
-        Cipher cipher = Cipher.getInstance(algorithm);
-        if (!isCBC)
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-        else
-            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(IV));
-        return cipher.doFinal(msg);
+        if (!CryptoMetrics.isEnabled())
+            return doFinal(Cipher.ENCRYPT_MODE, msg, keyBytes);
+        long start = System.nanoTime();
+        byte[] result;
+        try {
+            result = doFinal(Cipher.ENCRYPT_MODE, msg, keyBytes);
+        } catch (Throwable e) {
+            CryptoMetrics.record(CryptoMetrics.Operation.ENCRYPT, algorithm, msg.length, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(CryptoMetrics.Operation.ENCRYPT, algorithm, msg.length, start, null);
+        return result;
     }
 
     /**
@@ -157,18 +344,269 @@ public class AES128Base {
     public byte[] decrypt(@NotNull byte[] msg, @NotNull byte[] keyBytes)
             throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
             InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
-        SecretKeySpec key = new SecretKeySpec(keyBytes, ALGORITHM);
-        Cipher cipher = Cipher.getInstance(algorithm);
-        if (!isCBC)
-            cipher.init(Cipher.DECRYPT_MODE, key);
+        if (!CryptoMetrics.isEnabled())
+            return doFinal(Cipher.DECRYPT_MODE, msg, keyBytes);
+        long start = System.nanoTime();
+        byte[] result;
+        try {
+            result = doFinal(Cipher.DECRYPT_MODE, msg, keyBytes);
+        } catch (Throwable e) {
+            CryptoMetrics.record(CryptoMetrics.Operation.DECRYPT, algorithm, msg.length, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(CryptoMetrics.Operation.DECRYPT, algorithm, msg.length, start, null);
+        return result;
+    }
+
+    /**
+     * 批量加密，整批只初始化一次，结果写入一个连续数组
+     *
+     * @param msgs     明文记录，如果NoPadding，每条长度必须为16的倍数！
+     * @param keyBytes 密钥，必须位16位密码
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch encryptBatch(@NotNull byte[][] msgs, @NotNull byte[] keyBytes, boolean parallel)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        return newSession(keyBytes).encryptBatch(msgs, parallel);
+    }
+
+    /**
+     * 批量加密，输入为连续数组加偏移索引
+     *
+     * @param data     连续存放的明文
+     * @param offsets  偏移索引，第i条记录位于 [offsets[i], offsets[i + 1])
+     * @param keyBytes 密钥，必须位16位密码
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch encryptBatch(@NotNull byte[] data, @NotNull int[] offsets, @NotNull byte[] keyBytes,
+                                    boolean parallel)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        return newSession(keyBytes).encryptBatch(data, offsets, parallel);
+    }
+
+    /**
+     * 批量解密，整批只初始化一次，结果写入一个连续数组
+     *
+     * @param msgs     密文记录，每条长度必须为16的倍数！
+     * @param keyBytes 密钥，必须位16位密码
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch decryptBatch(@NotNull byte[][] msgs, @NotNull byte[] keyBytes, boolean parallel)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        return newSession(keyBytes).decryptBatch(msgs, parallel);
+    }
+
+    /**
+     * 批量解密，输入为连续数组加偏移索引
+     *
+     * @param data     连续存放的密文
+     * @param offsets  偏移索引，第i条记录位于 [offsets[i], offsets[i + 1])
+     * @param keyBytes 密钥，必须位16位密码
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch decryptBatch(@NotNull byte[] data, @NotNull int[] offsets, @NotNull byte[] keyBytes,
+                                    boolean parallel)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        return newSession(keyBytes).decryptBatch(data, offsets, parallel);
+    }
+
+    /**
+     * <p>
+     * 使用AES-128算法对数据进行加密，读取src剩余数据写入dst，支持堆内与直接缓冲区
+     *
+     * @param src      加密数据，如果NoPadding，加密数据长度必须为16的倍数！
+     * @param dst      输出缓冲区，剩余空间不少于{@link #getEncryptOutputSize(int)}
+     * @param keyBytes 解密密钥，必须位16位密码
+     * @return 写入dst的字节数
+     */
+    public int encrypt(@NotNull ByteBuffer src, @NotNull ByteBuffer dst, @NotNull byte[] keyBytes)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException,
+            ShortBufferException {
+        if (!CryptoMetrics.isEnabled())
+            return newCipher(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(src, dst);
+        long start = System.nanoTime();
+        int len = src.remaining();
+        int n;
+        try {
+            n = newCipher(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(src, dst);
+        } catch (Throwable e) {
+            CryptoMetrics.record(CryptoMetrics.Operation.ENCRYPT, algorithm, len, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(CryptoMetrics.Operation.ENCRYPT, algorithm, len, start, null);
+        return n;
+    }
+
+    /**
+     * <p>
+     * 使用AES-128算法对数据进行解密，读取src剩余数据写入dst，支持堆内与直接缓冲区
+     *
+     * @param src      需要解密的数据，数据长度必须为16的倍数！
+     * @param dst      输出缓冲区，剩余空间不少于{@link #getDecryptOutputSize(int)}
+     * @param keyBytes 解密密钥，必须位16位密码
+     * @return 写入dst的字节数
+     */
+    public int decrypt(@NotNull ByteBuffer src, @NotNull ByteBuffer dst, @NotNull byte[] keyBytes)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException,
+            ShortBufferException {
+        if (!CryptoMetrics.isEnabled())
+            return newCipher(Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(src, dst);
+        long start = System.nanoTime();
+        int len = src.remaining();
+        int n;
+        try {
+            n = newCipher(Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(src, dst);
+        } catch (Throwable e) {
+            CryptoMetrics.record(CryptoMetrics.Operation.DECRYPT, algorithm, len, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(CryptoMetrics.Operation.DECRYPT, algorithm, len, start, null);
+        return n;
+    }
+
+    /**
+     * 创建并初始化{@link Cipher}
+     *
+     * @param opMode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @param key    密钥
+     * @return 已初始化的Cipher
+     */
+    @NotNull
+    protected Cipher newCipher(int opMode, @NotNull SecretKeySpec key)
+            throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        if (mode == GCM)
+            throw new InvalidAlgorithmParameterException("GCM requires a nonce per call, use AES128Gcm");
+        if (mode == CTR && !isIVSet)
+            throw new InvalidAlgorithmParameterException(
+                    "CTR requires a unique counter per message, call setIV or use AES128Ctr");
+        Cipher cipher = ProviderTuner.getCipher(algorithm);
+        if (!isUseIV)
+            cipher.init(opMode, key);
         else
-            cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(IV));
-        return cipher.doFinal(msg);
+            cipher.init(opMode, key, new IvParameterSpec(IV));
+        return cipher;
+    }
+
+    private byte[] doFinal(int opMode, byte[] msg, byte[] keyBytes)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        if (mode == GCM)
+            return gcm(keyBytes, msg, opMode == Cipher.ENCRYPT_MODE);
+        if (mode == CTR)
+            return ctr(keyBytes, msg, opMode == Cipher.ENCRYPT_MODE);
+        AES128Engine e = engine;
+        if (e != null && e.isSupported(mode, padding))
+            return e.doFinal(opMode == Cipher.ENCRYPT_MODE, mode, padding, keyBytes, IV, msg);
+        return newCipher(opMode, new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(msg);
+    }
+
+    /* GCM模式：nonce || 密文 || 认证标签 */
+    private byte[] gcm(byte[] keyBytes, byte[] msg, boolean encrypt)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        AES128Gcm gcm = gcm(keyBytes);
+        try {
+            return encrypt ? gcm.seal(null, msg) : gcm.open(null, msg);
+        } catch (BadPaddingException | IllegalBlockSizeException e) {
+            throw e;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /* CTR模式：计数器块 || 密文，每次加密使用随机计数器块 */
+    private byte[] ctr(byte[] keyBytes, byte[] msg, boolean encrypt)
+            throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
+            InvalidAlgorithmParameterException, BadPaddingException, IllegalBlockSizeException {
+        byte[] counter;
+        int off;
+        if (encrypt) {
+            counter = new byte[COUNTER_LENGTH];
+            RANDOM.nextBytes(counter);
+            off = 0;
+        } else {
+            if (msg.length < COUNTER_LENGTH)
+                throw new IllegalBlockSizeException("Missing counter block");
+            counter = Arrays.copyOf(msg, COUNTER_LENGTH);
+            off = COUNTER_LENGTH;
+        }
+        int len = msg.length - off;
+        byte[] out = new byte[encrypt ? COUNTER_LENGTH + len : len];
+        int outOff = encrypt ? COUNTER_LENGTH : 0;
+        if (encrypt)
+            System.arraycopy(counter, 0, out, 0, COUNTER_LENGTH);
+        AES128Engine e = engine;
+        if (e != null && e.isSupported(mode, padding)) {
+            byte[] r = e.doFinal(encrypt, mode, padding, keyBytes, counter, Arrays.copyOfRange(msg, off, msg.length));
+            System.arraycopy(r, 0, out, outOff, r.length);
+            return out;
+        }
+        Cipher cipher = ProviderTuner.getCipher(algorithm);
+        cipher.init(encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, new SecretKeySpec(keyBytes, ALGORITHM),
+                new IvParameterSpec(counter));
+        try {
+            cipher.doFinal(msg, off, len, out, outOff);
+        } catch (ShortBufferException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+        return out;
+    }
+
+    private AES128Gcm gcm(byte[] keyBytes) throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        GcmKey g = lastGcm;
+        if (g != null && g.gcm.getTagLength() == tagLength && BytesUtils.constantTimeEquals(g.key, keyBytes))
+            return g.gcm;
+        AES128Gcm gcm = new AES128Gcm(keyBytes, tagLength);
+        lastGcm = new GcmKey(keyBytes.clone(), gcm);
+        return gcm;
+    }
+
+    private static final class GcmKey {
+        final byte[] key;
+        final AES128Gcm gcm;
+
+        GcmKey(byte[] key, AES128Gcm gcm) {
+            this.key = key;
+            this.gcm = gcm;
+        }
+    }
+
+    /**
+     * 计算输出长度
+     *
+     * @param padding  填充方式
+     * @param inputLen 输入长度
+     * @param encrypt  是否为加密
+     * @return 输出长度（解密时为上限）
+     */
+    static int outputSize(int padding, int inputLen, boolean encrypt) {
+        if (!encrypt || padding == NoPadding)
+            return inputLen;
+        return (inputLen / 16 + 1) * 16;
     }
 
     private String getAlgorithm(int aesType) {
         int mode = aesType >> 4;
         isCBC = (mode == CBC >> 4);
+        isUseIV = isCBC || mode == CFB >> 4 || mode == OFB >> 4 || mode == CTR >> 4;
+        this.mode = mode << 4;
+        this.padding = aesType % 16;
         return String.format("AES/%s/%s", MODES[mode], PADDING[aesType % 16]);
     }
 }
\ No newline at end of file
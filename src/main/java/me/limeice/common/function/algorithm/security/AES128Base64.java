@@ -0,0 +1,394 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+
+/**
+ * <p>AES-128 加密与 Base64 编码的融合路径，线程安全
+ * <p>明文直接从{@link CharSequence}编码为UTF-8写入可复用缓冲区，加密后直接Base64编码到调用方提供的
+ * {@code byte[]}/{@link CharBuffer}/{@link Appendable}，中间不产生String与临时数组。
+ * 支持标准与URL安全字母表，以及无填充输出。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128Base64 codec = new AES128Base64(aes.newSession(keyBytes), true, false);
+ * StringBuilder token = new StringBuilder();
+ * codec.encrypt("user=lime", token);
+ * StringBuilder plain = new StringBuilder();
+ * codec.decrypt(token, plain);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AES128Base64 {
+
+    private static final char[] STD = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private static final char[] URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    private final AES128Session session;
+
+    private final char[] alphabet;
+
+    private final int[] decodeTable = new int[128];
+
+    private final boolean padding;
+
+    /* 缓冲区超过该长度的Scratch用后丢弃，避免一次大消息长期占用内存 */
+    private static final int MAX_POOLED_SIZE = 64 * 1024;
+
+    private final StripedPool<Scratch> scratches = new StripedPool<>(Scratch::new);
+
+    /**
+     * 标准字母表，带填充，与{@link AES128#encryptBase64(String, byte[])}输出一致
+     *
+     * @param session 会话
+     */
+    public AES128Base64(@NotNull AES128Session session) {
+        this(session, false, true);
+    }
+
+    /**
+     * @param session 会话
+     * @param urlSafe 是否使用URL安全字母表（-_）
+     * @param padding 是否输出'='填充
+     */
+    public AES128Base64(@NotNull AES128Session session, boolean urlSafe, boolean padding) {
+        this.session = session;
+        this.alphabet = urlSafe ? URL : STD;
+        this.padding = padding;
+        Arrays.fill(decodeTable, -1);
+        for (int i = 0; i < alphabet.length; i++)
+            decodeTable[alphabet[i]] = i;
+    }
+
+    /**
+     * 计算加密输出的Base64长度上限
+     *
+     * @param msgLength 明文字符数
+     * @return Base64字符数上限
+     */
+    public int getEncryptOutputSize(int msgLength) {
+        return base64Length(session.getEncryptOutputSize(msgLength * 3));
+    }
+
+    /**
+     * 加密并以Base64（ASCII）写入dst
+     *
+     * @param msg    明文
+     * @param dst    输出
+     * @param dstOff 输出偏移
+     * @return 写入的字节数
+     */
+    public int encrypt(@NotNull CharSequence msg, @NotNull byte[] dst, int dstOff) throws GeneralSecurityException {
+        Scratch s = scratches.borrow();
+        try {
+            int n = s.encrypt(msg);
+            int len = base64Length(n);
+            if (dstOff + len > dst.length)
+                throw new IndexOutOfBoundsException("dst too small, need " + len);
+            encodeBase64(s.cipher, n, s.chars);
+            for (int i = 0; i < len; i++)
+                dst[dstOff + i] = (byte) s.chars[i];
+            return len;
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * 加密并以Base64写入dst
+     *
+     * @param msg 明文
+     * @param dst 输出
+     * @return 写入的字符数
+     */
+    public int encrypt(@NotNull CharSequence msg, @NotNull CharBuffer dst) throws GeneralSecurityException {
+        Scratch s = scratches.borrow();
+        try {
+            int n = s.encrypt(msg);
+            int len = encodeBase64(s.cipher, n, s.chars);
+            dst.put(s.chars, 0, len);
+            return len;
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * 加密并以Base64追加到out
+     *
+     * @param msg 明文
+     * @param out 输出，如：StringBuilder、Writer
+     * @throws IOException out抛出的异常
+     */
+    public void encrypt(@NotNull CharSequence msg, @NotNull Appendable out)
+            throws GeneralSecurityException, IOException {
+        Scratch s = scratches.borrow();
+        try {
+            int n = s.encrypt(msg);
+            int len = encodeBase64(s.cipher, n, s.chars);
+            append(out, s.chars, len);
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * 加密为Base64文本
+     *
+     * @param msg 明文
+     * @return Base64文本
+     */
+    @NotNull
+    public String encrypt(@NotNull CharSequence msg) throws GeneralSecurityException {
+        Scratch s = scratches.borrow();
+        try {
+            int n = s.encrypt(msg);
+            return new String(s.chars, 0, encodeBase64(s.cipher, n, s.chars));
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * 解码Base64、解密并以UTF-8解码后追加到out
+     *
+     * @param base64 密文Base64
+     * @param out    输出，如：StringBuilder、Writer
+     * @throws IllegalArgumentException Base64格式错误
+     * @throws IOException              out抛出的异常
+     */
+    public void decrypt(@NotNull CharSequence base64, @NotNull Appendable out)
+            throws GeneralSecurityException, IOException {
+        Scratch s = scratches.borrow();
+        try {
+            CharBuffer chars = s.decrypt(base64);
+            append(out, chars.array(), chars.limit());
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * 解码Base64、解密为文本
+     *
+     * @param base64 密文Base64
+     * @return 明文
+     * @throws IllegalArgumentException Base64格式错误
+     */
+    @NotNull
+    public String decrypt(@NotNull CharSequence base64) throws GeneralSecurityException {
+        Scratch s = scratches.borrow();
+        try {
+            CharBuffer chars = s.decrypt(base64);
+            return new String(chars.array(), 0, chars.limit());
+        } finally {
+            release(s);
+        }
+    }
+
+    /* 清除本次使用的部分后归还，超过上限的缓冲区不入池 */
+    private void release(Scratch s) {
+        if (s.wipe())
+            scratches.release(s);
+    }
+
+    private int base64Length(int n) {
+        return padding ? (n + 2) / 3 * 4 : (n * 4 + 2) / 3;
+    }
+
+    /* 编码 src[0, n)，返回字符数 */
+    private int encodeBase64(byte[] src, int n, char[] dst) {
+        int p = 0;
+        int i = 0;
+        for (int end = n - n % 3; i < end; i += 3) {
+            int v = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[p++] = alphabet[v >>> 18];
+            dst[p++] = alphabet[(v >>> 12) & 0x3F];
+            dst[p++] = alphabet[(v >>> 6) & 0x3F];
+            dst[p++] = alphabet[v & 0x3F];
+        }
+        int rest = n - i;
+        if (rest > 0) {
+            int v = (src[i] & 0xFF) << 16 | (rest == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[p++] = alphabet[v >>> 18];
+            dst[p++] = alphabet[(v >>> 12) & 0x3F];
+            if (rest == 2)
+                dst[p++] = alphabet[(v >>> 6) & 0x3F];
+            if (padding) {
+                dst[p++] = '=';
+                if (rest == 1)
+                    dst[p++] = '=';
+            }
+        }
+        return p;
+    }
+
+    /* 解码Base64（填充可选），返回字节数 */
+    private int decodeBase64(CharSequence src, byte[] dst) {
+        int len = src.length();
+        while (len > 0 && src.charAt(len - 1) == '=')
+            len--;
+        if (src.length() - len > 2 || len % 4 == 1)
+            throw new IllegalArgumentException("Illegal base64 length");
+        int p = 0;
+        int bits = 0;
+        int acc = 0;
+        for (int i = 0; i < len; i++) {
+            char c = src.charAt(i);
+            int v = c < 128 ? decodeTable[c] : -1;
+            if (v < 0)
+                throw new IllegalArgumentException("Illegal base64 char '" + c + "' at index " + i);
+            acc = acc << 6 | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[p++] = (byte) (acc >>> bits);
+            }
+        }
+        return p;
+    }
+
+    private static void append(Appendable out, char[] chars, int len) throws IOException {
+        if (out instanceof StringBuilder)
+            ((StringBuilder) out).append(chars, 0, len);
+        else if (out instanceof Writer)
+            ((Writer) out).write(chars, 0, len);
+        else
+            out.append(CharBuffer.wrap(chars, 0, len));
+    }
+
+    /**
+     * 每次调用借用的可复用缓冲区，按需增长，归还前清零已使用的部分
+     */
+    private final class Scratch {
+
+        private byte[] plain = new byte[256];
+
+        private byte[] cipher = new byte[288];
+
+        private char[] chars = new char[384];
+
+        private ByteBuffer plainView = ByteBuffer.wrap(plain);
+
+        private CharBuffer charView = CharBuffer.wrap(chars);
+
+        /* 本次调用可能写入的长度 */
+        private int plainUsed, cipherUsed, charsUsed;
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /* UTF-8编码并加密，返回密文长度（位于cipher），并保证chars足够容纳Base64 */
+        int encrypt(CharSequence msg) throws GeneralSecurityException {
+            int n = encodeUtf8(msg);
+            plainUsed = n;
+            int outLen = session.getEncryptOutputSize(n);
+            if (cipher.length < outLen)
+                cipher = new byte[outLen];
+            int b64 = base64Length(outLen);
+            if (chars.length < b64) {
+                chars = new char[b64];
+                charView = CharBuffer.wrap(chars);
+            }
+            cipherUsed = outLen;
+            charsUsed = b64;
+            Cipher c = session.borrowCipher(Cipher.ENCRYPT_MODE);
+            int len = c.doFinal(plain, 0, n, cipher, 0);
+            session.releaseCipher(Cipher.ENCRYPT_MODE, c);
+            return len;
+        }
+
+        /* 解码并解密，返回位于chars的明文 */
+        CharBuffer decrypt(CharSequence base64) throws GeneralSecurityException {
+            int max = base64.length() * 3 / 4 + 3;
+            if (cipher.length < max)
+                cipher = new byte[max];
+            cipherUsed = max;
+            int n = decodeBase64(base64, cipher);
+            ensurePlain(n);
+            plainUsed = n;
+            Cipher c = session.borrowCipher(Cipher.DECRYPT_MODE);
+            int len = c.doFinal(cipher, 0, n, plain, 0);
+            session.releaseCipher(Cipher.DECRYPT_MODE, c);
+            if (chars.length < len) {
+                chars = new char[len];
+                charView = CharBuffer.wrap(chars);
+            }
+            charsUsed = len;
+            plainView.clear().limit(len);
+            charView.clear();
+            decoder.reset();
+            decoder.decode(plainView, charView, true);
+            decoder.flush(charView);
+            charView.flip();
+            return charView;
+        }
+
+        /* 清零已使用的部分，返回是否可以入池 */
+        boolean wipe() {
+            Arrays.fill(plain, 0, Math.min(plainUsed, plain.length), (byte) 0);
+            Arrays.fill(cipher, 0, Math.min(cipherUsed, cipher.length), (byte) 0);
+            Arrays.fill(chars, 0, Math.min(charsUsed, chars.length), '\0');
+            plainUsed = cipherUsed = charsUsed = 0;
+            return plain.length <= MAX_POOLED_SIZE && cipher.length <= MAX_POOLED_SIZE
+                    && chars.length <= MAX_POOLED_SIZE;
+        }
+
+        /* 与String.getBytes(UTF-8)一致，孤立代理项替换为'?' */
+        private int encodeUtf8(CharSequence msg) {
+            int len = msg.length();
+            ensurePlain(len * 3);
+            byte[] b = plain;
+            int p = 0;
+            for (int i = 0; i < len; i++) {
+                char c = msg.charAt(i);
+                if (c < 0x80) {
+                    b[p++] = (byte) c;
+                } else if (c < 0x800) {
+                    b[p++] = (byte) (0xC0 | (c >> 6));
+                    b[p++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    char d = i + 1 < len ? msg.charAt(i + 1) : 0;
+                    if (Character.isHighSurrogate(c) && Character.isLowSurrogate(d)) {
+                        int cp = Character.toCodePoint(c, d);
+                        b[p++] = (byte) (0xF0 | (cp >> 18));
+                        b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        b[p++] = (byte) (0x80 | (cp & 0x3F));
+                        i++;
+                    } else {
+                        b[p++] = '?';
+                    }
+                } else {
+                    b[p++] = (byte) (0xE0 | (c >> 12));
+                    b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    b[p++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return p;
+        }
+
+        private void ensurePlain(int n) {
+            if (plain.length < n) {
+                plain = new byte[n];
+                plainView = ByteBuffer.wrap(plain);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>批量加密/解密结果
+ * <p>所有记录连续存放在一个数组中，第i条记录位于 [offsets[i], offsets[i + 1])。
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AES128Batch {
+
+    private final byte[] data;
+
+    private final int[] offsets;
+
+    AES128Batch(@NotNull byte[] data, @NotNull int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @return 记录数
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return 连续存放的数据（不复制）
+     */
+    @NotNull
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return 偏移索引，长度为记录数 + 1（不复制）
+     */
+    @NotNull
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * @param index 记录序号
+     * @return 记录起始偏移
+     */
+    public int offset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * @param index 记录序号
+     * @return 记录长度
+     */
+    public int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * @param index 记录序号
+     * @return 记录副本
+     */
+    @NotNull
+    public byte[] get(int index) {
+        return Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+    }
+}
@@ -0,0 +1,240 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * <p>AES-128-CTR 计数器模式，与密钥绑定，线程安全
+ * <p>每次调用显式传入16字节的初始计数器块（nonce + counter），计数器按128位大端整数递增，
+ * 与JCE的"AES/CTR/NoPadding"完全一致。
+ * <p>较大的数据按计数器区间切分，在{@link Executor}上并行生成密钥流；
+ * 任意偏移处的解密只需从对应分组开始，无需处理之前的数据。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128Ctr ctr = new AES128Ctr(keyBytes);
+ * byte[] iv = AES128Ctr.newIV();
+ * byte[] secret = ctr.encrypt(iv, msg);
+ * byte[] part = ctr.decrypt(iv, 4096, secret, 4096, 100);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AES128Ctr {
+
+    /**
+     * 算法
+     */
+    public static final String TRANSFORMATION = "AES/CTR/NoPadding";
+
+    /**
+     * 默认并行阈值，小于此长度的数据在调用线程处理
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256 * 1024;
+
+    private static final int BLOCK = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    private final StripedPool<Cipher> ciphers;
+
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    private volatile int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * @param keyBytes 密钥，必须位16位密码
+     */
+    public AES128Ctr(@NotNull byte[] keyBytes) throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        this.key = new SecretKeySpec(keyBytes, AES128Base.ALGORITHM);
+        this.ciphers = new StripedPool<>(() -> ProviderTuner.getCipher(TRANSFORMATION));
+        // 预先校验算法与密钥
+        Cipher cipher = ProviderTuner.getCipher(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(new byte[BLOCK]));
+        ciphers.release(cipher);
+    }
+
+    /**
+     * 生成随机初始计数器块：前8字节随机nonce，后8字节计数器为0
+     *
+     * @return 16字节IV
+     */
+    @NotNull
+    public static byte[] newIV() {
+        byte[] iv = new byte[BLOCK];
+        byte[] nonce = new byte[8];
+        RANDOM.nextBytes(nonce);
+        System.arraycopy(nonce, 0, iv, 0, 8);
+        return iv;
+    }
+
+    /**
+     * 计算第blockIndex个分组对应的计数器块（128位大端加法）
+     *
+     * @param iv         初始计数器块
+     * @param blockIndex 分组序号
+     * @return 计数器块
+     */
+    @NotNull
+    public static byte[] counterBlock(@NotNull byte[] iv, long blockIndex) {
+        if (iv.length != BLOCK)
+            throw new IllegalArgumentException("iv length is 128 bit！");
+        byte[] counter = iv.clone();
+        long carry = blockIndex;
+        for (int i = BLOCK - 1; i >= 0 && carry != 0; i--) {
+            long sum = (counter[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return counter;
+    }
+
+    /**
+     * 设置并行执行器
+     *
+     * @param executor 执行器
+     */
+    public void setExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 设置最大并行度
+     *
+     * @param parallelism 并行度，不小于1
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive!");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 设置并行阈值
+     *
+     * @param parallelThreshold 阈值（字节）
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(parallelThreshold, BLOCK);
+    }
+
+    /**
+     * 加密
+     *
+     * @param iv  初始计数器块
+     * @param msg 明文（任意长度）
+     * @return 密文
+     */
+    @NotNull
+    public byte[] encrypt(@NotNull byte[] iv, @NotNull byte[] msg) throws GeneralSecurityException {
+        byte[] out = new byte[msg.length];
+        process(iv, 0, msg, 0, msg.length, out, 0);
+        return out;
+    }
+
+    /**
+     * 解密
+     *
+     * @param iv  初始计数器块
+     * @param msg 密文
+     * @return 明文
+     */
+    @NotNull
+    public byte[] decrypt(@NotNull byte[] iv, @NotNull byte[] msg) throws GeneralSecurityException {
+        return encrypt(iv, msg);
+    }
+
+    /**
+     * 随机偏移解密，只处理所需的分组
+     *
+     * @param iv           初始计数器块
+     * @param streamOffset 数据在整条密文中的偏移
+     * @param msg          密文缓冲
+     * @param offset       msg中的偏移
+     * @param len          长度
+     * @return 明文
+     */
+    @NotNull
+    public byte[] decrypt(@NotNull byte[] iv, long streamOffset, @NotNull byte[] msg, int offset, int len)
+            throws GeneralSecurityException {
+        byte[] out = new byte[len];
+        process(iv, streamOffset, msg, offset, len, out, 0);
+        return out;
+    }
+
+    /**
+     * <p>加密或解密（CTR模式两者相同），大数据自动并行
+     * <p>in与out可以为同一数组且偏移相同（原地处理）
+     *
+     * @param iv           初始计数器块
+     * @param streamOffset 数据在整条消息中的偏移
+     * @param in           输入
+     * @param inOff        输入偏移
+     * @param len          长度
+     * @param out          输出
+     * @param outOff       输出偏移
+     */
+    public void process(@NotNull byte[] iv, long streamOffset, @NotNull byte[] in, int inOff, int len,
+                        @NotNull byte[] out, int outOff) throws GeneralSecurityException {
+        int threads = Math.min(parallelism, len / parallelThreshold);
+        if (threads <= 1) {
+            processRange(iv, streamOffset, in, inOff, len, out, outOff);
+            return;
+        }
+        // 按分组对齐切分计数器区间
+        int chunk = (len / threads + BLOCK - 1) / BLOCK * BLOCK;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(threads);
+        for (int pos = 0; pos < len; pos += chunk) {
+            final int p = pos;
+            final int n = Math.min(chunk, len - pos);
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    processRange(iv, streamOffset + p, in, inOff + p, n, out, outOff + p);
+                } catch (GeneralSecurityException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GeneralSecurityException)
+                throw (GeneralSecurityException) e.getCause();
+            throw e;
+        }
+    }
+
+    private void processRange(byte[] iv, long streamOffset, byte[] in, int inOff, int len,
+                              byte[] out, int outOff) throws GeneralSecurityException {
+        Cipher cipher = ciphers.borrow();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(counterBlock(iv, streamOffset / BLOCK)));
+        int skip = (int) (streamOffset % BLOCK);
+        if (skip > 0)
+            cipher.update(new byte[skip]);
+        cipher.doFinal(in, inOff, len, out, outOff);
+        ciphers.release(cipher);
+    }
+}
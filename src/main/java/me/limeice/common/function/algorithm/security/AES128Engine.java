@@ -0,0 +1,61 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.InvalidKeyException;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+
+/**
+ * <p>AES-128 加解密引擎，可替换{@link AES128Base}默认的 JCE 实现
+ * <p>引擎只负责byte[]接口的单次加解密，未支持的模式/填充仍由 JCE 处理。
+ * 异常类型与 JCE 保持一致，调用方无需区分实现。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+ * aes.setEngine(new BitslicedAES128());
+ * byte[] secret = aes.encrypt(msg, keyBytes);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+public interface AES128Engine {
+
+    /**
+     * 引擎名称
+     *
+     * @return 名称，如："bitsliced"
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * 是否支持该组合
+     *
+     * @param mode    模式，如{@link AES128Base#CBC}
+     * @param padding 填充方式，如{@link AES128Base#PKCS5Padding}
+     * @return {@code true}支持
+     */
+    boolean isSupported(int mode, int padding);
+
+    /**
+     * 加密或解密整条消息
+     *
+     * @param encrypt  {@code true}加密，{@code false}解密
+     * @param mode     模式，如{@link AES128Base#CBC}
+     * @param padding  填充方式，如{@link AES128Base#PKCS5Padding}
+     * @param keyBytes 密钥，必须位16位密码
+     * @param iv       IV向量（或CTR初始计数器块），不使用时忽略
+     * @param msg      数据
+     * @return 结果
+     * @throws InvalidKeyException       密钥长度错误
+     * @throws IllegalBlockSizeException 数据长度不满足模式/填充要求
+     * @throws BadPaddingException       解密后填充错误
+     */
+    @NotNull
+    byte[] doFinal(boolean encrypt, int mode, int padding, @NotNull byte[] keyBytes, @NotNull byte[] iv,
+                   @NotNull byte[] msg) throws InvalidKeyException, IllegalBlockSizeException, BadPaddingException;
+}
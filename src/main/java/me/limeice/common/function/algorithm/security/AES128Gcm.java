@@ -0,0 +1,338 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * <p>AES-128-GCM 认证加密，与密钥绑定，线程安全
+ * <p>一次处理同时完成加密与完整性校验，可替代"先加密再计算SHA-256"的两遍处理。
+ * 每次调用使用独立的nonce，支持附加认证数据（AAD）与可配置的认证标签长度。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128Gcm gcm = new AES128Gcm(keyBytes);
+ * byte[] sealed = gcm.seal(aad, msg);      // nonce || 密文 || 标签
+ * byte[] plain = gcm.open(aad, sealed);
+ *
+ * AES128Gcm.Operation op = gcm.encryptor(AES128Gcm.newNonce());
+ * op.updateAAD(header);
+ * out.write(op.update(chunk));
+ * out.write(op.doFinal());
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AES128Gcm {
+
+    /**
+     * 算法
+     */
+    public static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    /**
+     * nonce长度（字节）
+     */
+    public static final int NONCE_LENGTH = 12;
+
+    /**
+     * 默认认证标签长度（位）
+     */
+    public static final int DEFAULT_TAG_LENGTH = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    private final int tagLength;
+
+    private final StripedPool<Cipher> ciphers;
+
+    /**
+     * @param keyBytes 密钥，必须位16位密码
+     */
+    public AES128Gcm(@NotNull byte[] keyBytes) throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        this(keyBytes, DEFAULT_TAG_LENGTH);
+    }
+
+    /**
+     * @param keyBytes  密钥，必须位16位密码
+     * @param tagLength 认证标签长度（位），96~128且为8的倍数
+     */
+    public AES128Gcm(@NotNull byte[] keyBytes, int tagLength) throws NoSuchPaddingException,
+            NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+        checkTagLength(tagLength);
+        this.key = new SecretKeySpec(keyBytes, AES128Base.ALGORITHM);
+        this.tagLength = tagLength;
+        this.ciphers = new StripedPool<>(() -> ProviderTuner.getCipher(TRANSFORMATION));
+        // 预先校验算法与密钥
+        Cipher cipher = ProviderTuner.getCipher(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(tagLength, new byte[NONCE_LENGTH]));
+        ciphers.release(cipher);
+    }
+
+    /**
+     * 校验认证标签长度
+     *
+     * @param tagLength 认证标签长度（位）
+     */
+    static void checkTagLength(int tagLength) {
+        if (tagLength < 96 || tagLength > 128 || tagLength % 8 != 0)
+            throw new IllegalArgumentException("tag length must be 96, 104, 112, 120 or 128 bit!");
+    }
+
+    /**
+     * 生成随机nonce，同一密钥下nonce不得重复
+     *
+     * @return 12字节nonce
+     */
+    @NotNull
+    public static byte[] newNonce() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * @return 认证标签长度（位）
+     */
+    public int getTagLength() {
+        return tagLength;
+    }
+
+    /**
+     * 计算{@link #seal(byte[], byte[])}输出长度
+     *
+     * @param inputLen 明文长度
+     * @return 输出长度
+     */
+    public int getSealedSize(int inputLen) {
+        return NONCE_LENGTH + inputLen + tagLength / 8;
+    }
+
+    /**
+     * 加密
+     *
+     * @param nonce nonce
+     * @param aad   附加认证数据，可为null
+     * @param msg   明文
+     * @return 密文 || 认证标签
+     */
+    @NotNull
+    public byte[] encrypt(@NotNull byte[] nonce, @Nullable byte[] aad, @NotNull byte[] msg)
+            throws GeneralSecurityException {
+        Cipher cipher = init(Cipher.ENCRYPT_MODE, nonce);
+        if (aad != null)
+            cipher.updateAAD(aad);
+        byte[] result = cipher.doFinal(msg);
+        ciphers.release(cipher);
+        return result;
+    }
+
+    /**
+     * 解密并校验
+     *
+     * @param nonce nonce
+     * @param aad   附加认证数据，可为null
+     * @param msg   密文 || 认证标签
+     * @return 明文
+     * @throws AEADBadTagException 数据或AAD被篡改
+     */
+    @NotNull
+    public byte[] decrypt(@NotNull byte[] nonce, @Nullable byte[] aad, @NotNull byte[] msg)
+            throws GeneralSecurityException {
+        return decrypt(nonce, aad, msg, 0, msg.length);
+    }
+
+    /**
+     * 使用随机nonce加密
+     *
+     * @param aad 附加认证数据，可为null
+     * @param msg 明文
+     * @return nonce || 密文 || 认证标签
+     */
+    @NotNull
+    public byte[] seal(@Nullable byte[] aad, @NotNull byte[] msg) throws GeneralSecurityException {
+        byte[] nonce = newNonce();
+        Cipher cipher = init(Cipher.ENCRYPT_MODE, nonce);
+        if (aad != null)
+            cipher.updateAAD(aad);
+        byte[] result = new byte[getSealedSize(msg.length)];
+        System.arraycopy(nonce, 0, result, 0, NONCE_LENGTH);
+        cipher.doFinal(msg, 0, msg.length, result, NONCE_LENGTH);
+        ciphers.release(cipher);
+        return result;
+    }
+
+    /**
+     * 解密{@link #seal(byte[], byte[])}的输出
+     *
+     * @param aad    附加认证数据，可为null
+     * @param sealed nonce || 密文 || 认证标签
+     * @return 明文
+     * @throws AEADBadTagException 数据或AAD被篡改
+     */
+    @NotNull
+    public byte[] open(@Nullable byte[] aad, @NotNull byte[] sealed) throws GeneralSecurityException {
+        if (sealed.length < NONCE_LENGTH + tagLength / 8)
+            throw new AEADBadTagException("Input too short");
+        byte[] nonce = new byte[NONCE_LENGTH];
+        System.arraycopy(sealed, 0, nonce, 0, NONCE_LENGTH);
+        return decrypt(nonce, aad, sealed, NONCE_LENGTH, sealed.length - NONCE_LENGTH);
+    }
+
+    /**
+     * 开始增量加密，AAD须在数据之前提交
+     *
+     * @param nonce nonce
+     * @return 增量操作
+     */
+    @NotNull
+    public Operation encryptor(@NotNull byte[] nonce) throws GeneralSecurityException {
+        return new Operation(init(Cipher.ENCRYPT_MODE, nonce));
+    }
+
+    /**
+     * <p>开始增量解密，AAD须在数据之前提交
+     * <p>注意：标签在{@link Operation#doFinal()}时才能校验，JCE实现会缓存密文直到doFinal
+     *
+     * @param nonce nonce
+     * @return 增量操作
+     */
+    @NotNull
+    public Operation decryptor(@NotNull byte[] nonce) throws GeneralSecurityException {
+        return new Operation(init(Cipher.DECRYPT_MODE, nonce));
+    }
+
+    private byte[] decrypt(byte[] nonce, byte[] aad, byte[] msg, int offset, int len)
+            throws GeneralSecurityException {
+        Cipher cipher = init(Cipher.DECRYPT_MODE, nonce);
+        if (aad != null)
+            cipher.updateAAD(aad);
+        byte[] result = cipher.doFinal(msg, offset, len);
+        ciphers.release(cipher);
+        return result;
+    }
+
+    private Cipher init(int opMode, byte[] nonce) throws GeneralSecurityException {
+        if (nonce.length != NONCE_LENGTH)
+            throw new InvalidAlgorithmParameterException("nonce length is 96 bit!");
+        Cipher cipher = ciphers.borrow();
+        cipher.init(opMode, key, new GCMParameterSpec(tagLength, nonce));
+        return cipher;
+    }
+
+    /**
+     * 增量加密/解密操作，非线程安全，必须以{@link #doFinal()}结束
+     */
+    public final class Operation {
+
+        private Cipher cipher;
+
+        private Operation(Cipher cipher) {
+            this.cipher = cipher;
+        }
+
+        /**
+         * 提交附加认证数据
+         *
+         * @param aad AAD
+         */
+        public void updateAAD(@NotNull byte[] aad) {
+            updateAAD(aad, 0, aad.length);
+        }
+
+        /**
+         * 提交附加认证数据
+         *
+         * @param aad    AAD
+         * @param offset 偏移
+         * @param len    长度
+         */
+        public void updateAAD(@NotNull byte[] aad, int offset, int len) {
+            cipher().updateAAD(aad, offset, len);
+        }
+
+        /**
+         * 提交附加认证数据
+         *
+         * @param aad AAD
+         */
+        public void updateAAD(@NotNull ByteBuffer aad) {
+            cipher().updateAAD(aad);
+        }
+
+        /**
+         * 处理数据
+         *
+         * @param data   数据
+         * @param offset 偏移
+         * @param len    长度
+         * @return 输出，可能为空数组
+         */
+        @NotNull
+        public byte[] update(@NotNull byte[] data, int offset, int len) {
+            byte[] out = cipher().update(data, offset, len);
+            return out == null ? new byte[0] : out;
+        }
+
+        /**
+         * 处理数据
+         *
+         * @param data 数据
+         * @return 输出，可能为空数组
+         */
+        @NotNull
+        public byte[] update(@NotNull byte[] data) {
+            return update(data, 0, data.length);
+        }
+
+        /**
+         * 处理数据
+         *
+         * @param src 输入
+         * @param dst 输出
+         * @return 写入dst的字节数
+         */
+        public int update(@NotNull ByteBuffer src, @NotNull ByteBuffer dst) throws ShortBufferException {
+            return cipher().update(src, dst);
+        }
+
+        /**
+         * 结束操作，加密时返回剩余密文与认证标签，解密时校验标签并返回剩余明文
+         *
+         * @return 输出
+         * @throws AEADBadTagException 解密时数据或AAD被篡改
+         */
+        @NotNull
+        public byte[] doFinal() throws GeneralSecurityException {
+            Cipher c = cipher();
+            cipher = null;
+            byte[] out = c.doFinal();
+            ciphers.release(c);
+            return out;
+        }
+
+        private Cipher cipher() {
+            if (cipher == null)
+                throw new IllegalStateException("Operation already finished");
+            return cipher;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+
+/**
+ * <p>AES-128 流式加密/解密输入流
+ * <p>从底层输入流按固定大小分块读取，经{@link Cipher#update}处理后立即可读，
+ * 到达底层流末尾时执行{@link Cipher#doFinal}。内存占用与数据总量无关。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * try (InputStream in = new AES128InputStream(new FileInputStream(file), session)) {
+ *     IOUtils.read(in);
+ * }
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AES128InputStream extends FilterInputStream {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final AES128Session session;
+
+    private final int opMode;
+
+    private Cipher cipher;
+
+    private final byte[] inBuf;
+
+    private final byte[] outBuf;
+
+    private int outPos = 0;
+
+    private int outLimit = 0;
+
+    private boolean eof = false;
+
+    /**
+     * 创建解密输入流
+     *
+     * @param in      密文输入流
+     * @param session 会话
+     */
+    public AES128InputStream(@NotNull InputStream in, @NotNull AES128Session session) {
+        this(in, session, Cipher.DECRYPT_MODE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 创建输入流
+     *
+     * @param in         输入流
+     * @param session    会话
+     * @param opMode     {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @param bufferSize 分块大小
+     */
+    public AES128InputStream(@NotNull InputStream in, @NotNull AES128Session session,
+                             int opMode, int bufferSize) {
+        super(in);
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("bufferSize must be positive!");
+        this.session = session;
+        this.opMode = opMode;
+        this.cipher = session.borrowCipher(opMode);
+        this.inBuf = new byte[bufferSize];
+        this.outBuf = new byte[bufferSize + 32];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (outPos >= outLimit && !fill())
+            return -1;
+        return outBuf[outPos++] & 0xFF;
+    }
+
+    @Override
+    public int read(@NotNull byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (outPos >= outLimit && !fill())
+            return -1;
+        int n = Math.min(len, outLimit - outPos);
+        System.arraycopy(outBuf, outPos, b, off, n);
+        outPos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long remaining = n;
+        while (remaining > 0) {
+            if (outPos >= outLimit && !fill())
+                break;
+            int k = (int) Math.min(remaining, outLimit - outPos);
+            outPos += k;
+            remaining -= k;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() {
+        return outLimit - outPos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        eof = true;
+        outPos = outLimit = 0;
+        in.close();
+    }
+
+    /**
+     * 读取并处理下一块数据
+     *
+     * @return 是否还有数据
+     */
+    private boolean fill() throws IOException {
+        while (!eof) {
+            int len = in.read(inBuf);
+            try {
+                if (len == -1) {
+                    eof = true;
+                    outLimit = cipher.doFinal(outBuf, 0);
+                    session.releaseCipher(opMode, cipher);
+                    cipher = null;
+                } else {
+                    outLimit = cipher.update(inBuf, 0, len, outBuf, 0);
+                }
+            } catch (GeneralSecurityException e) {
+                eof = true;
+                throw new IOException(e.getMessage(), e);
+            }
+            outPos = 0;
+            if (outLimit > 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+
+/**
+ * <p>AES-128 流式加密/解密输出流
+ * <p>写入的数据按固定大小分块经{@link Cipher#update}处理后立即写出，
+ * {@link #close()}时执行{@link Cipher#doFinal}。内存占用与数据总量无关。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * try (OutputStream out = new AES128OutputStream(new FileOutputStream(file), session)) {
+ *     out.write(bytes);
+ * }
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AES128OutputStream extends FilterOutputStream {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final AES128Session session;
+
+    private final int opMode;
+
+    private final int bufferSize;
+
+    private Cipher cipher;
+
+    private final byte[] outBuf;
+
+    private final byte[] single = new byte[1];
+
+    private boolean closed = false;
+
+    /**
+     * 创建加密输出流
+     *
+     * @param out     被写入的输出流
+     * @param session 会话
+     */
+    public AES128OutputStream(@NotNull OutputStream out, @NotNull AES128Session session) {
+        this(out, session, Cipher.ENCRYPT_MODE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 创建输出流
+     *
+     * @param out        被写入的输出流
+     * @param session    会话
+     * @param opMode     {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @param bufferSize 分块大小
+     */
+    public AES128OutputStream(@NotNull OutputStream out, @NotNull AES128Session session,
+                              int opMode, int bufferSize) {
+        super(out);
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("bufferSize must be positive!");
+        this.session = session;
+        this.opMode = opMode;
+        this.bufferSize = bufferSize;
+        this.cipher = session.borrowCipher(opMode);
+        this.outBuf = new byte[bufferSize + 32];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+        while (len > 0) {
+            int n = Math.min(len, bufferSize);
+            try {
+                int outLen = cipher.update(b, off, n, outBuf, 0);
+                if (outLen > 0)
+                    out.write(outBuf, 0, outLen);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 刷新底层输出流，不足一个分组的数据仍保留在Cipher中
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * 执行doFinal并关闭底层输出流
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            int outLen = cipher.doFinal(outBuf, 0);
+            session.releaseCipher(opMode, cipher);
+            cipher = null;
+            if (outLen > 0)
+                out.write(outBuf, 0, outLen);
+            out.flush();
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            out.close();
+        }
+    }
+}
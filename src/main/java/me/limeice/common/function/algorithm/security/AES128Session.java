@@ -0,0 +1,454 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * <p>与密钥绑定的AES-128会话
+ * <p>创建时快照{@link AES128Base}的算法与IV，并缓存已初始化的{@link Cipher}，
+ * 之后每次调用不再查找Provider，也不再重复扩展密钥。线程安全。
+ * 所有消息共用同一IV，因此不支持CTR与GCM，请使用{@link AES128Ctr}与{@link AES128Gcm}。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128Session session = new AES128(AES128.CBC | AES128.PKCS5Padding).newSession(keyBytes);
+ * byte[] secret = session.encrypt(msg);
+ * byte[] plain = session.decrypt(secret);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AES128Session {
+
+    /* 算法 */
+    private final String algorithm;
+
+    /* 填充方式 */
+    private final int padding;
+
+    /* 密钥 */
+    private final SecretKeySpec key;
+
+    /* IV向量，不需要时为null */
+    @Nullable
+    private final IvParameterSpec ivSpec;
+
+    /* 并行批处理时每个分片的最少记录数与字节数 */
+    private static final int BATCH_MIN_RECORDS = 1024;
+
+    private static final int BATCH_MIN_BYTES = 64 * 1024;
+
+    private final StripedPool<Cipher> encryptors;
+
+    private final StripedPool<Cipher> decryptors;
+
+    /**
+     * 创建会话
+     *
+     * @param config   算法配置
+     * @param keyBytes 密钥，必须位16位密码
+     */
+    public AES128Session(@NotNull AES128Base config, @NotNull byte[] keyBytes)
+            throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        if (config.getMode() == AES128Base.GCM)
+            throw new InvalidAlgorithmParameterException("GCM requires a nonce per call, use AES128Gcm");
+        // 会话内所有消息共用同一IV，CTR下即复用密钥流
+        if (config.getMode() == AES128Base.CTR)
+            throw new InvalidAlgorithmParameterException("CTR requires a counter per message, use AES128Ctr");
+        this.algorithm = config.getAlgorithm();
+        this.padding = config.getPadding();
+        this.key = new SecretKeySpec(keyBytes, AES128Base.ALGORITHM);
+        this.ivSpec = config.isUseIV() ? new IvParameterSpec(config.getIV()) : null;
+        this.encryptors = new StripedPool<>(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptors = new StripedPool<>(() -> newCipher(Cipher.DECRYPT_MODE));
+        // 预先创建，尽早暴露配置错误
+        encryptors.release(newCipher(Cipher.ENCRYPT_MODE));
+        decryptors.release(newCipher(Cipher.DECRYPT_MODE));
+    }
+
+    /**
+     * 获取算法描述
+     *
+     * @return 算法描述
+     */
+    @NotNull
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 使用AES-128算法对数据进行加密
+     *
+     * @param msg 加密数据，如果NoPadding，加密数据长度必须为16的倍数！
+     * @return 得到密文
+     */
+    @NotNull
+    public byte[] encrypt(@NotNull byte[] msg) throws BadPaddingException, IllegalBlockSizeException {
+        return doFinal(encryptors, msg, 0, msg.length);
+    }
+
+    /**
+     * 使用AES-128算法对数据进行加密
+     *
+     * @param msg    加密数据
+     * @param offset 偏移量
+     * @param len    长度，如果NoPadding，长度必须为16的倍数！
+     * @return 得到密文
+     */
+    @NotNull
+    public byte[] encrypt(@NotNull byte[] msg, int offset, int len)
+            throws BadPaddingException, IllegalBlockSizeException {
+        return doFinal(encryptors, msg, offset, len);
+    }
+
+    /**
+     * 使用AES-128算法对数据进行解密
+     *
+     * @param msg 需要解密的数据，数据长度必须为16的倍数！
+     * @return 得到明文
+     */
+    @NotNull
+    public byte[] decrypt(@NotNull byte[] msg) throws BadPaddingException, IllegalBlockSizeException {
+        return doFinal(decryptors, msg, 0, msg.length);
+    }
+
+    /**
+     * 使用AES-128算法对数据进行解密
+     *
+     * @param msg    需要解密的数据
+     * @param offset 偏移量
+     * @param len    长度，必须为16的倍数！
+     * @return 得到明文
+     */
+    @NotNull
+    public byte[] decrypt(@NotNull byte[] msg, int offset, int len)
+            throws BadPaddingException, IllegalBlockSizeException {
+        return doFinal(decryptors, msg, offset, len);
+    }
+
+    /**
+     * 计算加密输出长度，便于调用方预先分配或复用输出缓冲区
+     *
+     * @param inputLen 明文长度
+     * @return 密文长度
+     */
+    public int getEncryptOutputSize(int inputLen) {
+        return AES128Base.outputSize(padding, inputLen, true);
+    }
+
+    /**
+     * 计算解密输出长度上限
+     *
+     * @param inputLen 密文长度
+     * @return 明文长度上限
+     */
+    public int getDecryptOutputSize(int inputLen) {
+        return AES128Base.outputSize(padding, inputLen, false);
+    }
+
+    /**
+     * 使用AES-128算法对数据进行加密，读取src剩余数据写入dst，不分配新的密文数组
+     *
+     * @param src 加密数据，如果NoPadding，加密数据长度必须为16的倍数！
+     * @param dst 输出缓冲区，剩余空间不少于{@link #getEncryptOutputSize(int)}，不能与src为同一对象
+     * @return 写入dst的字节数
+     */
+    public int encrypt(@NotNull ByteBuffer src, @NotNull ByteBuffer dst)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        return doFinal(encryptors, src, dst);
+    }
+
+    /**
+     * 使用AES-128算法对数据进行解密，读取src剩余数据写入dst，不分配新的明文数组
+     *
+     * @param src 需要解密的数据，数据长度必须为16的倍数！
+     * @param dst 输出缓冲区，剩余空间不少于{@link #getDecryptOutputSize(int)}，不能与src为同一对象
+     * @return 写入dst的字节数
+     */
+    public int decrypt(@NotNull ByteBuffer src, @NotNull ByteBuffer dst)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        return doFinal(decryptors, src, dst);
+    }
+
+    /**
+     * <p>原地加密buf中position到limit之间的数据
+     * <p>完成后position不变，limit指向密文末尾。有填充时密文更长，buf容量必须足够。
+     *
+     * @param buf 数据缓冲区
+     * @return 密文长度
+     */
+    public int encryptInPlace(@NotNull ByteBuffer buf)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        return inPlace(encryptors, buf);
+    }
+
+    /**
+     * <p>原地解密buf中position到limit之间的数据
+     * <p>完成后position不变，limit指向明文末尾。
+     *
+     * @param buf 数据缓冲区
+     * @return 明文长度
+     */
+    public int decryptInPlace(@NotNull ByteBuffer buf)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        return inPlace(decryptors, buf);
+    }
+
+    /**
+     * 批量加密，所有记录共享一次初始化，结果写入一个连续数组
+     *
+     * @param msgs     明文记录
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch encryptBatch(@NotNull byte[][] msgs, boolean parallel)
+            throws BadPaddingException, IllegalBlockSizeException {
+        int[] offsets = new int[msgs.length + 1];
+        for (int i = 0; i < msgs.length; i++)
+            offsets[i + 1] = offsets[i] + msgs[i].length;
+        return batch(Cipher.ENCRYPT_MODE, msgs, null, offsets, parallel);
+    }
+
+    /**
+     * 批量加密，输入为连续数组加偏移索引
+     *
+     * @param data     连续存放的明文
+     * @param offsets  偏移索引，第i条记录位于 [offsets[i], offsets[i + 1])
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch encryptBatch(@NotNull byte[] data, @NotNull int[] offsets, boolean parallel)
+            throws BadPaddingException, IllegalBlockSizeException {
+        return batch(Cipher.ENCRYPT_MODE, null, data, offsets, parallel);
+    }
+
+    /**
+     * 批量解密，所有记录共享一次初始化，结果写入一个连续数组
+     *
+     * @param msgs     密文记录
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch decryptBatch(@NotNull byte[][] msgs, boolean parallel)
+            throws BadPaddingException, IllegalBlockSizeException {
+        int[] offsets = new int[msgs.length + 1];
+        for (int i = 0; i < msgs.length; i++)
+            offsets[i + 1] = offsets[i] + msgs[i].length;
+        return batch(Cipher.DECRYPT_MODE, msgs, null, offsets, parallel);
+    }
+
+    /**
+     * 批量解密，输入为连续数组加偏移索引
+     *
+     * @param data     连续存放的密文
+     * @param offsets  偏移索引，第i条记录位于 [offsets[i], offsets[i + 1])
+     * @param parallel 是否在多核上并行处理较大的批次
+     * @return 批量结果
+     */
+    @NotNull
+    public AES128Batch decryptBatch(@NotNull byte[] data, @NotNull int[] offsets, boolean parallel)
+            throws BadPaddingException, IllegalBlockSizeException {
+        return batch(Cipher.DECRYPT_MODE, null, data, offsets, parallel);
+    }
+
+    /**
+     * 借出已初始化的Cipher，使用完毕后必须通过{@link #releaseCipher(int, Cipher)}归还
+     *
+     * @param opMode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @return Cipher
+     */
+    @NotNull
+    Cipher borrowCipher(int opMode) {
+        return pool(opMode).borrow();
+    }
+
+    /**
+     * 归还Cipher，调用方须保证Cipher已完成doFinal（回到初始化状态）
+     *
+     * @param opMode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     * @param cipher Cipher
+     */
+    void releaseCipher(int opMode, @NotNull Cipher cipher) {
+        pool(opMode).release(cipher);
+    }
+
+    private CryptoMetrics.Operation operation(StripedPool<Cipher> pool) {
+        return pool == encryptors ? CryptoMetrics.Operation.ENCRYPT : CryptoMetrics.Operation.DECRYPT;
+    }
+
+    private StripedPool<Cipher> pool(int opMode) {
+        return opMode == Cipher.ENCRYPT_MODE ? encryptors : decryptors;
+    }
+
+    private byte[] doFinal(StripedPool<Cipher> pool, byte[] msg, int offset, int len)
+            throws BadPaddingException, IllegalBlockSizeException {
+        if (!CryptoMetrics.isEnabled())
+            return doFinal0(pool, msg, offset, len);
+        long start = System.nanoTime();
+        byte[] result;
+        try {
+            result = doFinal0(pool, msg, offset, len);
+        } catch (Throwable e) {
+            CryptoMetrics.record(operation(pool), algorithm, len, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(operation(pool), algorithm, len, start, null);
+        return result;
+    }
+
+    private byte[] doFinal0(StripedPool<Cipher> pool, byte[] msg, int offset, int len)
+            throws BadPaddingException, IllegalBlockSizeException {
+        Cipher cipher = pool.borrow();
+        byte[] result = cipher.doFinal(msg, offset, len);
+        // doFinal 成功后Cipher回到初始化状态，可以复用；失败则丢弃
+        pool.release(cipher);
+        return result;
+    }
+
+    /* msgs不为null时按记录数组输入，否则为连续数组data加offsets */
+    private AES128Batch batch(int opMode, byte[][] msgs, byte[] data, int[] offsets, boolean parallel)
+            throws BadPaddingException, IllegalBlockSizeException {
+        final int count = offsets.length - 1;
+        // 输出位置：加密时为精确位置；解密时每条记录先写入不超过其输入长度的区域，最后压缩
+        final int[] outOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int len = offsets[i + 1] - offsets[i];
+            outOffsets[i + 1] = outOffsets[i] + (opMode == Cipher.ENCRYPT_MODE
+                    ? getEncryptOutputSize(len) : getDecryptOutputSize(len));
+        }
+        final byte[] out = new byte[outOffsets[count]];
+        final int[] lengths = new int[count];
+        int chunks = parallel ? Math.min(Runtime.getRuntime().availableProcessors(),
+                Math.max(1, Math.min(count / BATCH_MIN_RECORDS, out.length / BATCH_MIN_BYTES))) : 1;
+        if (chunks <= 1) {
+            batchRange(opMode, msgs, data, offsets, outOffsets, out, lengths, 0, count);
+        } else {
+            int step = (count + chunks - 1) / chunks;
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+            for (int from = 0; from < count; from += step) {
+                final int f = from;
+                final int t = Math.min(count, from + step);
+                tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                    batchRange(opMode, msgs, data, offsets, outOffsets, out, lengths, f, t);
+                    return null;
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof BadPaddingException)
+                        throw (BadPaddingException) cause;
+                    if (cause instanceof IllegalBlockSizeException)
+                        throw (IllegalBlockSizeException) cause;
+                    throw new RuntimeException(cause);
+                }
+            }
+        }
+        if (opMode == Cipher.ENCRYPT_MODE)
+            return new AES128Batch(out, outOffsets);
+        // 解密：压缩为紧凑布局
+        int[] resultOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            resultOffsets[i + 1] = resultOffsets[i] + lengths[i];
+            if (resultOffsets[i] != outOffsets[i])
+                System.arraycopy(out, outOffsets[i], out, resultOffsets[i], lengths[i]);
+        }
+        return new AES128Batch(resultOffsets[count] == out.length
+                ? out : Arrays.copyOf(out, resultOffsets[count]), resultOffsets);
+    }
+
+    private void batchRange(int opMode, byte[][] msgs, byte[] data, int[] offsets, int[] outOffsets,
+                            byte[] out, int[] lengths, int from, int to)
+            throws BadPaddingException, IllegalBlockSizeException {
+        StripedPool<Cipher> pool = pool(opMode);
+        Cipher cipher = pool.borrow();
+        try {
+            for (int i = from; i < to; i++) {
+                int len = offsets[i + 1] - offsets[i];
+                lengths[i] = msgs != null
+                        ? cipher.doFinal(msgs[i], 0, len, out, outOffsets[i])
+                        : cipher.doFinal(data, offsets[i], len, out, outOffsets[i]);
+            }
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        pool.release(cipher);
+    }
+
+    private int doFinal(StripedPool<Cipher> pool, ByteBuffer src, ByteBuffer dst)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        if (!CryptoMetrics.isEnabled())
+            return doFinal0(pool, src, dst);
+        long start = System.nanoTime();
+        int len = src.remaining();
+        int n;
+        try {
+            n = doFinal0(pool, src, dst);
+        } catch (Throwable e) {
+            CryptoMetrics.record(operation(pool), algorithm, len, start, e);
+            throw e;
+        }
+        CryptoMetrics.record(operation(pool), algorithm, len, start, null);
+        return n;
+    }
+
+    private int doFinal0(StripedPool<Cipher> pool, ByteBuffer src, ByteBuffer dst)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        Cipher cipher = pool.borrow();
+        int len = cipher.doFinal(src, dst);
+        pool.release(cipher);
+        return len;
+    }
+
+    private int inPlace(StripedPool<Cipher> pool, ByteBuffer buf)
+            throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+        int start = buf.position();
+        // Cipher 不接受同一个ByteBuffer对象，使用共享存储的副本作为输出
+        ByteBuffer out = buf.duplicate();
+        out.limit(buf.capacity());
+        int len = doFinal(pool, buf, out);
+        buf.limit(start + len);
+        buf.position(start);
+        return len;
+    }
+
+    private Cipher newCipher(int opMode) throws NoSuchPaddingException, NoSuchAlgorithmException,
+            InvalidKeyException, InvalidAlgorithmParameterException {
+        Cipher cipher = ProviderTuner.getCipher(algorithm);
+        if (ivSpec == null)
+            cipher.init(opMode, key);
+        else
+            cipher.init(opMode, key, ivSpec);
+        return cipher;
+    }
+}
@@ -0,0 +1,286 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>异步加解密与摘要服务，返回{@link CompletableFuture}
+ * <p>任务在有界线程池上执行：线程数与等待队列长度固定，队列满时按{@link RejectionPolicy}处理，
+ * 为调用方（如异步HTTP的事件循环）提供背压。不超过内联阈值的小数据直接在调用线程上计算，
+ * 避免线程切换的开销超过计算本身。JDK 21+ 上工作线程为虚拟线程，更早的JDK使用守护平台线程。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AsyncCrypto async = new AsyncCrypto(4, 1000, AsyncCrypto.RejectionPolicy.ABORT);
+ * async.encrypt(session, body)
+ *      .thenAccept(secret -> response.send(secret));
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AsyncCrypto implements AutoCloseable {
+
+    /**
+     * 默认内联阈值（字节）
+     */
+    public static final int DEFAULT_INLINE_THRESHOLD = 1024;
+
+    /**
+     * 队列已满时的处理方式
+     */
+    public enum RejectionPolicy {
+        /**
+         * 返回以{@link RejectedExecutionException}失败的Future
+         */
+        ABORT,
+        /**
+         * 在调用线程上直接执行
+         */
+        CALLER_RUNS
+    }
+
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreadFactory();
+
+    private final ThreadPoolExecutor executor;
+
+    private final RejectionPolicy policy;
+
+    private volatile int inlineThreshold = DEFAULT_INLINE_THRESHOLD;
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder inlined = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param threads       工作线程数
+     * @param queueCapacity 等待队列长度
+     * @param policy        队列已满时的处理方式
+     */
+    public AsyncCrypto(int threads, int queueCapacity, @NotNull RejectionPolicy policy) {
+        if (threads < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException("threads and queueCapacity must be positive!");
+        this.policy = policy;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                VIRTUAL_THREADS != null ? VIRTUAL_THREADS : new DaemonThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return 当前JDK是否支持虚拟线程（工作线程是否为虚拟线程）
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * 设置内联阈值，不超过该长度的数据在调用线程上直接计算
+     *
+     * @param inlineThreshold 阈值（字节），0表示总是提交到线程池
+     */
+    public void setInlineThreshold(int inlineThreshold) {
+        this.inlineThreshold = Math.max(inlineThreshold, 0);
+    }
+
+    /**
+     * 异步加密
+     *
+     * @param session 会话
+     * @param msg     明文
+     * @return 密文
+     */
+    @NotNull
+    public CompletableFuture<byte[]> encrypt(@NotNull AES128Session session, @NotNull byte[] msg) {
+        return submit(msg.length, () -> session.encrypt(msg));
+    }
+
+    /**
+     * 异步解密
+     *
+     * @param session 会话
+     * @param msg     密文
+     * @return 明文
+     */
+    @NotNull
+    public CompletableFuture<byte[]> decrypt(@NotNull AES128Session session, @NotNull byte[] msg) {
+        return submit(msg.length, () -> session.decrypt(msg));
+    }
+
+    /**
+     * 异步加密
+     *
+     * @param aes      算法配置
+     * @param msg      明文
+     * @param keyBytes 密钥，必须位16位密码
+     * @return 密文
+     */
+    @NotNull
+    public CompletableFuture<byte[]> encrypt(@NotNull AES128Base aes, @NotNull byte[] msg, @NotNull byte[] keyBytes) {
+        return submit(msg.length, () -> aes.encrypt(msg, keyBytes));
+    }
+
+    /**
+     * 异步解密
+     *
+     * @param aes      算法配置
+     * @param msg      密文
+     * @param keyBytes 密钥，必须位16位密码
+     * @return 明文
+     */
+    @NotNull
+    public CompletableFuture<byte[]> decrypt(@NotNull AES128Base aes, @NotNull byte[] msg, @NotNull byte[] keyBytes) {
+        return submit(msg.length, () -> aes.decrypt(msg, keyBytes));
+    }
+
+    /**
+     * 异步计算摘要
+     *
+     * @param algorithm 算法，如："SHA-256"
+     * @param msg       数据
+     * @return 摘要
+     */
+    @NotNull
+    public CompletableFuture<byte[]> hash(@NotNull String algorithm, @NotNull byte[] msg) {
+        return submit(msg.length, () -> Hash.encode(algorithm, msg));
+    }
+
+    /**
+     * 提交任意任务
+     *
+     * @param size 数据长度，用于判断是否内联执行
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 结果
+     */
+    @NotNull
+    public <T> CompletableFuture<T> submit(int size, @NotNull Callable<T> task) {
+        if (size <= inlineThreshold) {
+            inlined.increment();
+            return call(task);
+        }
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                waitTime.record(System.nanoTime() - queued);
+                complete(future, task);
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (policy == RejectionPolicy.CALLER_RUNS && !executor.isShutdown())
+                return call(task);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return 等待执行的任务数
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return 提交到线程池的任务数
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return 内联执行的任务数（不含CALLER_RUNS）
+     */
+    public long getInlineCount() {
+        return inlined.sum();
+    }
+
+    /**
+     * @return 队列已满被拒绝的次数（含CALLER_RUNS改为内联执行的）
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return 任务在队列中的等待时间分布（纳秒）
+     */
+    @NotNull
+    public LatencyHistogram.Snapshot getWaitTime() {
+        return waitTime.snapshot();
+    }
+
+    /**
+     * 停止接收新任务，已提交的任务继续执行
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static <T> CompletableFuture<T> call(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        complete(future, task);
+        return future;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Callable<T> task) {
+        try {
+            future.complete(task.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /* JDK 21+：Thread.ofVirtual().name("AsyncCrypto-", 0).factory()，通过反射调用以保持Java 8兼容 */
+    @Nullable
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Class<?> type = Class.forName("java.lang.Thread$Builder");
+            builder = type.getMethod("name", String.class, long.class).invoke(builder, "AsyncCrypto-", 0L);
+            return (ThreadFactory) type.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable r) {
+            Thread thread = new Thread(r, "AsyncCrypto-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,628 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.InvalidKeyException;
+import java.util.Arrays;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+
+import me.limeice.common.function.BytesUtils;
+
+/**
+ * <p>纯 Java 的常量时间 AES-128 引擎，支持 ECB/CBC（NoPadding、PKCS5Padding）与 CTR（NoPadding）
+ * <p>采用位切片（bitsliced）实现：4 个分组按位分布到 8 个 long 中，S 盒由布尔电路
+ * （Boyar–Peralta）计算，整个过程没有查表和依赖数据的分支，执行时间与密钥、数据无关。
+ * 算法结构参考 BearSSL 的 aes_ct64。
+ * <p>不依赖 JCE Provider，省去{@link javax.crypto.Cipher#getInstance(String)}与初始化的开销，
+ * 适合 16~64 字节的小消息或 Provider 较慢/受限的运行环境；大数据量时 JCE（AES-NI）更快。
+ * 最近一次使用的密钥扩展结果会被缓存，同一密钥的连续调用不再重复计算。
+ * <p>输出与 JCE 完全一致，异常类型也相同。
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class BitslicedAES128 implements AES128Engine {
+
+    private static final int ROUNDS = 10;
+
+    private static final int BLOCK = 16;
+
+    private static final int[] RCON = {0x01, 0x02, 0x04, 0x08, 0x10, 0x20, 0x40, 0x80, 0x1B, 0x36};
+
+    /* 最近使用的密钥扩展结果 */
+    private volatile Schedule last;
+
+    private static final class Schedule {
+        final byte[] key;
+        final long[] skey;
+
+        Schedule(byte[] key, long[] skey) {
+            this.key = key;
+            this.skey = skey;
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "bitsliced";
+    }
+
+    @Override
+    public boolean isSupported(int mode, int padding) {
+        if (mode == AES128Base.ECB || mode == AES128Base.CBC)
+            return padding == AES128Base.NoPadding || padding == AES128Base.PKCS5Padding;
+        return mode == AES128Base.CTR && padding == AES128Base.NoPadding;
+    }
+
+    @NotNull
+    @Override
+    public byte[] doFinal(boolean encrypt, int mode, int padding, @NotNull byte[] keyBytes, @NotNull byte[] iv,
+                          @NotNull byte[] msg)
+            throws InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        if (!isSupported(mode, padding))
+            throw new UnsupportedOperationException("Unsupported mode or padding: " + mode + ", " + padding);
+        long[] skey = schedule(keyBytes);
+        if (mode == AES128Base.CTR)
+            return ctr(skey, iv, msg);
+        boolean cbc = mode == AES128Base.CBC;
+        return encrypt ? encrypt(skey, cbc, padding, iv, msg) : decrypt(skey, cbc, padding, iv, msg);
+    }
+
+    /**
+     * 加密单个分组，用于验证或自行组合模式
+     *
+     * @param keyBytes 密钥，必须位16位密码
+     * @param in       输入
+     * @param inOff    输入偏移
+     * @param out      输出，可以与in相同
+     * @param outOff   输出偏移
+     * @throws InvalidKeyException 密钥长度错误
+     */
+    public void encryptBlock(@NotNull byte[] keyBytes, @NotNull byte[] in, int inOff, @NotNull byte[] out, int outOff)
+            throws InvalidKeyException {
+        long[] q = new long[8];
+        int[] w = new int[16];
+        load(w, in, inOff, 1);
+        encryptBlocks(schedule(keyBytes), q, w);
+        store(w, out, outOff, 1);
+    }
+
+    private long[] schedule(byte[] keyBytes) throws InvalidKeyException {
+        if (keyBytes.length != BLOCK)
+            throw new InvalidKeyException("Invalid AES key length: " + keyBytes.length + " bytes");
+        Schedule s = last;
+        if (s != null && BytesUtils.constantTimeEquals(s.key, keyBytes))
+            return s.skey;
+        long[] skey = expandKey(keyBytes);
+        last = new Schedule(keyBytes.clone(), skey);
+        return skey;
+    }
+
+    private static byte[] encrypt(long[] skey, boolean cbc, int padding, byte[] iv, byte[] msg)
+            throws IllegalBlockSizeException {
+        int len = msg.length;
+        if (padding == AES128Base.NoPadding && (len & 15) != 0)
+            throw new IllegalBlockSizeException("Input length not multiple of 16 bytes");
+        int outLen = AES128Base.outputSize(padding, len, true);
+        byte[] out = Arrays.copyOf(msg, outLen);
+        Arrays.fill(out, len, outLen, (byte) (outLen - len));
+        long[] q = new long[8];
+        int[] w = new int[16];
+        int blocks = outLen / BLOCK;
+        if (!cbc) {
+            for (int i = 0; i < blocks; i += 4) {
+                int n = Math.min(4, blocks - i);
+                load(w, out, i * BLOCK, n);
+                encryptBlocks(skey, q, w);
+                store(w, out, i * BLOCK, n);
+            }
+            return out;
+        }
+        // CBC 加密前后分组相互依赖，每次只处理一个分组
+        for (int i = 0; i < blocks; i++) {
+            int off = i * BLOCK;
+            if (i == 0)
+                BytesUtils.xor(out, 0, iv, 0, out, 0, BLOCK);
+            else
+                BytesUtils.xor(out, off, out, off - BLOCK, out, off, BLOCK);
+            load(w, out, off, 1);
+            encryptBlocks(skey, q, w);
+            store(w, out, off, 1);
+        }
+        return out;
+    }
+
+    private static byte[] decrypt(long[] skey, boolean cbc, int padding, byte[] iv, byte[] msg)
+            throws IllegalBlockSizeException, BadPaddingException {
+        int len = msg.length;
+        if ((len & 15) != 0) {
+            throw new IllegalBlockSizeException(padding == AES128Base.NoPadding
+                    ? "Input length not multiple of 16 bytes"
+                    : "Input length must be multiple of 16 when decrypting with padded cipher");
+        }
+        byte[] out = msg.clone();
+        long[] q = new long[8];
+        int[] w = new int[16];
+        int blocks = len / BLOCK;
+        for (int i = 0; i < blocks; i += 4) {
+            int n = Math.min(4, blocks - i);
+            load(w, out, i * BLOCK, n);
+            decryptBlocks(skey, q, w);
+            store(w, out, i * BLOCK, n);
+        }
+        if (cbc && blocks > 0) {
+            BytesUtils.xor(out, 0, iv, 0, out, 0, BLOCK);
+            BytesUtils.xor(out, BLOCK, msg, 0, out, BLOCK, len - BLOCK);
+        }
+        if (padding == AES128Base.NoPadding || len == 0)
+            return out;
+        return Arrays.copyOf(out, len - unpad(out));
+    }
+
+    /* 常量时间检查PKCS5填充，返回填充长度 */
+    private static int unpad(byte[] out) throws BadPaddingException {
+        int len = out.length;
+        int p = out[len - 1] & 0xFF;
+        int bad = ((p - 1) | (BLOCK - p)) >> 31;
+        for (int i = 0; i < BLOCK; i++) {
+            int inPad = (i - p) >> 31;
+            bad |= inPad & ((out[len - 1 - i] & 0xFF) ^ p);
+        }
+        if (bad != 0)
+            throw new BadPaddingException("Given final block not properly padded");
+        return p;
+    }
+
+    /* CTR：计数器块按128位大端整数递增，与 JCE 一致 */
+    private static byte[] ctr(long[] skey, byte[] iv, byte[] msg) {
+        int len = msg.length;
+        byte[] out = new byte[len];
+        byte[] stream = new byte[4 * BLOCK];
+        byte[] counter = iv.clone();
+        long[] q = new long[8];
+        int[] w = new int[16];
+        for (int off = 0; off < len; off += stream.length) {
+            int n = Math.min(len - off, stream.length);
+            int blocks = (n + BLOCK - 1) / BLOCK;
+            for (int i = 0; i < blocks; i++) {
+                System.arraycopy(counter, 0, stream, i * BLOCK, BLOCK);
+                increment(counter);
+            }
+            load(w, stream, 0, blocks);
+            encryptBlocks(skey, q, w);
+            store(w, stream, 0, blocks);
+            BytesUtils.xor(msg, off, stream, 0, out, off, n);
+        }
+        return out;
+    }
+
+    private static void increment(byte[] counter) {
+        int carry = 1;
+        for (int i = BLOCK - 1; i >= 0; i--) {
+            int sum = (counter[i] & 0xFF) + carry;
+            counter[i] = (byte) sum;
+            carry = sum >>> 8;
+        }
+    }
+
+    /* n（1~4）个分组按小端读入w，不足4个时其余补0 */
+    private static void load(int[] w, byte[] src, int off, int n) {
+        Arrays.fill(w, 0);
+        for (int i = 0; i < n << 2; i++, off += 4) {
+            w[i] = (src[off] & 0xFF) | (src[off + 1] & 0xFF) << 8
+                    | (src[off + 2] & 0xFF) << 16 | (src[off + 3] & 0xFF) << 24;
+        }
+    }
+
+    private static void store(int[] w, byte[] dst, int off, int n) {
+        for (int i = 0; i < n << 2; i++, off += 4) {
+            int v = w[i];
+            dst[off] = (byte) v;
+            dst[off + 1] = (byte) (v >>> 8);
+            dst[off + 2] = (byte) (v >>> 16);
+            dst[off + 3] = (byte) (v >>> 24);
+        }
+    }
+
+    private static void encryptBlocks(long[] skey, long[] q, int[] w) {
+        for (int i = 0; i < 4; i++)
+            interleaveIn(q, i, w, i << 2);
+        ortho(q);
+        addRoundKey(q, skey, 0);
+        for (int u = 1; u < ROUNDS; u++) {
+            sbox(q);
+            shiftRows(q);
+            mixColumns(q);
+            addRoundKey(q, skey, u << 3);
+        }
+        sbox(q);
+        shiftRows(q);
+        addRoundKey(q, skey, ROUNDS << 3);
+        ortho(q);
+        for (int i = 0; i < 4; i++)
+            interleaveOut(w, i << 2, q[i], q[i + 4]);
+    }
+
+    private static void decryptBlocks(long[] skey, long[] q, int[] w) {
+        for (int i = 0; i < 4; i++)
+            interleaveIn(q, i, w, i << 2);
+        ortho(q);
+        addRoundKey(q, skey, ROUNDS << 3);
+        for (int u = ROUNDS - 1; u > 0; u--) {
+            invShiftRows(q);
+            invSbox(q);
+            addRoundKey(q, skey, u << 3);
+            invMixColumns(q);
+        }
+        invShiftRows(q);
+        invSbox(q);
+        addRoundKey(q, skey, 0);
+        ortho(q);
+        for (int i = 0; i < 4; i++)
+            interleaveOut(w, i << 2, q[i], q[i + 4]);
+    }
+
+    /* 密钥扩展，结果为每轮8个long的位切片轮密钥 */
+    private static long[] expandKey(byte[] key) {
+        int nk = 4;
+        int nkf = (ROUNDS + 1) << 2;
+        int[] sk = new int[nkf];
+        load(sk, key, 0, 1);
+        int tmp = sk[nk - 1];
+        for (int i = nk, j = 0, k = 0; i < nkf; i++) {
+            if (j == 0) {
+                tmp = (tmp << 24) | (tmp >>> 8);
+                tmp = subWord(tmp) ^ RCON[k];
+            }
+            tmp ^= sk[i - nk];
+            sk[i] = tmp;
+            if (++j == nk) {
+                j = 0;
+                k++;
+            }
+        }
+        long[] skey = new long[(ROUNDS + 1) << 3];
+        long[] q = new long[8];
+        for (int i = 0, v = 0; i < nkf; i += 4, v += 8) {
+            interleaveIn(q, 0, sk, i);
+            q[1] = q[0];
+            q[2] = q[0];
+            q[3] = q[0];
+            q[5] = q[4];
+            q[6] = q[4];
+            q[7] = q[4];
+            ortho(q);
+            long c0 = (q[0] & 0x1111111111111111L) | (q[1] & 0x2222222222222222L)
+                    | (q[2] & 0x4444444444444444L) | (q[3] & 0x8888888888888888L);
+            long c1 = (q[4] & 0x1111111111111111L) | (q[5] & 0x2222222222222222L)
+                    | (q[6] & 0x4444444444444444L) | (q[7] & 0x8888888888888888L);
+            expand(skey, v, c0);
+            expand(skey, v + 4, c1);
+        }
+        Arrays.fill(sk, 0);
+        return skey;
+    }
+
+    private static void expand(long[] skey, int v, long c) {
+        long x0 = c & 0x1111111111111111L;
+        long x1 = (c & 0x2222222222222222L) >>> 1;
+        long x2 = (c & 0x4444444444444444L) >>> 2;
+        long x3 = (c & 0x8888888888888888L) >>> 3;
+        skey[v] = (x0 << 4) - x0;
+        skey[v + 1] = (x1 << 4) - x1;
+        skey[v + 2] = (x2 << 4) - x2;
+        skey[v + 3] = (x3 << 4) - x3;
+    }
+
+    private static int subWord(int x) {
+        long[] q = new long[8];
+        q[0] = x & 0xFFFFFFFFL;
+        ortho(q);
+        sbox(q);
+        ortho(q);
+        return (int) q[0];
+    }
+
+    private static void addRoundKey(long[] q, long[] skey, int off) {
+        for (int i = 0; i < 8; i++)
+            q[i] ^= skey[off + i];
+    }
+
+    /* w[off..off+3] 交织到 q[i] 与 q[i + 4] */
+    private static void interleaveIn(long[] q, int i, int[] w, int off) {
+        long x0 = w[off] & 0xFFFFFFFFL;
+        long x1 = w[off + 1] & 0xFFFFFFFFL;
+        long x2 = w[off + 2] & 0xFFFFFFFFL;
+        long x3 = w[off + 3] & 0xFFFFFFFFL;
+        x0 |= x0 << 16;
+        x1 |= x1 << 16;
+        x2 |= x2 << 16;
+        x3 |= x3 << 16;
+        x0 &= 0x0000FFFF0000FFFFL;
+        x1 &= 0x0000FFFF0000FFFFL;
+        x2 &= 0x0000FFFF0000FFFFL;
+        x3 &= 0x0000FFFF0000FFFFL;
+        x0 |= x0 << 8;
+        x1 |= x1 << 8;
+        x2 |= x2 << 8;
+        x3 |= x3 << 8;
+        x0 &= 0x00FF00FF00FF00FFL;
+        x1 &= 0x00FF00FF00FF00FFL;
+        x2 &= 0x00FF00FF00FF00FFL;
+        x3 &= 0x00FF00FF00FF00FFL;
+        q[i] = x0 | (x2 << 8);
+        q[i + 4] = x1 | (x3 << 8);
+    }
+
+    private static void interleaveOut(int[] w, int off, long q0, long q1) {
+        long x0 = q0 & 0x00FF00FF00FF00FFL;
+        long x1 = q1 & 0x00FF00FF00FF00FFL;
+        long x2 = (q0 >>> 8) & 0x00FF00FF00FF00FFL;
+        long x3 = (q1 >>> 8) & 0x00FF00FF00FF00FFL;
+        x0 |= x0 >>> 8;
+        x1 |= x1 >>> 8;
+        x2 |= x2 >>> 8;
+        x3 |= x3 >>> 8;
+        x0 &= 0x0000FFFF0000FFFFL;
+        x1 &= 0x0000FFFF0000FFFFL;
+        x2 &= 0x0000FFFF0000FFFFL;
+        x3 &= 0x0000FFFF0000FFFFL;
+        w[off] = (int) x0 | (int) (x0 >>> 16);
+        w[off + 1] = (int) x1 | (int) (x1 >>> 16);
+        w[off + 2] = (int) x2 | (int) (x2 >>> 16);
+        w[off + 3] = (int) x3 | (int) (x3 >>> 16);
+    }
+
+    /* 位矩阵转置，进出位切片表示 */
+    private static void ortho(long[] q) {
+        swap(q, 0, 1, 0x5555555555555555L, 0xAAAAAAAAAAAAAAAAL, 1);
+        swap(q, 2, 3, 0x5555555555555555L, 0xAAAAAAAAAAAAAAAAL, 1);
+        swap(q, 4, 5, 0x5555555555555555L, 0xAAAAAAAAAAAAAAAAL, 1);
+        swap(q, 6, 7, 0x5555555555555555L, 0xAAAAAAAAAAAAAAAAL, 1);
+
+        swap(q, 0, 2, 0x3333333333333333L, 0xCCCCCCCCCCCCCCCCL, 2);
+        swap(q, 1, 3, 0x3333333333333333L, 0xCCCCCCCCCCCCCCCCL, 2);
+        swap(q, 4, 6, 0x3333333333333333L, 0xCCCCCCCCCCCCCCCCL, 2);
+        swap(q, 5, 7, 0x3333333333333333L, 0xCCCCCCCCCCCCCCCCL, 2);
+
+        swap(q, 0, 4, 0x0F0F0F0F0F0F0F0FL, 0xF0F0F0F0F0F0F0F0L, 4);
+        swap(q, 1, 5, 0x0F0F0F0F0F0F0F0FL, 0xF0F0F0F0F0F0F0F0L, 4);
+        swap(q, 2, 6, 0x0F0F0F0F0F0F0F0FL, 0xF0F0F0F0F0F0F0F0L, 4);
+        swap(q, 3, 7, 0x0F0F0F0F0F0F0F0FL, 0xF0F0F0F0F0F0F0F0L, 4);
+    }
+
+    private static void swap(long[] q, int x, int y, long cl, long ch, int s) {
+        long a = q[x];
+        long b = q[y];
+        q[x] = (a & cl) | ((b & cl) << s);
+        q[y] = ((a & ch) >>> s) | (b & ch);
+    }
+
+    /* S 盒布尔电路（Boyar–Peralta），同时处理 4 个分组的全部 64 个字节 */
+    private static void sbox(long[] q) {
+        long x0 = q[7], x1 = q[6], x2 = q[5], x3 = q[4];
+        long x4 = q[3], x5 = q[2], x6 = q[1], x7 = q[0];
+
+        // 上层线性变换
+        long y14 = x3 ^ x5;
+        long y13 = x0 ^ x6;
+        long y9 = x0 ^ x3;
+        long y8 = x0 ^ x5;
+        long t0 = x1 ^ x2;
+        long y1 = t0 ^ x7;
+        long y4 = y1 ^ x3;
+        long y12 = y13 ^ y14;
+        long y2 = y1 ^ x0;
+        long y5 = y1 ^ x6;
+        long y3 = y5 ^ y8;
+        long t1 = x4 ^ y12;
+        long y15 = t1 ^ x5;
+        long y20 = t1 ^ x1;
+        long y6 = y15 ^ x7;
+        long y10 = y15 ^ t0;
+        long y11 = y20 ^ y9;
+        long y7 = x7 ^ y11;
+        long y17 = y10 ^ y11;
+        long y19 = y10 ^ y8;
+        long y16 = t0 ^ y11;
+        long y21 = y13 ^ y16;
+        long y18 = x0 ^ y16;
+
+        // 非线性部分
+        long t2 = y12 & y15;
+        long t3 = y3 & y6;
+        long t4 = t3 ^ t2;
+        long t5 = y4 & x7;
+        long t6 = t5 ^ t2;
+        long t7 = y13 & y16;
+        long t8 = y5 & y1;
+        long t9 = t8 ^ t7;
+        long t10 = y2 & y7;
+        long t11 = t10 ^ t7;
+        long t12 = y9 & y11;
+        long t13 = y14 & y17;
+        long t14 = t13 ^ t12;
+        long t15 = y8 & y10;
+        long t16 = t15 ^ t12;
+        long t17 = t4 ^ t14;
+        long t18 = t6 ^ t16;
+        long t19 = t9 ^ t14;
+        long t20 = t11 ^ t16;
+        long t21 = t17 ^ y20;
+        long t22 = t18 ^ y19;
+        long t23 = t19 ^ y21;
+        long t24 = t20 ^ y18;
+
+        long t25 = t21 ^ t22;
+        long t26 = t21 & t23;
+        long t27 = t24 ^ t26;
+        long t28 = t25 & t27;
+        long t29 = t28 ^ t22;
+        long t30 = t23 ^ t24;
+        long t31 = t22 ^ t26;
+        long t32 = t31 & t30;
+        long t33 = t32 ^ t24;
+        long t34 = t23 ^ t33;
+        long t35 = t27 ^ t33;
+        long t36 = t24 & t35;
+        long t37 = t36 ^ t34;
+        long t38 = t27 ^ t36;
+        long t39 = t29 & t38;
+        long t40 = t25 ^ t39;
+
+        long t41 = t40 ^ t37;
+        long t42 = t29 ^ t33;
+        long t43 = t29 ^ t40;
+        long t44 = t33 ^ t37;
+        long t45 = t42 ^ t41;
+        long z0 = t44 & y15;
+        long z1 = t37 & y6;
+        long z2 = t33 & x7;
+        long z3 = t43 & y16;
+        long z4 = t40 & y1;
+        long z5 = t29 & y7;
+        long z6 = t42 & y11;
+        long z7 = t45 & y17;
+        long z8 = t41 & y10;
+        long z9 = t44 & y12;
+        long z10 = t37 & y3;
+        long z11 = t33 & y4;
+        long z12 = t43 & y13;
+        long z13 = t40 & y5;
+        long z14 = t29 & y2;
+        long z15 = t42 & y9;
+        long z16 = t45 & y14;
+        long z17 = t41 & y8;
+
+        // 下层线性变换
+        long t46 = z15 ^ z16;
+        long t47 = z10 ^ z11;
+        long t48 = z5 ^ z13;
+        long t49 = z9 ^ z10;
+        long t50 = z2 ^ z12;
+        long t51 = z2 ^ z5;
+        long t52 = z7 ^ z8;
+        long t53 = z0 ^ z3;
+        long t54 = z6 ^ z7;
+        long t55 = z16 ^ z17;
+        long t56 = z12 ^ t48;
+        long t57 = t50 ^ t53;
+        long t58 = z4 ^ t46;
+        long t59 = z3 ^ t54;
+        long t60 = t46 ^ t57;
+        long t61 = z14 ^ t57;
+        long t62 = t52 ^ t58;
+        long t63 = t49 ^ t58;
+        long t64 = z4 ^ t59;
+        long t65 = t61 ^ t62;
+        long t66 = z1 ^ t63;
+        long s0 = t59 ^ t63;
+        long s6 = t56 ^ ~t62;
+        long s7 = t48 ^ ~t60;
+        long t67 = t64 ^ t65;
+        long s3 = t53 ^ t66;
+        long s4 = t51 ^ t66;
+        long s5 = t47 ^ t65;
+        long s1 = t64 ^ ~s3;
+        long s2 = t55 ^ ~t67;
+
+        q[7] = s0;
+        q[6] = s1;
+        q[5] = s2;
+        q[4] = s3;
+        q[3] = s4;
+        q[2] = s5;
+        q[1] = s6;
+        q[0] = s7;
+    }
+
+    /* 逆 S 盒：逆仿射变换 → S 盒 → 逆仿射变换 */
+    private static void invSbox(long[] q) {
+        invAffine(q);
+        sbox(q);
+        invAffine(q);
+    }
+
+    private static void invAffine(long[] q) {
+        long q0 = ~q[0], q1 = ~q[1], q2 = q[2], q3 = q[3];
+        long q4 = q[4], q5 = ~q[5], q6 = ~q[6], q7 = q[7];
+        q[7] = q1 ^ q4 ^ q6;
+        q[6] = q0 ^ q3 ^ q5;
+        q[5] = q7 ^ q2 ^ q4;
+        q[4] = q6 ^ q1 ^ q3;
+        q[3] = q5 ^ q0 ^ q2;
+        q[2] = q4 ^ q7 ^ q1;
+        q[1] = q3 ^ q6 ^ q0;
+        q[0] = q2 ^ q5 ^ q7;
+    }
+
+    private static void shiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long x = q[i];
+            q[i] = (x & 0x000000000000FFFFL)
+                    | ((x & 0x00000000FFF00000L) >>> 4)
+                    | ((x & 0x00000000000F0000L) << 12)
+                    | ((x & 0x0000FF0000000000L) >>> 8)
+                    | ((x & 0x000000FF00000000L) << 8)
+                    | ((x & 0xF000000000000000L) >>> 12)
+                    | ((x & 0x0FFF000000000000L) << 4);
+        }
+    }
+
+    private static void invShiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long x = q[i];
+            q[i] = (x & 0x000000000000FFFFL)
+                    | ((x & 0x000000000FFF0000L) << 4)
+                    | ((x & 0x00000000F0000000L) >>> 12)
+                    | ((x & 0x000000FF00000000L) << 8)
+                    | ((x & 0x0000FF0000000000L) >>> 8)
+                    | ((x & 0x000F000000000000L) << 12)
+                    | ((x & 0xFFF0000000000000L) >>> 4);
+        }
+    }
+
+    private static long rotr32(long x) {
+        return (x << 32) | (x >>> 32);
+    }
+
+    private static long rotr16(long x) {
+        return (x >>> 16) | (x << 48);
+    }
+
+    private static void mixColumns(long[] q) {
+        long q0 = q[0], q1 = q[1], q2 = q[2], q3 = q[3];
+        long q4 = q[4], q5 = q[5], q6 = q[6], q7 = q[7];
+        long r0 = rotr16(q0), r1 = rotr16(q1), r2 = rotr16(q2), r3 = rotr16(q3);
+        long r4 = rotr16(q4), r5 = rotr16(q5), r6 = rotr16(q6), r7 = rotr16(q7);
+        q[0] = q7 ^ r7 ^ r0 ^ rotr32(q0 ^ r0);
+        q[1] = q0 ^ r0 ^ q7 ^ r7 ^ r1 ^ rotr32(q1 ^ r1);
+        q[2] = q1 ^ r1 ^ r2 ^ rotr32(q2 ^ r2);
+        q[3] = q2 ^ r2 ^ q7 ^ r7 ^ r3 ^ rotr32(q3 ^ r3);
+        q[4] = q3 ^ r3 ^ q7 ^ r7 ^ r4 ^ rotr32(q4 ^ r4);
+        q[5] = q4 ^ r4 ^ r5 ^ rotr32(q5 ^ r5);
+        q[6] = q5 ^ r5 ^ r6 ^ rotr32(q6 ^ r6);
+        q[7] = q6 ^ r6 ^ r7 ^ rotr32(q7 ^ r7);
+    }
+
+    private static void invMixColumns(long[] q) {
+        long q0 = q[0], q1 = q[1], q2 = q[2], q3 = q[3];
+        long q4 = q[4], q5 = q[5], q6 = q[6], q7 = q[7];
+        long r0 = rotr16(q0), r1 = rotr16(q1), r2 = rotr16(q2), r3 = rotr16(q3);
+        long r4 = rotr16(q4), r5 = rotr16(q5), r6 = rotr16(q6), r7 = rotr16(q7);
+        q[0] = q5 ^ q6 ^ q7 ^ r0 ^ r5 ^ r7 ^ rotr32(q0 ^ q5 ^ q6 ^ r0 ^ r5);
+        q[1] = q0 ^ q5 ^ r0 ^ r1 ^ r5 ^ r6 ^ r7 ^ rotr32(q1 ^ q5 ^ q7 ^ r1 ^ r5 ^ r6);
+        q[2] = q0 ^ q1 ^ q6 ^ r1 ^ r2 ^ r6 ^ r7 ^ rotr32(q0 ^ q2 ^ q6 ^ r2 ^ r6 ^ r7);
+        q[3] = q0 ^ q1 ^ q2 ^ q5 ^ q6 ^ r0 ^ r2 ^ r3 ^ r5
+                ^ rotr32(q0 ^ q1 ^ q3 ^ q5 ^ q6 ^ q7 ^ r0 ^ r3 ^ r5 ^ r7);
+        q[4] = q1 ^ q2 ^ q3 ^ q5 ^ r1 ^ r3 ^ r4 ^ r5 ^ r6 ^ r7
+                ^ rotr32(q1 ^ q2 ^ q4 ^ q5 ^ q7 ^ r1 ^ r4 ^ r5 ^ r6);
+        q[5] = q2 ^ q3 ^ q4 ^ q6 ^ r2 ^ r4 ^ r5 ^ r6 ^ r7 ^ rotr32(q2 ^ q3 ^ q5 ^ q6 ^ r2 ^ r5 ^ r6 ^ r7);
+        q[6] = q3 ^ q4 ^ q5 ^ q7 ^ r3 ^ r5 ^ r6 ^ r7 ^ rotr32(q3 ^ q4 ^ q6 ^ q7 ^ r3 ^ r6 ^ r7);
+        q[7] = q4 ^ q5 ^ q6 ^ r4 ^ r6 ^ r7 ^ rotr32(q4 ^ q5 ^ q7 ^ r4 ^ r7);
+    }
+}
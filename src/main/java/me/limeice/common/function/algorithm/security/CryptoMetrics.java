@@ -0,0 +1,292 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>加解密与摘要操作的可选统计
+ * <p>默认关闭，关闭时热路径上只有一次{@link #isEnabled()}判断；开启后按操作类型与算法
+ * 记录次数、字节数、错误数与延迟直方图，计数器均为{@link java.util.concurrent.atomic.LongAdder}
+ * 或分段数组，多线程之间不产生竞争。
+ * <p>统计结果可以直接读取，也可以通过{@link Listener}逐次接收，或注册为JMX MBean。
+ * 也可以通过系统属性{@code -Daes128lite.metrics=true}在启动时开启。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * CryptoMetrics.setEnabled(true);
+ * CryptoMetrics.registerMBean();
+ * ...
+ * OperationStats stats = CryptoMetrics.getStats(CryptoMetrics.Operation.ENCRYPT, "AES/CBC/PKCS5Padding");
+ * long p99 = stats.getLatency().getPercentile(99);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class CryptoMetrics {
+
+    /**
+     * JMX 对象名
+     */
+    public static final String OBJECT_NAME = "me.limeice.common:type=CryptoMetrics";
+
+    /**
+     * 操作类型
+     */
+    public enum Operation {
+        ENCRYPT, DECRYPT, DIGEST, MAC
+    }
+
+    /**
+     * 操作监听器，在执行操作的线程上同步调用，实现应尽量轻量
+     */
+    public interface Listener {
+
+        /**
+         * @param operation 操作类型
+         * @param name      算法
+         * @param bytes     输入字节数
+         * @param nanos     耗时（纳秒）
+         * @param error     失败时的异常，成功为null
+         */
+        void onOperation(@NotNull Operation operation, @NotNull String name, long bytes, long nanos,
+                         @Nullable Throwable error);
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean("aes128lite.metrics");
+
+    private static final Map<Operation, ConcurrentHashMap<String, OperationStats>> STATS =
+            new EnumMap<>(Operation.class);
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static {
+        for (Operation op : Operation.values())
+            STATS.put(op, new ConcurrentHashMap<>());
+    }
+
+    private CryptoMetrics() {
+        throw new UnsupportedOperationException("Don't instantiate...");
+    }
+
+    /**
+     * @return 是否开启统计
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开启或关闭统计，已有数据保留
+     *
+     * @param enabled {@code true}开启
+     */
+    public static void setEnabled(boolean enabled) {
+        CryptoMetrics.enabled = enabled;
+    }
+
+    /**
+     * 添加监听器，监听器在调用线程上同步执行，抛出的{@link RuntimeException}被忽略
+     *
+     * @param listener 监听器
+     */
+    public static void addListener(@NotNull Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * 移除监听器
+     *
+     * @param listener 监听器
+     */
+    public static void removeListener(@NotNull Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 获取统计
+     *
+     * @param operation 操作类型
+     * @param name      算法，如："AES/CBC/PKCS5Padding"、"SHA-256"
+     * @return 统计，尚无记录时为null
+     */
+    @Nullable
+    public static OperationStats getStats(@NotNull Operation operation, @NotNull String name) {
+        return STATS.get(operation).get(name);
+    }
+
+    /**
+     * @return 所有统计，按操作类型与算法排序
+     */
+    @NotNull
+    public static List<OperationStats> getAllStats() {
+        List<OperationStats> result = new ArrayList<>();
+        for (Operation op : Operation.values())
+            result.addAll(new TreeMap<>(STATS.get(op)).values());
+        return result;
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void reset() {
+        for (ConcurrentHashMap<String, OperationStats> map : STATS.values())
+            for (OperationStats stats : map.values())
+                stats.reset();
+    }
+
+    /**
+     * 注册到平台MBeanServer，重复注册无影响
+     *
+     * @throws JMException JMException
+     */
+    public static void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name))
+            server.registerMBean(new MXBeanImpl(), name);
+    }
+
+    /**
+     * 从平台MBeanServer注销
+     *
+     * @throws JMException JMException
+     */
+    public static void unregisterMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name))
+            server.unregisterMBean(name);
+    }
+
+    /**
+     * 记录一次操作，调用方须先判断{@link #isEnabled()}
+     *
+     * @param operation  操作类型
+     * @param name       算法
+     * @param bytes      输入字节数
+     * @param startNanos 开始时间{@link System#nanoTime()}
+     * @param error      失败时的异常
+     */
+    static void record(@NotNull Operation operation, @NotNull String name, long bytes, long startNanos,
+                       @Nullable Throwable error) {
+        long nanos = System.nanoTime() - startNanos;
+        ConcurrentHashMap<String, OperationStats> map = STATS.get(operation);
+        OperationStats stats = map.get(name);
+        if (stats == null)
+            stats = map.computeIfAbsent(name, n -> new OperationStats(operation, n));
+        stats.record(bytes, nanos, error != null);
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.onOperation(operation, name, bytes, nanos, error);
+            } catch (RuntimeException ignored) {
+                // 监听器的异常不得改变加解密结果
+            }
+        }
+    }
+
+    private static final class MXBeanImpl implements CryptoMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return CryptoMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            CryptoMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getCount());
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getBytes() {
+            Map<String, Long> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getBytes());
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getErrors() {
+            Map<String, Long> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getErrors());
+            return result;
+        }
+
+        @Override
+        public Map<String, Double> getMeanNanos() {
+            Map<String, Double> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getLatency().getMean());
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getP50Nanos() {
+            return percentile(50);
+        }
+
+        @Override
+        public Map<String, Long> getP99Nanos() {
+            return percentile(99);
+        }
+
+        @Override
+        public Map<String, Long> getP999Nanos() {
+            return percentile(99.9);
+        }
+
+        @Override
+        public Map<String, Long> getMaxNanos() {
+            Map<String, Long> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getLatency().getMax());
+            return result;
+        }
+
+        @Override
+        public Map<String, String> getCapabilities() {
+            ProviderTuner.Report report = ProviderTuner.getReport();
+            return report == null ? Collections.<String, String>emptyMap() : report.toMap();
+        }
+
+        @Override
+        public void reset() {
+            CryptoMetrics.reset();
+        }
+
+        private static Map<String, Long> percentile(double p) {
+            Map<String, Long> result = new TreeMap<>();
+            for (OperationStats s : getAllStats())
+                result.put(key(s), s.getLatency().getPercentile(p));
+            return result;
+        }
+
+        private static String key(OperationStats s) {
+            return s.getOperation().name().toLowerCase() + ":" + s.getName();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.limeice.common.function.algorithm.security;
+
+import java.util.Map;
+
+/**
+ * {@link CryptoMetrics} 的JMX接口，键为"操作:算法"，如："encrypt:AES/CBC/PKCS5Padding"
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+public interface CryptoMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getBytes();
+
+    Map<String, Long> getErrors();
+
+    Map<String, Double> getMeanNanos();
+
+    Map<String, Long> getP50Nanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getP999Nanos();
+
+    Map<String, Long> getMaxNanos();
+
+    /**
+     * @return 最近一次{@link ProviderTuner}校准的结果，尚未校准时为空
+     */
+    Map<String, String> getCapabilities();
+
+    void reset();
+}
@@ -0,0 +1,345 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.limeice.common.function.CloseUtils;
+
+/**
+ * <p>信息摘要引擎，按算法缓存，线程安全
+ * <p>内部复用池化的{@link MessageDigest}（使用后重置），短消息不再每次创建摘要对象；
+ * 流、文件等大数据使用固定大小缓冲区分块处理，不会整体读入内存。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * DigestEngine sha256 = DigestEngine.getInstance("SHA-256");
+ * byte[] code = sha256.digest(new File("backup.tar"));
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class DigestEngine {
+
+    /**
+     * 流式处理的缓冲区大小
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ConcurrentHashMap<String, DigestEngine> ENGINES = new ConcurrentHashMap<>();
+
+    private final String algorithm;
+
+    private final int digestLength;
+
+    private final StripedPool<MessageDigest> digests;
+
+    private DigestEngine(String algorithm) throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance(algorithm);
+        this.algorithm = algorithm;
+        this.digestLength = md.getDigestLength();
+        this.digests = new StripedPool<>(() -> MessageDigest.getInstance(algorithm));
+        digests.release(md);
+    }
+
+    /**
+     * 获取指定算法的摘要引擎
+     *
+     * @param algorithm 算法，如："SHA-256"
+     * @return 摘要引擎
+     * @throws NoSuchAlgorithmException 不支持的算法
+     */
+    @NotNull
+    public static DigestEngine getInstance(@NotNull String algorithm) throws NoSuchAlgorithmException {
+        DigestEngine engine = ENGINES.get(algorithm);
+        if (engine == null) {
+            engine = new DigestEngine(algorithm);
+            DigestEngine prev = ENGINES.putIfAbsent(algorithm, engine);
+            if (prev != null)
+                engine = prev;
+        }
+        return engine;
+    }
+
+    /**
+     * @return 算法
+     */
+    @NotNull
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return 摘要长度（字节）
+     */
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param msg 数据
+     * @return 摘要
+     */
+    @NotNull
+    public byte[] digest(@NotNull byte[] msg) {
+        return digest(msg, 0, msg.length);
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param msg    数据
+     * @param offset 偏移
+     * @param len    长度
+     * @return 摘要
+     */
+    @NotNull
+    public byte[] digest(@NotNull byte[] msg, int offset, int len) {
+        long start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        MessageDigest md = digests.borrow();
+        md.update(msg, offset, len);
+        byte[] code = md.digest();
+        digests.release(md);
+        if (start != 0)
+            CryptoMetrics.record(CryptoMetrics.Operation.DIGEST, algorithm, len, start, null);
+        return code;
+    }
+
+    /**
+     * 计算摘要，读取buffer剩余数据（堆内或直接缓冲区均可）
+     *
+     * @param buffer 数据
+     * @return 摘要
+     */
+    @NotNull
+    public byte[] digest(@NotNull ByteBuffer buffer) {
+        long start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        int len = buffer.remaining();
+        MessageDigest md = digests.borrow();
+        md.update(buffer);
+        byte[] code = md.digest();
+        digests.release(md);
+        if (start != 0)
+            CryptoMetrics.record(CryptoMetrics.Operation.DIGEST, algorithm, len, start, null);
+        return code;
+    }
+
+    /**
+     * 计算摘要，读取到流末尾，不关闭流
+     *
+     * @param in 输入流
+     * @return 摘要
+     * @throws IOException IOException
+     */
+    @NotNull
+    public byte[] digest(@NotNull InputStream in) throws IOException {
+        Context context = begin();
+        try {
+            context.update(in);
+            return context.digest();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 计算摘要，从文件开头读取到文件末尾，不改变通道位置，不关闭通道
+     *
+     * @param channel 文件通道
+     * @return 摘要
+     * @throws IOException IOException
+     */
+    @NotNull
+    public byte[] digest(@NotNull FileChannel channel) throws IOException {
+        Context context = begin();
+        try {
+            context.update(channel, 0, channel.size());
+            return context.digest();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 计算文件摘要
+     *
+     * @param file 文件
+     * @return 摘要
+     * @throws IOException IOException
+     */
+    @NotNull
+    public byte[] digest(@NotNull File file) throws IOException {
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            return digest(in.getChannel());
+        } finally {
+            CloseUtils.closeIOQuietly(in);
+        }
+    }
+
+    /**
+     * 开始增量计算，必须以{@link Context#digest()}或{@link Context#close()}结束
+     *
+     * @return 增量计算上下文
+     */
+    @NotNull
+    public Context begin() {
+        return new Context(digests.borrow());
+    }
+
+    /**
+     * 增量计算上下文，非线程安全
+     */
+    public final class Context implements AutoCloseable {
+
+        private MessageDigest md;
+
+        private ByteBuffer buffer;
+
+        /* 开启统计时的开始时间，否则为0 */
+        private final long start;
+
+        private long bytes;
+
+        private Context(MessageDigest md) {
+            this.md = md;
+            this.start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        }
+
+        /**
+         * @param msg 数据
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull byte[] msg) {
+            md().update(msg);
+            bytes += msg.length;
+            return this;
+        }
+
+        /**
+         * @param msg    数据
+         * @param offset 偏移
+         * @param len    长度
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull byte[] msg, int offset, int len) {
+            md().update(msg, offset, len);
+            bytes += len;
+            return this;
+        }
+
+        /**
+         * @param msg 数据（读取剩余部分）
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull ByteBuffer msg) {
+            bytes += msg.remaining();
+            md().update(msg);
+            return this;
+        }
+
+        /**
+         * 读取到流末尾，不关闭流
+         *
+         * @param in 输入流
+         * @return this
+         * @throws IOException IOException
+         */
+        @NotNull
+        public Context update(@NotNull InputStream in) throws IOException {
+            MessageDigest md = md();
+            byte[] buf = buffer().array();
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                md.update(buf, 0, len);
+                bytes += len;
+            }
+            return this;
+        }
+
+        /**
+         * 读取文件通道的指定区间，不改变通道位置
+         *
+         * @param channel  文件通道
+         * @param position 起始位置
+         * @param count    长度
+         * @return this
+         * @throws IOException IOException
+         */
+        @NotNull
+        public Context update(@NotNull FileChannel channel, long position, long count) throws IOException {
+            MessageDigest md = md();
+            ByteBuffer buf = buffer();
+            long end = position + count;
+            while (position < end) {
+                buf.clear();
+                if (end - position < buf.capacity())
+                    buf.limit((int) (end - position));
+                int n = channel.read(buf, position);
+                if (n < 0)
+                    break;
+                position += n;
+                buf.flip();
+                md.update(buf);
+                bytes += n;
+            }
+            return this;
+        }
+
+        /**
+         * 完成计算并归还摘要对象
+         *
+         * @return 摘要
+         */
+        @NotNull
+        public byte[] digest() {
+            MessageDigest md = md();
+            this.md = null;
+            byte[] code = md.digest();
+            digests.release(md);
+            if (start != 0)
+                CryptoMetrics.record(CryptoMetrics.Operation.DIGEST, algorithm, bytes, start, null);
+            return code;
+        }
+
+        /**
+         * 放弃计算（已调用{@link #digest()}时无操作）
+         */
+        @Override
+        public void close() {
+            if (md != null) {
+                md.reset();
+                digests.release(md);
+                md = null;
+            }
+        }
+
+        private MessageDigest md() {
+            if (md == null)
+                throw new IllegalStateException("Context already finished");
+            return md;
+        }
+
+        private ByteBuffer buffer() {
+            if (buffer == null)
+                buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            return buffer;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package me.limeice.common.function.algorithm.security;
 
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.CRC32;
 
 import me.limeice.common.function.BytesUtils;
@@ -117,21 +122,12 @@ public final class Hash {
      */
     @NotNull
     public static byte[] encode(@NotNull String algorithm, @NotNull String msg) {
-        byte[] code;
-        MessageDigest msgDigest;
         try {
-            msgDigest = MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e.getMessage());
-        }
-        try {
-            code = msgDigest.digest(msg.getBytes(ByteType));
+            return encode(algorithm, msg.getBytes(ByteType));
         } catch (UnsupportedEncodingException e) {
             e.printStackTrace();
             throw new RuntimeException(e.getMessage());
         }
-        return code;
     }
 
     /**
@@ -143,15 +139,95 @@ public final class Hash {
      */
     @NotNull
     public static byte[] encode(@NotNull String algorithm, @NotNull byte[] msg) {
-        byte[] code;
-        MessageDigest msgDigest;
+        return engine(algorithm).digest(msg);
+    }
+
+    /**
+     * 执行信息摘要算法加密（流式，读取到流末尾，不关闭流）
+     *
+     * @param algorithm 加密算法类型
+     * @param in        输入流
+     * @return 加密数组
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static byte[] encode(@NotNull String algorithm, @NotNull InputStream in) throws IOException {
+        return engine(algorithm).digest(in);
+    }
+
+    /**
+     * 执行信息摘要算法加密（流式，使用固定大小缓冲区）
+     *
+     * @param algorithm 加密算法类型
+     * @param file      文件
+     * @return 加密数组
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static byte[] encode(@NotNull String algorithm, @NotNull File file) throws IOException {
+        return engine(algorithm).digest(file);
+    }
+
+    /**
+     * 计算文件的Merkle树哈希，叶子在公共ForkJoinPool上并行计算
+     *
+     * @param algorithm 加密算法类型
+     * @param file      文件
+     * @param leafSize  叶子大小，如{@link TreeHash#DEFAULT_LEAF_SIZE}
+     * @return 树哈希（含根摘要与所有叶子摘要）
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static TreeHash treeHash(@NotNull String algorithm, @NotNull File file, int leafSize) throws IOException {
+        return TreeHash.compute(algorithm, file, leafSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 计算文件的Merkle树哈希
+     *
+     * @param algorithm 加密算法类型
+     * @param file      文件
+     * @param leafSize  叶子大小
+     * @param pool      并行计算所用线程池
+     * @return 树哈希（含根摘要与所有叶子摘要）
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static TreeHash treeHash(@NotNull String algorithm, @NotNull File file, int leafSize,
+                                    @NotNull ForkJoinPool pool) throws IOException {
+        return TreeHash.compute(algorithm, file, leafSize, pool);
+    }
+
+    /**
+     * 获取复用{@link MessageDigest}的摘要引擎
+     *
+     * @param algorithm 加密算法类型
+     * @return 摘要引擎
+     */
+    @NotNull
+    public static DigestEngine engine(@NotNull String algorithm) {
         try {
-            msgDigest = MessageDigest.getInstance(algorithm);
+            return DigestEngine.getInstance(algorithm);
         } catch (NoSuchAlgorithmException e) {
             e.printStackTrace();
             throw new RuntimeException(e.getMessage());
         }
-        code = msgDigest.digest(msg);
-        return code;
+    }
+
+    /**
+     * 获取与密钥绑定、复用{@link javax.crypto.Mac}的HMAC引擎，应在多次调用间复用
+     *
+     * @param algorithm 算法，如：{@link HmacEngine#HMAC_SHA256}
+     * @param keyBytes  密钥
+     * @return HMAC引擎
+     */
+    @NotNull
+    public static HmacEngine hmac(@NotNull String algorithm, @NotNull byte[] keyBytes) {
+        try {
+            return new HmacEngine(algorithm, keyBytes);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            throw new RuntimeException(e.getMessage());
+        }
     }
 }
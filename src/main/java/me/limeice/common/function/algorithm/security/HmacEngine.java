@@ -0,0 +1,330 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.BytesUtils;
+
+/**
+ * <p>HMAC 消息认证引擎，与密钥绑定，线程安全
+ * <p>内部复用池化的、已用该密钥初始化的{@link Mac}（{@link Mac#doFinal()}后自动恢复到初始化状态），
+ * 热路径上不再有{@link Mac#getInstance(String)}的 Provider 查找与{@link Mac#init(java.security.Key)}的密钥处理；
+ * 校验认证码使用常量时间比较。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * HmacEngine hmac = Hash.hmac(HmacEngine.HMAC_SHA256, keyBytes);
+ * byte[] tag = hmac.sign(request);
+ * boolean ok = hmac.verify(request, tag);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class HmacEngine {
+
+    public static final String HMAC_SHA1 = "HmacSHA1";
+
+    public static final String HMAC_SHA256 = "HmacSHA256";
+
+    public static final String HMAC_SHA384 = "HmacSHA384";
+
+    public static final String HMAC_SHA512 = "HmacSHA512";
+
+    /**
+     * 流式处理的缓冲区大小
+     */
+    public static final int BUFFER_SIZE = 8 * 1024;
+
+    private final String algorithm;
+
+    private final int macLength;
+
+    private final StripedPool<Mac> macs;
+
+    /**
+     * @param algorithm 算法，如：{@link #HMAC_SHA256}
+     * @param keyBytes  密钥
+     * @throws NoSuchAlgorithmException 不支持的算法
+     * @throws InvalidKeyException      密钥错误（如空密钥）
+     */
+    public HmacEngine(@NotNull String algorithm, @NotNull byte[] keyBytes) throws NoSuchAlgorithmException,
+            InvalidKeyException {
+        if (keyBytes.length == 0)
+            throw new InvalidKeyException("Empty key");
+        final SecretKeySpec key = new SecretKeySpec(keyBytes, algorithm);
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(key);
+        this.algorithm = algorithm;
+        this.macLength = mac.getMacLength();
+        this.macs = new StripedPool<>(() -> {
+            Mac m = Mac.getInstance(algorithm, mac.getProvider());
+            m.init(key);
+            return m;
+        });
+        macs.release(mac);
+    }
+
+    /**
+     * @return 算法
+     */
+    @NotNull
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return 认证码长度（字节）
+     */
+    public int getMacLength() {
+        return macLength;
+    }
+
+    /**
+     * 计算认证码
+     *
+     * @param msg 数据
+     * @return 认证码
+     */
+    @NotNull
+    public byte[] sign(@NotNull byte[] msg) {
+        return sign(msg, 0, msg.length);
+    }
+
+    /**
+     * 计算认证码
+     *
+     * @param msg    数据
+     * @param offset 偏移
+     * @param len    长度
+     * @return 认证码
+     */
+    @NotNull
+    public byte[] sign(@NotNull byte[] msg, int offset, int len) {
+        long start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        Mac mac = macs.borrow();
+        mac.update(msg, offset, len);
+        byte[] tag = mac.doFinal();
+        macs.release(mac);
+        if (start != 0)
+            CryptoMetrics.record(CryptoMetrics.Operation.MAC, algorithm, len, start, null);
+        return tag;
+    }
+
+    /**
+     * 计算认证码，读取buffer剩余数据（堆内或直接缓冲区均可）
+     *
+     * @param buffer 数据
+     * @return 认证码
+     */
+    @NotNull
+    public byte[] sign(@NotNull ByteBuffer buffer) {
+        long start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        int len = buffer.remaining();
+        Mac mac = macs.borrow();
+        mac.update(buffer);
+        byte[] tag = mac.doFinal();
+        macs.release(mac);
+        if (start != 0)
+            CryptoMetrics.record(CryptoMetrics.Operation.MAC, algorithm, len, start, null);
+        return tag;
+    }
+
+    /**
+     * 计算认证码，读取到流末尾，不关闭流
+     *
+     * @param in 输入流
+     * @return 认证码
+     * @throws IOException IOException
+     */
+    @NotNull
+    public byte[] sign(@NotNull InputStream in) throws IOException {
+        try (Context context = begin()) {
+            context.update(in);
+            return context.sign();
+        }
+    }
+
+    /**
+     * 常量时间校验认证码
+     *
+     * @param msg 数据
+     * @param tag 认证码
+     * @return {@code true}认证码正确
+     */
+    public boolean verify(@NotNull byte[] msg, @NotNull byte[] tag) {
+        return verify(msg, 0, msg.length, tag);
+    }
+
+    /**
+     * 常量时间校验认证码
+     *
+     * @param msg    数据
+     * @param offset 偏移
+     * @param len    长度
+     * @param tag    认证码
+     * @return {@code true}认证码正确
+     */
+    public boolean verify(@NotNull byte[] msg, int offset, int len, @NotNull byte[] tag) {
+        return BytesUtils.constantTimeEquals(sign(msg, offset, len), tag);
+    }
+
+    /**
+     * 常量时间校验认证码，读取buffer剩余数据
+     *
+     * @param buffer 数据
+     * @param tag    认证码
+     * @return {@code true}认证码正确
+     */
+    public boolean verify(@NotNull ByteBuffer buffer, @NotNull byte[] tag) {
+        return BytesUtils.constantTimeEquals(sign(buffer), tag);
+    }
+
+    /**
+     * 常量时间校验认证码，读取到流末尾，不关闭流
+     *
+     * @param in  输入流
+     * @param tag 认证码
+     * @return {@code true}认证码正确
+     * @throws IOException IOException
+     */
+    public boolean verify(@NotNull InputStream in, @NotNull byte[] tag) throws IOException {
+        return BytesUtils.constantTimeEquals(sign(in), tag);
+    }
+
+    /**
+     * 开始增量计算，必须以{@link Context#sign()}、{@link Context#verify(byte[])}或{@link Context#close()}结束
+     *
+     * @return 增量计算上下文
+     */
+    @NotNull
+    public Context begin() {
+        return new Context(macs.borrow());
+    }
+
+    /**
+     * 增量计算上下文，非线程安全
+     */
+    public final class Context implements AutoCloseable {
+
+        private Mac mac;
+
+        private byte[] buffer;
+
+        /* 开启统计时的开始时间，否则为0 */
+        private final long start;
+
+        private long bytes;
+
+        private Context(Mac mac) {
+            this.mac = mac;
+            this.start = CryptoMetrics.isEnabled() ? System.nanoTime() : 0;
+        }
+
+        /**
+         * @param msg 数据
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull byte[] msg) {
+            return update(msg, 0, msg.length);
+        }
+
+        /**
+         * @param msg    数据
+         * @param offset 偏移
+         * @param len    长度
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull byte[] msg, int offset, int len) {
+            mac().update(msg, offset, len);
+            bytes += len;
+            return this;
+        }
+
+        /**
+         * @param msg 数据（读取剩余部分）
+         * @return this
+         */
+        @NotNull
+        public Context update(@NotNull ByteBuffer msg) {
+            bytes += msg.remaining();
+            mac().update(msg);
+            return this;
+        }
+
+        /**
+         * 读取到流末尾，不关闭流
+         *
+         * @param in 输入流
+         * @return this
+         * @throws IOException IOException
+         */
+        @NotNull
+        public Context update(@NotNull InputStream in) throws IOException {
+            Mac mac = mac();
+            if (buffer == null)
+                buffer = new byte[BUFFER_SIZE];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                mac.update(buffer, 0, len);
+                bytes += len;
+            }
+            return this;
+        }
+
+        /**
+         * 完成计算并归还{@link Mac}
+         *
+         * @return 认证码
+         */
+        @NotNull
+        public byte[] sign() {
+            Mac mac = mac();
+            this.mac = null;
+            byte[] tag = mac.doFinal();
+            macs.release(mac);
+            if (start != 0)
+                CryptoMetrics.record(CryptoMetrics.Operation.MAC, algorithm, bytes, start, null);
+            return tag;
+        }
+
+        /**
+         * 完成计算并常量时间校验认证码
+         *
+         * @param tag 认证码
+         * @return {@code true}认证码正确
+         */
+        public boolean verify(@NotNull byte[] tag) {
+            return BytesUtils.constantTimeEquals(sign(), tag);
+        }
+
+        /**
+         * 放弃计算（已调用{@link #sign()}时无操作）
+         */
+        @Override
+        public void close() {
+            if (mac != null) {
+                mac.reset();
+                macs.release(mac);
+                mac = null;
+            }
+        }
+
+        private Mac mac() {
+            if (mac == null)
+                throw new IllegalStateException("Context already finished");
+            return mac;
+        }
+    }
+}
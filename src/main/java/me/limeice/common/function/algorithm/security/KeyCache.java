@@ -0,0 +1,237 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>口令到密钥的派生缓存，容量有界，支持过期时间，线程安全
+ * <p>命中时直接返回缓存密钥的副本，不再调用{@link java.security.MessageDigest}；
+ * 条目被淘汰或过期时密钥字节会被清零。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * AES128 aes = new AES128(AES128.ECB | AES128.PKCS5Padding);
+ * aes.setKeyCache(new KeyCache(1024, 10, TimeUnit.MINUTES));
+ * String s = aes.encryptBase64("src_Lime", "password");
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class KeyCache {
+
+    /**
+     * 密钥派生函数
+     */
+    public interface Deriver {
+        /**
+         * @param secret 口令
+         * @return 密钥
+         */
+        @NotNull
+        byte[] derive(@NotNull String secret);
+    }
+
+    /**
+     * 默认派生函数：一次MD5，与{@link AES128#encryptBase64(String, String)}保持一致
+     */
+    public static final Deriver MD5 = Hash::md5ToBytes;
+
+    /* 访问时间的更新粒度，命中路径上避免每次写共享字段 */
+    private static final long ACCESS_GRANULARITY = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Entry {
+        final byte[] key;
+        final long created;
+        volatile long lastAccess;
+        /* 先置位再清零；读者先复制后检查，副本可能已被清零时丢弃 */
+        private volatile boolean wiped;
+
+        Entry(byte[] key, long now) {
+            this.key = key;
+            this.created = now;
+            this.lastAccess = now;
+        }
+
+        /**
+         * @return 密钥副本，已清零时为null
+         */
+        byte[] copy() {
+            byte[] copy = key.clone();
+            if (wiped) {
+                Arrays.fill(copy, (byte) 0);
+                return null;
+            }
+            return copy;
+        }
+
+        void wipe() {
+            wiped = true;
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final Deriver deriver;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * 使用MD5派生的缓存
+     *
+     * @param maxSize 最大条目数
+     * @param ttl     过期时间，不大于0表示不过期
+     * @param unit    时间单位
+     */
+    public KeyCache(int maxSize, long ttl, @NotNull TimeUnit unit) {
+        this(maxSize, ttl, unit, MD5);
+    }
+
+    /**
+     * @param maxSize 最大条目数
+     * @param ttl     过期时间，不大于0表示不过期
+     * @param unit    时间单位
+     * @param deriver 密钥派生函数
+     */
+    public KeyCache(int maxSize, long ttl, @NotNull TimeUnit unit, @NotNull Deriver deriver) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive!");
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl <= 0 ? Long.MAX_VALUE : unit.toNanos(ttl);
+        this.deriver = deriver;
+    }
+
+    /**
+     * 获取口令对应的密钥
+     *
+     * @param secret 口令
+     * @return 密钥副本
+     */
+    @NotNull
+    public byte[] get(@NotNull String secret) {
+        long now = System.nanoTime();
+        Entry entry = map.get(secret);
+        if (entry != null) {
+            if (now - entry.created <= ttlNanos) {
+                // 条目可能刚被其他线程淘汰并清零，此时按未命中重新派生
+                byte[] key = entry.copy();
+                if (key != null) {
+                    hits.increment();
+                    if (now - entry.lastAccess > ACCESS_GRANULARITY)
+                        entry.lastAccess = now;
+                    return key;
+                }
+            } else if (map.remove(secret, entry)) {
+                expirations.increment();
+                wipe(entry);
+            }
+        }
+        misses.increment();
+        byte[] key = deriver.derive(secret);
+        Entry created = new Entry(key.clone(), now);
+        Entry prev = map.putIfAbsent(secret, created);
+        if (prev != null) {
+            // 并发派生同一口令，保留先写入者
+            wipe(created);
+        } else if (map.size() > maxSize) {
+            evict();
+        }
+        return key;
+    }
+
+    /**
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return 因容量淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return 因过期移除的条目数
+     */
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * @return 当前条目数
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 清空缓存并清零所有密钥
+     */
+    public void clear() {
+        Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            it.remove();
+            wipe(entry);
+        }
+    }
+
+    /* 淘汰最久未访问的条目，过期条目一并清理；仅在未命中时调用 */
+    private void evict() {
+        long now = System.nanoTime();
+        while (map.size() > maxSize) {
+            String oldestKey = null;
+            Entry oldest = null;
+            for (Map.Entry<String, Entry> e : map.entrySet()) {
+                Entry entry = e.getValue();
+                if (now - entry.created > ttlNanos) {
+                    if (map.remove(e.getKey(), entry)) {
+                        expirations.increment();
+                        wipe(entry);
+                    }
+                } else if (oldest == null || entry.lastAccess < oldest.lastAccess) {
+                    oldest = entry;
+                    oldestKey = e.getKey();
+                }
+            }
+            if (map.size() <= maxSize || oldest == null)
+                return;
+            if (map.remove(oldestKey, oldest)) {
+                evictions.increment();
+                wipe(oldest);
+            }
+        }
+    }
+
+    private static void wipe(Entry entry) {
+        entry.wipe();
+    }
+}
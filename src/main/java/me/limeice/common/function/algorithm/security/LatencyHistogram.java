@@ -0,0 +1,178 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>无锁延迟直方图（纳秒）
+ * <p>对数-线性分桶：每个2的幂区间再均分为8个子桶，相对误差不超过12.5%，覆盖0 ~ 2^63纳秒。
+ * 计数按线程ID散列到多组桶上，写入只有一次{@code getAndIncrement}，多线程之间几乎没有竞争；
+ * {@link #snapshot()}时再汇总各组。
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LatencyHistogram {
+
+    /* 每个2的幂区间的子桶数 = 2^SUB_BITS */
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int BUCKETS = SUB_COUNT + (63 - SUB_BITS) * SUB_COUNT;
+
+    private static final int MAX_STRIPES = 8;
+
+    private final AtomicLongArray counts;
+
+    private final int stripeMask;
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        int stripes = Math.min(MAX_STRIPES,
+                Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1)) << 1);
+        this.stripeMask = stripes - 1;
+        this.counts = new AtomicLongArray(stripes * BUCKETS);
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒），负数按0处理
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        counts.getAndIncrement(stripe() * BUCKETS + bucket(nanos));
+        sum.add(nanos);
+        long m = max.get();
+        // 只有出现新的最大值时才需要CAS
+        while (nanos > m && !max.compareAndSet(m, nanos))
+            m = max.get();
+    }
+
+    /**
+     * 清空（与并发写入之间不保证原子性）
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++)
+            counts.set(i, 0);
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * @return 当前数据的快照
+     */
+    @NotNull
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            buckets[i % BUCKETS] += c;
+            count += c;
+        }
+        return new Snapshot(buckets, count, sum.sum(), max.get());
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB_COUNT)
+            return (int) nanos;
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return SUB_COUNT + (exp - SUB_BITS) * SUB_COUNT + sub;
+    }
+
+    /* 桶内最大值 */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT)
+            return bucket;
+        int exp = (bucket - SUB_COUNT) / SUB_COUNT + SUB_BITS;
+        int sub = (bucket - SUB_COUNT) % SUB_COUNT;
+        long width = 1L << (exp - SUB_BITS);
+        return ((long) (SUB_COUNT + sub) << (exp - SUB_BITS)) + width - 1;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    /**
+     * 直方图快照，不可变
+     */
+    public static final class Snapshot {
+
+        private final long[] buckets;
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        private Snapshot(long[] buckets, long count, long sum, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return 记录次数
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return 平均耗时（纳秒）
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @return 最大耗时（纳秒）
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * 百分位数，返回所在桶的上界（不超过最大值）
+         *
+         * @param percentile 百分位，0 ~ 100，如99.9
+         * @return 耗时（纳秒）
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100)
+                throw new IllegalArgumentException("percentile must be between 0 and 100!");
+            if (count == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank)
+                    return Math.min(upperBound(i), max);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, mean=%.0fns, p50=%dns, p99=%dns, p99.9=%dns, max=%dns",
+                    count, getMean(), getPercentile(50), getPercentile(99), getPercentile(99.9), max);
+        }
+    }
+}
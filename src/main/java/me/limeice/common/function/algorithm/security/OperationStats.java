@@ -0,0 +1,99 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个操作（如 encrypt + "AES/CBC/PKCS5Padding"）的统计：次数、字节数、错误数与延迟分布
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class OperationStats {
+
+    private final CryptoMetrics.Operation operation;
+
+    private final String name;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder bytes = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationStats(@NotNull CryptoMetrics.Operation operation, @NotNull String name) {
+        this.operation = operation;
+        this.name = name;
+    }
+
+    void record(long bytes, long nanos, boolean error) {
+        count.increment();
+        if (error)
+            errors.increment();
+        else
+            this.bytes.add(bytes);
+        latency.record(nanos);
+    }
+
+    void reset() {
+        count.reset();
+        bytes.reset();
+        errors.reset();
+        latency.reset();
+    }
+
+    /**
+     * @return 操作类型
+     */
+    @NotNull
+    public CryptoMetrics.Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return 算法，如："AES/CBC/PKCS5Padding"、"SHA-256"
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 调用次数（含失败）
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return 成功处理的输入字节数
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * @return 失败次数
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return 延迟分布快照
+     */
+    @NotNull
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: count=%d, bytes=%d, errors=%d, %s",
+                operation, name, getCount(), getBytes(), getErrors(), getLatency());
+    }
+}
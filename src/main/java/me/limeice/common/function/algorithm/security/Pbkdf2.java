@@ -0,0 +1,291 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>PBKDF2-HMAC-SHA256 密钥派生，输出与{@code SecretKeyFactory("PBKDF2WithHmacSHA256")}逐字节一致，线程安全
+ * <p>每个口令只计算一次 HMAC 的 ipad/opad 首块摘要状态，之后每轮迭代复制该状态，
+ * 只有两次 SHA-256 压缩（{@code Mac}每轮为四次），压缩仍由 JDK 摘要实现完成，可用上 SHA 硬件指令；
+ * 多个输出块（密钥长度超过32字节）或多个盐值作为独立的计算通道在{@link ForkJoinPool}上并行派生。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * Pbkdf2 kdf = new Pbkdf2(Pbkdf2.DEFAULT_ITERATIONS);
+ * byte[] key = kdf.derive("password", salt, 16);
+ *
+ * AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+ * aes.setKeyCache(new KeyCache(1024, 10, TimeUnit.MINUTES, kdf.deriver(salt)));
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Pbkdf2 {
+
+    /**
+     * 默认迭代次数（OWASP 对 PBKDF2-HMAC-SHA256 的建议值）
+     */
+    public static final int DEFAULT_ITERATIONS = 600000;
+
+    private static final int BLOCK = 64;
+
+    private static final int DIGEST = 32;
+
+    private final int iterations;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param iterations 迭代次数
+     */
+    public Pbkdf2(int iterations) {
+        if (iterations < 1)
+            throw new IllegalArgumentException("iterations must be positive!");
+        this.iterations = iterations;
+    }
+
+    /**
+     * @return 迭代次数
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * 设置并行派生所用线程池
+     *
+     * @param pool 线程池
+     */
+    public void setPool(@NotNull ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 派生密钥，口令按UTF-8编码
+     *
+     * @param password  口令
+     * @param salt      盐
+     * @param keyLength 密钥长度（字节）
+     * @return 密钥
+     */
+    @NotNull
+    public byte[] derive(@NotNull String password, @NotNull byte[] salt, int keyLength) {
+        return derive(password.toCharArray(), salt, keyLength);
+    }
+
+    /**
+     * 派生密钥，口令按UTF-8编码，与{@code PBEKeySpec}一致
+     *
+     * @param password  口令
+     * @param salt      盐
+     * @param keyLength 密钥长度（字节）
+     * @return 密钥
+     */
+    @NotNull
+    public byte[] derive(@NotNull char[] password, @NotNull byte[] salt, int keyLength) {
+        byte[] bytes = encode(password);
+        try {
+            return derive(bytes, salt, keyLength);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    /**
+     * 派生密钥
+     *
+     * @param password  口令
+     * @param salt      盐
+     * @param keyLength 密钥长度（字节）
+     * @return 密钥
+     */
+    @NotNull
+    public byte[] derive(@NotNull byte[] password, @NotNull byte[] salt, int keyLength) {
+        return derive(password, new byte[][]{salt}, keyLength)[0];
+    }
+
+    /**
+     * 使用同一口令、多个盐值派生密钥，各盐值并行计算，ipad/opad 状态只计算一次
+     *
+     * @param password  口令
+     * @param salts     盐
+     * @param keyLength 密钥长度（字节）
+     * @return 与salts一一对应的密钥
+     */
+    @NotNull
+    public byte[][] derive(@NotNull String password, @NotNull byte[][] salts, int keyLength) {
+        byte[] bytes = encode(password.toCharArray());
+        try {
+            return derive(bytes, salts, keyLength);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    /**
+     * 使用同一口令、多个盐值派生密钥，各盐值与各输出块并行计算，ipad/opad 状态只计算一次
+     *
+     * @param password  口令
+     * @param salts     盐
+     * @param keyLength 密钥长度（字节）
+     * @return 与salts一一对应的密钥
+     */
+    @NotNull
+    public byte[][] derive(@NotNull byte[] password, @NotNull byte[][] salts, int keyLength) {
+        if (keyLength < 1)
+            throw new IllegalArgumentException("keyLength must be positive!");
+        Prf prf = new Prf(password);
+        int blocks = (keyLength + DIGEST - 1) / DIGEST;
+        byte[][] keys = new byte[salts.length][keyLength];
+        if (salts.length * blocks == 1) {
+            block(prf, salts[0], 1, keys[0]);
+            return keys;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(salts.length * blocks);
+        for (int s = 0; s < salts.length; s++) {
+            for (int i = 1; i <= blocks; i++) {
+                final byte[] salt = salts[s];
+                final byte[] key = keys[s];
+                final int index = i;
+                tasks.add(pool.submit(() -> block(prf, salt, index, key)));
+            }
+        }
+        for (ForkJoinTask<?> task : tasks)
+            task.join();
+        return keys;
+    }
+
+    /**
+     * 作为{@link KeyCache}的派生函数，输出16字节AES-128密钥
+     *
+     * @param salt 盐
+     * @return 派生函数
+     */
+    @NotNull
+    public KeyCache.Deriver deriver(@NotNull byte[] salt) {
+        final byte[] copy = salt.clone();
+        return secret -> derive(secret, copy, 16);
+    }
+
+    /* 计算第 index 个输出块 T = U1 ^ U2 ^ ... ^ Uc，写入 key 的对应位置 */
+    private void block(Prf prf, byte[] salt, int index, byte[] key) {
+        byte[] u = new byte[DIGEST];
+        byte[] t = new byte[DIGEST];
+        // U1 = HMAC(P, S || INT(index))
+        MessageDigest md = prf.inner();
+        md.update(salt);
+        md.update(new byte[]{(byte) (index >>> 24), (byte) (index >>> 16), (byte) (index >>> 8), (byte) index});
+        prf.finish(md, t, u);
+        byte[] acc = u.clone();
+        // Uj = HMAC(P, Uj-1)
+        for (int j = 1; j < iterations; j++) {
+            md = prf.inner();
+            md.update(u);
+            prf.finish(md, t, u);
+            for (int k = 0; k < DIGEST; k++)
+                acc[k] ^= u[k];
+        }
+        int off = (index - 1) * DIGEST;
+        System.arraycopy(acc, 0, key, off, Math.min(DIGEST, key.length - off));
+    }
+
+    private static byte[] encode(char[] password) {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        if (buffer.hasArray())
+            Arrays.fill(buffer.array(), (byte) 0);
+        return bytes;
+    }
+
+    /**
+     * HMAC-SHA256：ipad/opad 首块已处理的摘要状态，每次使用时复制，只需压缩消息部分
+     */
+    private static final class Prf {
+
+        private final MessageDigest inner;
+
+        private final MessageDigest outer;
+
+        private final byte[] ipad = new byte[BLOCK];
+
+        private final byte[] opad = new byte[BLOCK];
+
+        /* 摘要实现不支持clone时退化为每次重新处理 ipad/opad */
+        private final boolean cloneable;
+
+        Prf(byte[] password) {
+            inner = newDigest();
+            outer = newDigest();
+            byte[] key = password.length > BLOCK ? inner.digest(password) : password;
+            for (int k = 0; k < key.length; k++) {
+                ipad[k] = (byte) (key[k] ^ 0x36);
+                opad[k] = (byte) (key[k] ^ 0x5c);
+            }
+            Arrays.fill(ipad, key.length, BLOCK, (byte) 0x36);
+            Arrays.fill(opad, key.length, BLOCK, (byte) 0x5c);
+            if (key != password)
+                Arrays.fill(key, (byte) 0);
+            inner.update(ipad);
+            outer.update(opad);
+            boolean supported;
+            try {
+                inner.clone();
+                supported = true;
+            } catch (CloneNotSupportedException e) {
+                supported = false;
+            }
+            cloneable = supported;
+        }
+
+        MessageDigest inner() {
+            return copy(inner, ipad);
+        }
+
+        /* out = HMAC 结果，tmp 存放内层摘要 */
+        void finish(MessageDigest md, byte[] tmp, byte[] out) {
+            try {
+                md.digest(tmp, 0, DIGEST);
+                md = copy(outer, opad);
+                md.update(tmp);
+                md.digest(out, 0, DIGEST);
+            } catch (DigestException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private MessageDigest copy(MessageDigest base, byte[] pad) {
+            if (cloneable) {
+                try {
+                    return (MessageDigest) base.clone();
+                } catch (CloneNotSupportedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            MessageDigest md = newDigest();
+            md.update(pad);
+            return md;
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
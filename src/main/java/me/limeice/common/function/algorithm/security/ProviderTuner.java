@@ -0,0 +1,416 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * <p>JCE Provider 校准与固定
+ * <p>默认情况下{@link Cipher#getInstance(String)}使用第一个支持该算法的 Provider，
+ * 无法得知主机是否用上了 AES 硬件指令（AES-NI 等）。校准时对每个已安装的 Provider
+ * 与每种模式/填充组合做一次短时间的吞吐量测试，为每种组合固定最快的 Provider，
+ * 之后新建的{@link AES128Base}、{@link AES128Session}、{@link AES128Ctr}、{@link AES128Gcm}
+ * 均通过{@link #getCipher(String)}使用固定的 Provider。
+ * <p>校准结果为{@link Report}，包含各 Provider 的吞吐量与 AES 硬件加速是否生效，
+ * 也通过{@link CryptoMetricsMXBean#getCapabilities()}发布到JMX。
+ * 可通过系统属性{@code -Daes128lite.autotune=true}在首次加解密时于后台自动校准。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * ProviderTuner.Report report = ProviderTuner.calibrate();
+ * if (!report.isHardwareLikely())
+ *     log.warn("slow AES host: " + report);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ProviderTuner {
+
+    /**
+     * 每个 Provider/组合的默认测试时间（毫秒），另有相同时间用于预热
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    /**
+     * 吞吐量（MB/s）达到该值时认为 AES 硬件加速生效，纯软件实现通常在 200MB/s 以下
+     */
+    public static final double HARDWARE_THRESHOLD = 500;
+
+    /* 与 AES128Base 的模式/填充对应、JCE 支持的全部组合 */
+    private static final String[] TRANSFORMATIONS = {
+            "AES/CBC/PKCS5Padding", "AES/CBC/ISO10126Padding", "AES/CBC/NoPadding",
+            "AES/ECB/PKCS5Padding", "AES/ECB/ISO10126Padding", "AES/ECB/NoPadding",
+            "AES/CFB/PKCS5Padding", "AES/CFB/NoPadding",
+            "AES/OFB/PKCS5Padding", "AES/OFB/NoPadding",
+            "AES/CTR/NoPadding", "AES/GCM/NoPadding"};
+
+    /* 测试数据长度 */
+    private static final int PAYLOAD = 16 * 1024;
+
+    private static final ConcurrentHashMap<String, Provider> PINNED = new ConcurrentHashMap<>();
+
+    private static volatile Report report;
+
+    static {
+        if (Boolean.getBoolean("aes128lite.autotune"))
+            calibrateInBackground();
+    }
+
+    private ProviderTuner() {
+        throw new UnsupportedOperationException("Don't instantiate...");
+    }
+
+    /**
+     * 创建Cipher，已固定 Provider 时使用固定的 Provider
+     *
+     * @param transformation 如："AES/CBC/PKCS5Padding"
+     * @return 未初始化的Cipher
+     */
+    @NotNull
+    public static Cipher getCipher(@NotNull String transformation)
+            throws NoSuchPaddingException, NoSuchAlgorithmException {
+        Provider provider = PINNED.get(transformation);
+        return provider == null ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+    }
+
+    /**
+     * 手动固定 Provider
+     *
+     * @param transformation 如："AES/CBC/PKCS5Padding"
+     * @param provider       Provider
+     */
+    public static void pin(@NotNull String transformation, @NotNull Provider provider) {
+        PINNED.put(transformation, provider);
+    }
+
+    /**
+     * 获取已固定的 Provider
+     *
+     * @param transformation 如："AES/CBC/PKCS5Padding"
+     * @return Provider，未固定时为null
+     */
+    @Nullable
+    public static Provider getPinned(@NotNull String transformation) {
+        return PINNED.get(transformation);
+    }
+
+    /**
+     * 取消所有固定，恢复{@link Cipher#getInstance(String)}的默认选择
+     */
+    public static void reset() {
+        PINNED.clear();
+    }
+
+    /**
+     * @return 最近一次校准的结果，尚未校准时为null
+     */
+    @Nullable
+    public static Report getReport() {
+        return report;
+    }
+
+    /**
+     * 按默认测试时间校准全部组合，并固定各组合最快的 Provider
+     *
+     * @return 校准结果
+     */
+    @NotNull
+    public static Report calibrate() {
+        return calibrate(DEFAULT_BUDGET_MILLIS, TRANSFORMATIONS);
+    }
+
+    /**
+     * 校准指定组合，并固定各组合最快的 Provider
+     *
+     * @param budgetMillis    每个 Provider/组合的测试时间（毫秒），另有相同时间用于预热
+     * @param transformations 如："AES/CBC/PKCS5Padding"
+     * @return 校准结果
+     */
+    @NotNull
+    public static Report calibrate(long budgetMillis, @NotNull String... transformations) {
+        SecureRandom random = new SecureRandom();
+        byte[] key = new byte[16];
+        byte[] data = new byte[PAYLOAD];
+        random.nextBytes(key);
+        random.nextBytes(data);
+        long budget = Math.max(budgetMillis, 1) * 1000000L;
+        List<Entry> entries = new ArrayList<>();
+        for (String transformation : transformations) {
+            Entry best = null;
+            for (Provider provider : Security.getProviders()) {
+                double throughput;
+                try {
+                    throughput = measure(Cipher.getInstance(transformation, provider), transformation, key, data,
+                            budget);
+                } catch (GeneralSecurityException e) {
+                    // 该 Provider 不支持此组合
+                    continue;
+                }
+                Entry entry = new Entry(transformation, provider, throughput);
+                entries.add(entry);
+                if (best == null || throughput > best.throughput)
+                    best = entry;
+            }
+            if (best != null) {
+                best.selected = true;
+                PINNED.put(transformation, best.provider);
+            }
+        }
+        // UseAESIntrinsics 为诊断参数，未解锁时不可读，退而读取 UseAES
+        Boolean intrinsics = vmFlag("UseAESIntrinsics");
+        if (intrinsics == null)
+            intrinsics = vmFlag("UseAES");
+        Report result = new Report(entries, intrinsics);
+        report = result;
+        return result;
+    }
+
+    /**
+     * 在后台守护线程上校准全部组合
+     *
+     * @return 校准结果
+     */
+    @NotNull
+    public static CompletableFuture<Report> calibrateInBackground() {
+        final CompletableFuture<Report> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(calibrate());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, "ProviderTuner");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /* 先预热，再测量相同时间，返回MB/s */
+    private static double measure(Cipher cipher, String transformation, byte[] key, byte[] data, long budget)
+            throws GeneralSecurityException {
+        SecretKeySpec spec = new SecretKeySpec(key, "AES");
+        boolean gcm = transformation.startsWith("AES/GCM/");
+        boolean useIV = !gcm && !transformation.startsWith("AES/ECB/");
+        byte[] out = new byte[data.length + 32];
+        byte[] nonce = new byte[gcm ? AES128Gcm.NONCE_LENGTH : 16];
+        if (useIV)
+            cipher.init(Cipher.ENCRYPT_MODE, spec, new IvParameterSpec(nonce));
+        else if (!gcm)
+            cipher.init(Cipher.ENCRYPT_MODE, spec);
+        long now = System.nanoTime();
+        long warmupEnd = now + budget;
+        long start = 0;
+        long end = Long.MAX_VALUE;
+        long ops = 0;
+        while (true) {
+            if (gcm) {
+                // GCM 不允许重复使用nonce
+                nonce[0]++;
+                if (nonce[0] == 0)
+                    nonce[1]++;
+                cipher.init(Cipher.ENCRYPT_MODE, spec, new GCMParameterSpec(128, nonce));
+            }
+            cipher.doFinal(data, 0, data.length, out, 0);
+            now = System.nanoTime();
+            if (start == 0) {
+                if (now < warmupEnd)
+                    continue;
+                start = now;
+                end = now + budget;
+            } else {
+                ops++;
+                if (now >= end)
+                    break;
+            }
+        }
+        return ops * (double) data.length / ((now - start) / 1e9) / 1e6;
+    }
+
+    /* 读取 HotSpot 参数，非 HotSpot 或不可用时为null；反射调用以免依赖 com.sun.management */
+    @Nullable
+    private static Boolean vmFlag(String name) {
+        try {
+            Class<?> type = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
+            Object bean = Class.forName("java.lang.management.ManagementFactory")
+                    .getMethod("getPlatformMXBean", Class.class).invoke(null, type);
+            Object option = type.getMethod("getVMOption", String.class).invoke(bean, name);
+            return Boolean.valueOf((String) Class.forName("com.sun.management.VMOption")
+                    .getMethod("getValue").invoke(option));
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * 单个 Provider/组合的测试结果
+     */
+    public static final class Entry {
+
+        private final String transformation;
+
+        private final Provider provider;
+
+        private final double throughput;
+
+        private boolean selected;
+
+        Entry(String transformation, Provider provider, double throughput) {
+            this.transformation = transformation;
+            this.provider = provider;
+            this.throughput = throughput;
+        }
+
+        /**
+         * @return 如："AES/CBC/PKCS5Padding"
+         */
+        @NotNull
+        public String getTransformation() {
+            return transformation;
+        }
+
+        @NotNull
+        public Provider getProvider() {
+            return provider;
+        }
+
+        /**
+         * @return 加密吞吐量（MB/s）
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * @return 是否为该组合最快、已被固定的 Provider
+         */
+        public boolean isSelected() {
+            return selected;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s %.1f MB/s%s", transformation, provider.getName(), throughput,
+                    selected ? " *" : "");
+        }
+    }
+
+    /**
+     * 校准结果
+     */
+    public static final class Report {
+
+        private final List<Entry> entries;
+
+        private final Boolean aesIntrinsics;
+
+        private final long timestamp = System.currentTimeMillis();
+
+        Report(List<Entry> entries, Boolean aesIntrinsics) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.aesIntrinsics = aesIntrinsics;
+        }
+
+        /**
+         * @return 全部测试结果
+         */
+        @NotNull
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * @param transformation 如："AES/CBC/PKCS5Padding"
+         * @return 该组合被选中的结果，没有可用 Provider 时为null
+         */
+        @Nullable
+        public Entry getSelected(@NotNull String transformation) {
+            for (Entry entry : entries) {
+                if (entry.selected && entry.transformation.equals(transformation))
+                    return entry;
+            }
+            return null;
+        }
+
+        /**
+         * @return HotSpot 参数 UseAESIntrinsics（不可读时为 UseAES），均无法读取时为null
+         */
+        @Nullable
+        public Boolean getAesIntrinsics() {
+            return aesIntrinsics;
+        }
+
+        /**
+         * @return 最高吞吐量（MB/s）
+         */
+        public double getMaxThroughput() {
+            double max = 0;
+            for (Entry entry : entries)
+                max = Math.max(max, entry.throughput);
+            return max;
+        }
+
+        /**
+         * 硬件加速是否看起来已生效：参数未关闭，且最高吞吐量不低于{@link #HARDWARE_THRESHOLD}
+         *
+         * @return {@code true}已生效
+         */
+        public boolean isHardwareLikely() {
+            return !Boolean.FALSE.equals(aesIntrinsics) && getMaxThroughput() >= HARDWARE_THRESHOLD;
+        }
+
+        /**
+         * @return 校准时间
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return 便于日志与JMX输出的键值表，组合的值为被选中的 Provider 与吞吐量
+         */
+        @NotNull
+        public Map<String, String> toMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            map.put("aesIntrinsics", aesIntrinsics == null ? "unknown" : aesIntrinsics.toString());
+            map.put("hardwareLikely", Boolean.toString(isHardwareLikely()));
+            for (Entry entry : entries) {
+                if (entry.selected) {
+                    map.put(entry.transformation, String.format(Locale.ROOT, "%s %.1f MB/s",
+                            entry.provider.getName(), entry.throughput));
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("aesIntrinsics=").append(aesIntrinsics == null ? "unknown" : aesIntrinsics)
+                    .append(", hardwareLikely=").append(isHardwareLikely()).append('\n');
+            for (Entry entry : entries)
+                builder.append(entry).append('\n');
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>分段对象池，用于复用创建代价较高的对象（如{@link javax.crypto.Cipher}）
+ * <p>按线程ID散列到不同槽位，借出与归还均为无锁CAS操作，不会阻塞（对虚拟线程友好）。
+ * 池中没有可用对象时直接创建新对象，槽位已满时归还的对象被丢弃。
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+final class StripedPool<T> {
+
+    /**
+     * 对象工厂
+     */
+    interface Factory<T> {
+        @NotNull
+        T create() throws GeneralSecurityException;
+    }
+
+    /* 每次借出/归还最多探测的槽位数 */
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<T> slots;
+
+    private final int mask;
+
+    private final Factory<T> factory;
+
+    StripedPool(@NotNull Factory<T> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    StripedPool(@NotNull Factory<T> factory, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.factory = factory;
+    }
+
+    /**
+     * 借出对象，池为空时创建新对象
+     *
+     * @return 对象
+     */
+    @NotNull
+    T borrow() {
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (home + i) & mask;
+            if (slots.get(idx) != null) {
+                T t = slots.getAndSet(idx, null);
+                if (t != null)
+                    return t;
+            }
+        }
+        return create();
+    }
+
+    /**
+     * 归还对象
+     *
+     * @param t 对象（必须处于可复用状态）
+     */
+    void release(@NotNull T t) {
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (home + i) & mask;
+            if (slots.get(idx) == null && slots.compareAndSet(idx, null, t))
+                return;
+        }
+    }
+
+    /**
+     * 创建新对象（不入池）
+     *
+     * @return 对象
+     */
+    @NotNull
+    T create() {
+        try {
+            return factory.create();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private int home() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
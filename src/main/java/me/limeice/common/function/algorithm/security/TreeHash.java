@@ -0,0 +1,290 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import me.limeice.common.function.BytesUtils;
+import me.limeice.common.function.CloseUtils;
+
+/**
+ * <p>Merkle 树哈希
+ * <p>文件按固定大小切分为叶子，叶子在{@link ForkJoinPool}上并行计算，再逐层合并得到根摘要：
+ * <pre>
+ *     leaf = H(0x00 || data)
+ *     node = H(0x01 || left || right)，落单的节点直接提升到上一层
+ * </pre>
+ * 结果保留所有叶子摘要，可以定位并单独复核发生变化的区域。
+ * <p>
+ * <p>示例：
+ * <pre>{@code
+ * TreeHash tree = Hash.treeHash("SHA-256", file, TreeHash.DEFAULT_LEAF_SIZE);
+ * String root = tree.getRootHex();
+ * int[] changed = tree.diff(oldTree);
+ * }</pre>
+ *
+ * @author Lime
+ * <p>2026.10.17
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class TreeHash {
+
+    /**
+     * 默认叶子大小（1MB）
+     */
+    public static final int DEFAULT_LEAF_SIZE = 1024 * 1024;
+
+    /* 单个任务一次映射的最大字节数 */
+    private static final long TASK_BYTES = 64L * 1024 * 1024;
+
+    private static final byte LEAF_PREFIX = 0x00;
+
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final String algorithm;
+
+    private final int leafSize;
+
+    private final long length;
+
+    private final byte[][] leaves;
+
+    private final byte[] root;
+
+    private TreeHash(String algorithm, int leafSize, long length, byte[][] leaves) {
+        this.algorithm = algorithm;
+        this.leafSize = leafSize;
+        this.length = length;
+        this.leaves = leaves;
+        this.root = combine(Hash.engine(algorithm), leaves);
+    }
+
+    /**
+     * 计算文件的树哈希
+     *
+     * @param algorithm 摘要算法，如："SHA-256"
+     * @param file      文件
+     * @param leafSize  叶子大小
+     * @param pool      并行计算所用线程池
+     * @return 树哈希
+     * @throws IOException IOException
+     */
+    @NotNull
+    public static TreeHash compute(@NotNull String algorithm, @NotNull File file, int leafSize,
+                                   @NotNull ForkJoinPool pool) throws IOException {
+        if (leafSize <= 0)
+            throw new IllegalArgumentException("leafSize must be positive!");
+        DigestEngine engine = Hash.engine(algorithm);
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            long length = channel.size();
+            int count = (int) Math.max(1, (length + leafSize - 1) / leafSize);
+            byte[][] leaves = new byte[count][];
+            int leavesPerTask = (int) Math.max(1, TASK_BYTES / leafSize);
+            pool.invoke(new LeafTask(engine, channel, length, leafSize, leaves, 0, count, leavesPerTask));
+            return new TreeHash(algorithm, leafSize, length, leaves);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 计算单个叶子摘要
+     *
+     * @param algorithm 摘要算法
+     * @param data      叶子数据（读取剩余部分）
+     * @return 叶子摘要
+     */
+    @NotNull
+    public static byte[] hashLeaf(@NotNull String algorithm, @NotNull ByteBuffer data) {
+        return hashLeaf(Hash.engine(algorithm), data);
+    }
+
+    /**
+     * @return 摘要算法
+     */
+    @NotNull
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return 叶子大小
+     */
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /**
+     * @return 文件长度
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return 根摘要（副本）
+     */
+    @NotNull
+    public byte[] getRoot() {
+        return root.clone();
+    }
+
+    /**
+     * @return 根摘要的十六进制文本
+     */
+    @NotNull
+    public String getRootHex() {
+        return BytesUtils.toHexString(root);
+    }
+
+    /**
+     * @return 叶子数
+     */
+    public int getLeafCount() {
+        return leaves.length;
+    }
+
+    /**
+     * @param index 叶子序号
+     * @return 叶子摘要（副本）
+     */
+    @NotNull
+    public byte[] getLeaf(int index) {
+        return leaves[index].clone();
+    }
+
+    /**
+     * 对比两棵树，返回不同的叶子序号（叶子数不同时，多出的叶子均视为不同）
+     *
+     * @param other 另一棵树（算法与叶子大小必须相同）
+     * @return 不同的叶子序号
+     */
+    @NotNull
+    public int[] diff(@NotNull TreeHash other) {
+        if (!algorithm.equals(other.algorithm) || leafSize != other.leafSize)
+            throw new IllegalArgumentException("algorithm and leafSize must match!");
+        int max = Math.max(leaves.length, other.leaves.length);
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            if (i >= leaves.length || i >= other.leaves.length
+                    || !MessageDigest.isEqual(leaves[i], other.leaves[i]))
+                changed.add(i);
+        }
+        int[] result = new int[changed.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = changed.get(i);
+        return result;
+    }
+
+    /**
+     * 只重新计算指定叶子并与记录的摘要比较
+     *
+     * @param file  文件
+     * @param index 叶子序号
+     * @return {@code true}未变化
+     * @throws IOException IOException
+     */
+    public boolean verifyLeaf(@NotNull File file, int index) throws IOException {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            long start = (long) index * leafSize;
+            long end = Math.min(start + leafSize, channel.size());
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, end - start));
+            return MessageDigest.isEqual(leaves[index], hashLeaf(Hash.engine(algorithm), data));
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    private static byte[] hashLeaf(DigestEngine engine, ByteBuffer data) {
+        try (DigestEngine.Context context = engine.begin()) {
+            return context.update(new byte[]{LEAF_PREFIX}).update(data).digest();
+        }
+    }
+
+    private static byte[] combine(DigestEngine engine, byte[][] leaves) {
+        byte[][] level = leaves;
+        while (level.length > 1) {
+            byte[][] next = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < next.length; i++) {
+                int l = i * 2;
+                if (l + 1 >= level.length) {
+                    next[i] = level[l];
+                    continue;
+                }
+                try (DigestEngine.Context context = engine.begin()) {
+                    next[i] = context.update(new byte[]{NODE_PREFIX}).update(level[l]).update(level[l + 1]).digest();
+                }
+            }
+            level = next;
+        }
+        return level[0];
+    }
+
+    private static final class LeafTask extends RecursiveAction {
+
+        private final DigestEngine engine;
+        private final FileChannel channel;
+        private final long length;
+        private final int leafSize;
+        private final byte[][] leaves;
+        private final int from;
+        private final int to;
+        private final int leavesPerTask;
+
+        LeafTask(DigestEngine engine, FileChannel channel, long length, int leafSize, byte[][] leaves,
+                 int from, int to, int leavesPerTask) {
+            this.engine = engine;
+            this.channel = channel;
+            this.length = length;
+            this.leafSize = leafSize;
+            this.leaves = leaves;
+            this.from = from;
+            this.to = to;
+            this.leavesPerTask = leavesPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > leavesPerTask) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LeafTask(engine, channel, length, leafSize, leaves, from, mid, leavesPerTask),
+                        new LeafTask(engine, channel, length, leafSize, leaves, mid, to, leavesPerTask));
+                return;
+            }
+            long start = (long) from * leafSize;
+            long end = Math.min((long) to * leafSize, length);
+            ByteBuffer mapped;
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                // ForkJoin 任务不能抛出受检异常
+                throw new UncheckedIOException(e);
+            }
+            for (int i = from; i < to; i++) {
+                int offset = (int) ((long) (i - from) * leafSize);
+                ByteBuffer slice = mapped.duplicate();
+                slice.position(offset);
+                slice.limit((int) Math.min(offset + (long) leafSize, end - start));
+                leaves[i] = hashLeaf(engine, slice);
+            }
+        }
+    }
+}
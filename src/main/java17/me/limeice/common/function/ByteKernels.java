@@ -0,0 +1,113 @@
+package me.limeice.common.function;
+
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 字节处理内核（JDK 17+ 实现）
+ * <pre>
+ *     author: LimeVista(Lime)
+ *     time  : 2026/10/17
+ *     desc  : 与 src/main/java 下的通用实现接口、输出完全一致，打包到 META-INF/versions/17。
+ *             常量时间比较通过 byte[] 视图 VarHandle 每次比较 8 个字节。
+ *             异或保持逐字节循环：C2 会将其自动向量化，按 long 手工展开反而更慢；
+ *             十六进制编解码实测 SWAR/宽写入均无收益，与通用实现相同
+ *     github: https://github.com/LimeVista/EasyCommon
+ * </pre>
+ */
+final class ByteKernels {
+
+    /**
+     * 当前实现名称
+     */
+    static final String NAME = "varhandle";
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+    /* 十六进制解码表，非法字符为-1 */
+    private static final byte[] HEX_DECODE = new byte[128];
+
+    static {
+        Arrays.fill(HEX_DECODE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DECODE[HEX_LOWER[i]] = (byte) i;
+            HEX_DECODE[HEX_UPPER[i]] = (byte) i;
+        }
+    }
+
+    private ByteKernels() {
+        throw new UnsupportedOperationException("Don't instantiate...");
+    }
+
+    /**
+     * 十六进制编码为字符
+     */
+    static void encodeHex(byte[] src, int srcOff, int len, char[] dst, int dstOff, boolean upperCase) {
+        char[] table = upperCase ? HEX_UPPER : HEX_LOWER;
+        for (int i = 0; i < len; i++) {
+            int v = src[srcOff + i] & 0xFF;
+            dst[dstOff++] = table[v >>> 4];
+            dst[dstOff++] = table[v & 0x0F];
+        }
+    }
+
+    /**
+     * 十六进制编码为小写ASCII字节
+     */
+    static void encodeHex(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            int v = src[srcOff + i] & 0xFF;
+            dst[dstOff++] = (byte) HEX_LOWER[v >>> 4];
+            dst[dstOff++] = (byte) HEX_LOWER[v & 0x0F];
+        }
+    }
+
+    /**
+     * 十六进制解码，len为偶数
+     *
+     * @return 第一个非法字符的位置，全部合法时为-1
+     */
+    static int decodeHex(CharSequence src, int srcOff, int len, byte[] dst, int dstOff) {
+        int end = srcOff + len;
+        for (int i = srcOff; i < end; i += 2) {
+            int hi = hexValue(src.charAt(i));
+            int lo = hexValue(src.charAt(i + 1));
+            if ((hi | lo) < 0)
+                return hi < 0 ? i : i + 1;
+            dst[dstOff++] = (byte) (hi << 4 | lo);
+        }
+        return -1;
+    }
+
+    /**
+     * dst = a ^ b，dst可以与a或b是同一数组的同一位置
+     */
+    static void xor(byte[] a, int aOff, byte[] b, int bOff, byte[] dst, int dstOff, int len) {
+        for (int i = 0; i < len; i++)
+            dst[dstOff + i] = (byte) (a[aOff + i] ^ b[bOff + i]);
+    }
+
+    /**
+     * 常量时间比较，耗时只与len有关
+     */
+    static boolean equals(byte[] a, int aOff, byte[] b, int bOff, int len) {
+        long diff = 0;
+        int i = 0;
+        for (; i + 8 <= len; i += 8)
+            diff |= (long) LONG.get(a, aOff + i) ^ (long) LONG.get(b, bOff + i);
+        for (; i < len; i++)
+            diff |= a[aOff + i] ^ b[bOff + i];
+        return diff == 0;
+    }
+
+    private static int hexValue(char c) {
+        return c < 128 ? HEX_DECODE[c] : -1;
+    }
+}
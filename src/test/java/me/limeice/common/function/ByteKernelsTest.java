@@ -0,0 +1,159 @@
+package me.limeice.common.function;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 通用实现与 META-INF/versions/17 下的实现必须输出一致
+ */
+public class ByteKernelsTest {
+
+    private static final String VERSIONED = "/META-INF/versions/17/me/limeice/common/function/ByteKernels.class";
+
+    private final Random random = new Random(17);
+
+    private Class<?> versioned;
+
+    @Before
+    public void setUp() throws Exception {
+        InputStream in = ByteKernelsTest.class.getResourceAsStream(VERSIONED);
+        // JDK 8 构建时没有多版本输出
+        Assume.assumeNotNull(in);
+        final byte[] bytes = IOUtils.read(in);
+        versioned = new ClassLoader(ByteKernelsTest.class.getClassLoader()) {
+            Class<?> define() {
+                return defineClass(ByteKernels.class.getName(), bytes, 0, bytes.length);
+            }
+        }.define();
+        assertEquals("varhandle", field("NAME"));
+        assertEquals("portable", ByteKernels.NAME);
+    }
+
+    @Test
+    public void encodeHex() throws Exception {
+        for (int len = 0; len <= 70; len++) {
+            for (int off = 0; off < 3; off++) {
+                byte[] src = randomBytes(len + off + 2);
+                for (boolean upper : new boolean[]{false, true}) {
+                    char[] expected = new char[len * 2 + 3];
+                    char[] actual = expected.clone();
+                    ByteKernels.encodeHex(src, off, len, expected, 1, upper);
+                    invoke("encodeHex", src, off, len, actual, 1, upper);
+                    assertArrayEquals(expected, actual);
+                }
+                byte[] expected = new byte[len * 2 + 3];
+                byte[] actual = expected.clone();
+                ByteKernels.encodeHex(src, off, len, expected, 2);
+                invoke("encodeHex", src, off, len, actual, 2);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void decodeHex() throws Exception {
+        for (int len = 0; len <= 40; len++) {
+            byte[] src = randomBytes(len);
+            String hex = "x" + BytesUtils.toHexString(src, 0, len, random.nextBoolean()) + "y";
+            byte[] expected = new byte[len + 1];
+            byte[] actual = new byte[len + 1];
+            assertEquals(-1, ByteKernels.decodeHex(hex, 1, len * 2, expected, 1));
+            assertEquals(-1, invoke("decodeHex", hex, 1, len * 2, actual, 1));
+            assertArrayEquals(expected, actual);
+            assertArrayEquals(src, Arrays.copyOfRange(actual, 1, len + 1));
+            // 每个位置放一个非法字符（含非ASCII），两者报告的位置一致
+            for (int i = 1; i <= len * 2; i++) {
+                for (char bad : new char[]{'g', '\u0130', ' '}) {
+                    String broken = hex.substring(0, i) + bad + hex.substring(i + 1);
+                    assertEquals(i, ByteKernels.decodeHex(broken, 1, len * 2, new byte[len + 1], 1));
+                    assertEquals(i, invoke("decodeHex", broken, 1, len * 2, new byte[len + 1], 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void xor() throws Exception {
+        for (int len = 0; len <= 70; len++) {
+            byte[] a = randomBytes(len + 5);
+            byte[] b = randomBytes(len + 5);
+            byte[] expected = new byte[len + 5];
+            byte[] actual = new byte[len + 5];
+            ByteKernels.xor(a, 1, b, 3, expected, 2, len);
+            invoke("xor", a, 1, b, 3, actual, 2, len);
+            assertArrayEquals(expected, actual);
+            // 原地
+            byte[] inPlace = a.clone();
+            invoke("xor", inPlace, 1, b, 3, inPlace, 1, len);
+            ByteKernels.xor(a, 1, b, 3, a, 1, len);
+            assertArrayEquals(a, inPlace);
+        }
+    }
+
+    @Test
+    public void equals() throws Exception {
+        for (int len = 0; len <= 40; len++) {
+            byte[] a = randomBytes(len + 2);
+            byte[] b = new byte[len + 3];
+            System.arraycopy(a, 2, b, 3, len);
+            assertTrue(ByteKernels.equals(a, 2, b, 3, len));
+            assertTrue((Boolean) invoke("equals", a, 2, b, 3, len));
+            for (int i = 0; i < len; i++) {
+                b[3 + i] ^= 0x40;
+                assertFalse(ByteKernels.equals(a, 2, b, 3, len));
+                assertFalse((Boolean) invoke("equals", a, 2, b, 3, len));
+                b[3 + i] ^= 0x40;
+            }
+        }
+    }
+
+    private byte[] randomBytes(int len) {
+        byte[] bs = new byte[len];
+        random.nextBytes(bs);
+        return bs;
+    }
+
+    private Object field(String name) throws Exception {
+        java.lang.reflect.Field field = versioned.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(null);
+    }
+
+    private Object invoke(String name, Object... args) throws Exception {
+        for (Method method : versioned.getDeclaredMethods()) {
+            if (!method.getName().equals(name) || !matches(method.getParameterTypes(), args))
+                continue;
+            method.setAccessible(true);
+            try {
+                return method.invoke(null, args);
+            } catch (InvocationTargetException e) {
+                throw (Exception) e.getCause();
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private static boolean matches(Class<?>[] types, Object[] args) {
+        if (types.length != args.length)
+            return false;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isPrimitive())
+                continue;
+            if (!types[i].isInstance(args[i]))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+package me.limeice.common.function;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class BytesUtilsTest {
+
+    @Test
+    public void hex() throws Exception {
+        byte[] bytes = new byte[]{0x1A, 0x2C, 0x3B, 0x00, (byte) 0xFF};
+        assertEquals("1a2c3b00ff", BytesUtils.toHexString(bytes));
+        assertEquals("2C3B", BytesUtils.toHexString(bytes, 1, 2, true));
+        assertArrayEquals(bytes, BytesUtils.hexStringToBytes("1A2c3B00fF"));
+        assertNull(BytesUtils.hexStringToBytes(""));
+        assertEquals("[0x1a, 0x2c, 0x3b, 0x00, 0xff]", BytesUtils.convert(bytes));
+        assertEquals("[]", BytesUtils.convert(new byte[0]));
+        assertEquals("0x08", BytesUtils.convert((byte) 8));
+
+        byte[] random = new byte[1000];
+        new Random(1).nextBytes(random);
+        StringBuilder builder = new StringBuilder();
+        BytesUtils.appendHex(random, 0, random.length, builder);
+        assertEquals(BytesUtils.toHexString(random), builder.toString());
+        byte[] ascii = new byte[2000];
+        BytesUtils.encodeHex(random, 0, random.length, ascii, 0);
+        assertEquals(builder.toString(), new String(ascii));
+        assertArrayEquals(random, BytesUtils.hexStringToBytes(builder.toString()));
+    }
+
+    @Test
+    public void hexInvalid() {
+        for (String s : new String[]{"1", "0g", "zz", "éa"}) {
+            try {
+                BytesUtils.hexStringToBytes(s);
+                fail(s);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void hexDump() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        BytesUtils.hexDump("Hello Lime\n0123456789".getBytes("UTF-8"), builder);
+        assertEquals("00000000  48 65 6c 6c 6f 20 4c 69  6d 65 0a 30 31 32 33 34  |Hello Lime.01234|\n"
+                + "00000010  35 36 37 38 39                                    |56789|\n", builder.toString());
+    }
+
+    @Test
+    public void xorAndCompare() {
+        byte[] a = {0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09};
+        byte[] b = {(byte) 0xFF, 0x00, (byte) 0xFF, 0x00, (byte) 0xFF, 0x00, (byte) 0xFF, 0x00, (byte) 0xFF};
+        byte[] c = new byte[9];
+        BytesUtils.xor(a, 0, b, 0, c, 0, 9);
+        assertEquals("fe02fc04fa06f808f6", BytesUtils.toHexString(c));
+        BytesUtils.xor(c, 0, b, 0, c, 0, 9);
+        assertTrue(BytesUtils.constantTimeEquals(a, c));
+        assertFalse(BytesUtils.constantTimeEquals(a, b));
+        assertFalse(BytesUtils.constantTimeEquals(a, new byte[8]));
+        assertTrue(BytesUtils.constantTimeEquals(a, 1, c, 1, 8));
+    }
+
+    @Test
+    public void bulkInts() {
+        int[] values = {0, 1, -1, 0x12345678, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        for (ByteOrder order : ORDERS) {
+            byte[] bs = BytesUtils.toBytes(values, order);
+            for (int i = 0; i < values.length; i++)
+                assertArrayEquals(scalar(BytesUtils.toBytes(values[i]), order), Arrays.copyOfRange(bs, i * 4, i * 4 + 4));
+            assertArrayEquals(values, BytesUtils.getInts(bs, order));
+
+            // 非零 index/off
+            byte[] dst = new byte[3 + 3 * 4];
+            assertEquals(12, BytesUtils.put(dst, 3, values, 2, 3, order));
+            assertArrayEquals(Arrays.copyOfRange(bs, 8, 20), Arrays.copyOfRange(dst, 3, 15));
+            int[] out = new int[5];
+            BytesUtils.getInts(dst, 3, out, 1, 3, order);
+            assertArrayEquals(new int[]{0, values[2], values[3], values[4], 0}, out);
+
+            ByteBuffer buf = ByteBuffer.allocate(2 + 12).order(otherOrder(order));
+            buf.position(2);
+            BytesUtils.put(buf, values, 2, 3, order);
+            assertEquals(14, buf.position());
+            assertEquals(otherOrder(order), buf.order());
+            buf.position(2);
+            int[] back = new int[3];
+            BytesUtils.getInts(buf, back, 0, 3, order);
+            assertEquals(14, buf.position());
+            assertArrayEquals(Arrays.copyOfRange(values, 2, 5), back);
+        }
+    }
+
+    @Test
+    public void bulkLongs() {
+        long[] values = {0, 1, -1, 0x123456789ABCDEF0L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (ByteOrder order : ORDERS) {
+            byte[] bs = BytesUtils.toBytes(values, order);
+            for (int i = 0; i < values.length; i++)
+                assertArrayEquals(scalar(BytesUtils.toBytes(values[i]), order), Arrays.copyOfRange(bs, i * 8, i * 8 + 8));
+            assertArrayEquals(values, BytesUtils.getLongs(bs, order));
+
+            byte[] dst = new byte[5 + 2 * 8];
+            assertEquals(16, BytesUtils.put(dst, 5, values, 3, 2, order));
+            assertArrayEquals(Arrays.copyOfRange(bs, 24, 40), Arrays.copyOfRange(dst, 5, 21));
+            long[] out = new long[4];
+            BytesUtils.getLongs(dst, 5, out, 2, 2, order);
+            assertArrayEquals(new long[]{0, 0, values[3], values[4]}, out);
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 + 16);
+            buf.position(1);
+            BytesUtils.put(buf, values, 3, 2, order);
+            assertEquals(17, buf.position());
+            buf.position(1);
+            long[] back = new long[2];
+            BytesUtils.getLongs(buf, back, 0, 2, order);
+            assertEquals(17, buf.position());
+            assertArrayEquals(Arrays.copyOfRange(values, 3, 5), back);
+        }
+    }
+
+    @Test
+    public void bulkFloatsAndDoubles() {
+        float[] floats = {0f, -0f, 1.5f, -3.25f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN};
+        double[] doubles = {0d, -0d, 1.5d, -3.25d, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN};
+        for (ByteOrder order : ORDERS) {
+            byte[] fs = BytesUtils.toBytes(floats, order);
+            byte[] ds = BytesUtils.toBytes(doubles, order);
+            for (int i = 0; i < floats.length; i++) {
+                assertArrayEquals(scalar(BytesUtils.toBytes(floats[i]), order), Arrays.copyOfRange(fs, i * 4, i * 4 + 4));
+                assertArrayEquals(scalar(BytesUtils.toBytes(doubles[i]), order), Arrays.copyOfRange(ds, i * 8, i * 8 + 8));
+            }
+            assertArrayEquals(floats, BytesUtils.getFloats(fs, order), 0f);
+            assertArrayEquals(doubles, BytesUtils.getDoubles(ds, order), 0d);
+
+            byte[] dst = new byte[7 + 2 * 8];
+            assertEquals(8, BytesUtils.put(dst, 7, floats, 2, 2, order));
+            float[] fOut = new float[3];
+            BytesUtils.getFloats(dst, 7, fOut, 1, 2, order);
+            assertArrayEquals(new float[]{0f, floats[2], floats[3]}, fOut, 0f);
+            assertEquals(16, BytesUtils.put(dst, 7, doubles, 2, 2, order));
+            double[] dOut = new double[3];
+            BytesUtils.getDoubles(dst, 7, dOut, 1, 2, order);
+            assertArrayEquals(new double[]{0d, doubles[2], doubles[3]}, dOut, 0d);
+
+            ByteBuffer buf = ByteBuffer.allocate(3 + 8 + 16);
+            buf.position(3);
+            BytesUtils.put(buf, floats, 2, 2, order);
+            BytesUtils.put(buf, doubles, 2, 2, order);
+            assertEquals(27, buf.position());
+            buf.position(3);
+            float[] fBack = new float[2];
+            double[] dBack = new double[2];
+            BytesUtils.getFloats(buf, fBack, 0, 2, order);
+            BytesUtils.getDoubles(buf, dBack, 0, 2, order);
+            assertEquals(27, buf.position());
+            assertArrayEquals(Arrays.copyOfRange(floats, 2, 4), fBack, 0f);
+            assertArrayEquals(Arrays.copyOfRange(doubles, 2, 4), dBack, 0d);
+        }
+    }
+
+    @Test
+    public void bulkBounds() {
+        ByteBuffer buf = ByteBuffer.allocate(7);
+        try {
+            BytesUtils.put(buf, new long[1], 0, 1, ByteOrder.BIG_ENDIAN);
+            fail();
+        } catch (BufferOverflowException ignored) {
+        }
+        assertEquals(0, buf.position());
+        try {
+            BytesUtils.getInts(new byte[6], ByteOrder.BIG_ENDIAN);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            BytesUtils.getInts(new byte[8], 6, new int[1], 0, 1, ByteOrder.BIG_ENDIAN);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    private static final ByteOrder[] ORDERS = {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN};
+
+    /* 标量 toBytes 为小端序，转换为指定字节序 */
+    private static byte[] scalar(byte[] littleEndian, ByteOrder order) {
+        if (order == ByteOrder.LITTLE_ENDIAN)
+            return littleEndian;
+        byte[] bs = new byte[littleEndian.length];
+        for (int i = 0; i < bs.length; i++)
+            bs[i] = littleEndian[bs.length - 1 - i];
+        return bs;
+    }
+
+    private static ByteOrder otherOrder(ByteOrder order) {
+        return order == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+}
@@ -0,0 +1,204 @@
+package me.limeice.common.function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import me.limeice.common.function.algorithm.security.Hash;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class ChunkedCipherFileTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    private File enc;
+
+    private ChunkedCipherFile container;
+
+    @Before
+    public void setUp() throws Exception {
+        enc = File.createTempFile("chunked", ".aesc");
+        container = new ChunkedCipherFile(KEY_BYTES);
+        container.setChunkSize(1000);
+    }
+
+    @After
+    public void tearDown() {
+        assertTrue(enc.delete());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        for (int size : new int[]{0, 1, 999, 1000, 1001, 5000, 12345}) {
+            byte[] data = write(size);
+            assertEquals(ChunkedCipherFile.getEncryptedSize(size, 1000), enc.length());
+            try (SeekableByteChannel channel = container.newReader(enc)) {
+                assertEquals(size, channel.size());
+                ByteBuffer buffer = ByteBuffer.allocate(size + 10);
+                while (channel.read(buffer) > 0) ;
+                assertEquals(size, buffer.position());
+                assertArrayEquals(data, Arrays.copyOf(buffer.array(), size));
+                assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+            }
+        }
+    }
+
+    @Test
+    public void randomAccess() throws Exception {
+        byte[] data = write(12345);
+        Random random = new Random(23);
+        try (SeekableByteChannel channel = container.newReader(enc)) {
+            for (int i = 0; i < 200; i++) {
+                int pos = random.nextInt(data.length);
+                int len = Math.min(random.nextInt(3000), data.length - pos);
+                ByteBuffer buffer = ByteBuffer.allocate(len);
+                channel.position(pos);
+                assertEquals(len, channel.read(buffer));
+                assertArrayEquals(Arrays.copyOfRange(data, pos, pos + len), buffer.array());
+                assertEquals(pos + len, channel.position());
+            }
+            channel.position(data.length + 100);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    public void tampered() throws Exception {
+        byte[] data = write(5000);
+        try (RandomAccessFile file = new RandomAccessFile(enc, "rw")) {
+            file.seek(ChunkedCipherFile.HEADER_SIZE + 2500);
+            int b = file.read();
+            file.seek(ChunkedCipherFile.HEADER_SIZE + 2500);
+            file.write(b ^ 1);
+        }
+        try (SeekableByteChannel channel = container.newReader(enc)) {
+            // 未被篡改的块仍可读取
+            ByteBuffer buffer = ByteBuffer.allocate(1000);
+            assertEquals(1000, channel.read(buffer));
+            assertArrayEquals(Arrays.copyOf(data, 1000), buffer.array());
+            channel.position(2200);
+            try {
+                channel.read(ByteBuffer.allocate(10));
+                fail();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void abort() throws Exception {
+        ChunkedCipherFile.Writer out = container.newWriter(enc);
+        out.write(new byte[2500]);
+        out.abort();
+        out.close();
+        // 没有尾部，不是完整的文件
+        try {
+            container.newReader(enc).close();
+            fail();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    public void truncated() throws Exception {
+        write(5000);
+        // 去掉最后一块并改写尾部长度
+        long keep = ChunkedCipherFile.getEncryptedSize(4000, 1000) - ChunkedCipherFile.TRAILER_SIZE;
+        byte[] trailer = new byte[ChunkedCipherFile.TRAILER_SIZE];
+        try (RandomAccessFile file = new RandomAccessFile(enc, "rw")) {
+            file.seek(file.length() - trailer.length);
+            file.readFully(trailer);
+            trailer[6] = (byte) (4000 >>> 8);
+            trailer[7] = (byte) 4000;
+            file.setLength(keep);
+            file.seek(keep);
+            file.write(trailer);
+        }
+        try {
+            container.newReader(enc).close();
+            fail();
+        } catch (IOException ignored) {
+        }
+        try {
+            new ChunkedCipherFile(new byte[16]).newReader(enc).close();
+            fail();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    public void perFileKey() throws Exception {
+        write(3000);
+        byte[] first = IOUtils.read(enc);
+        write(3000);
+        byte[] second = IOUtils.read(enc);
+        // 相同明文、相同密钥，每个文件的盐与子密钥不同
+        int from = ChunkedCipherFile.HEADER_SIZE;
+        assertFalse(Arrays.equals(Arrays.copyOfRange(first, from, from + 1000),
+                Arrays.copyOfRange(second, from, from + 1000)));
+        // 修改盐即无法解密
+        try (RandomAccessFile file = new RandomAccessFile(enc, "rw")) {
+            file.seek(20);
+            int b = file.read();
+            file.seek(20);
+            file.write(b ^ 1);
+        }
+        try {
+            container.newReader(enc).close();
+            fail();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    public void writerClosesOnFailure() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        try {
+            container.newWriter(broken);
+            fail();
+        } catch (IOException ignored) {
+        }
+        assertTrue(closed.get());
+    }
+
+    private byte[] write(int size) throws IOException {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        try (OutputStream out = container.newWriter(enc)) {
+            // 不规则的写入长度
+            for (int off = 0; off < size; ) {
+                int n = Math.min(size - off, 1 + off % 1500);
+                out.write(data, off, n);
+                off += n;
+            }
+        }
+        return data;
+    }
+}
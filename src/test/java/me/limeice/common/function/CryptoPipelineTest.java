@@ -0,0 +1,57 @@
+package me.limeice.common.function;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Session;
+import me.limeice.common.function.algorithm.security.Hash;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class CryptoPipelineTest {
+
+    @Test
+    public void roundTrip() throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024 + 5];
+        Random random = new Random(1);
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) ('0' + random.nextInt(10));
+        AES128Session session = new AES128(AES128.CBC | AES128.PKCS5Padding).newSession(Hash.md5ToBytes("pipeline"));
+        File src = File.createTempFile("pipeline-src", ".bin");
+        File secret = File.createTempFile("pipeline-secret", ".bin");
+        File dst = File.createTempFile("pipeline-dst", ".bin");
+        try {
+            IOUtils.write(src, data);
+            CryptoPipeline pipeline = new CryptoPipeline(session).setBufferSize(16 * 1024).setQueueDepth(2);
+            long size = pipeline.encrypt(src, secret);
+            assertTrue(size < data.length / 2);
+            // 与分步处理（解密整个文件再解压）结果一致
+            byte[] zipped = session.decrypt(IOUtils.read(secret));
+            assertArrayEquals(data, IOUtils.read(new GZIPInputStream(new ByteArrayInputStream(zipped))));
+
+            pipeline.decrypt(secret, dst);
+            assertArrayEquals(data, IOUtils.read(dst));
+
+            // 错误的密钥：解密或解压阶段失败，异常传回调用线程
+            AES128Session wrong = new AES128(AES128.CBC | AES128.PKCS5Padding).newSession(Hash.md5ToBytes("wrong"));
+            try {
+                new CryptoPipeline(wrong).decrypt(secret, dst);
+                fail();
+            } catch (IOException ignored) {
+            }
+        } finally {
+            src.delete();
+            secret.delete();
+            dst.delete();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package me.limeice.common.function;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class IOUtilsTest {
+
+    @Test
+    public void read() throws IOException {
+        byte[] data = new byte[3 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(data);
+        for (long hint : new long[]{-1, 0, 100, data.length - 1, data.length, data.length + 100}) {
+            assertArrayEquals(String.valueOf(hint), data, IOUtils.read(new ByteArrayInputStream(data), hint));
+            assertArrayEquals(String.valueOf(hint), data, IOUtils.read(trickle(data), hint));
+            ByteBuffer buf = IOUtils.readBuffer(trickle(data), hint);
+            assertEquals(0, buf.position());
+            assertEquals(data.length, buf.remaining());
+            assertArrayEquals(Arrays.copyOf(buf.array(), buf.limit()), data);
+        }
+        assertArrayEquals(data, IOUtils.read(new ByteArrayInputStream(data)));
+        assertEquals(0, IOUtils.read(new ByteArrayInputStream(new byte[0])).length);
+        assertEquals(0, IOUtils.readBuffer(new ByteArrayInputStream(new byte[0]), 10).remaining());
+    }
+
+    @Test
+    public void readFile() throws IOException {
+        byte[] data = new byte[5 * 1024 * 1024 + 3];
+        new Random(2).nextBytes(data);
+        File file = File.createTempFile("io-utils", ".bin");
+        try {
+            IOUtils.write(file, data);
+            assertArrayEquals(data, IOUtils.read(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void bufferPool() {
+        BufferPool pool = new BufferPool(4);
+        byte[] a = pool.acquire(100);
+        assertEquals(BufferPool.MIN_SIZE, a.length);
+        Arrays.fill(a, (byte) 1);
+        pool.release(a);
+        assertSame(a, pool.acquire(BufferPool.MIN_SIZE));
+        // 归还时清零
+        assertArrayEquals(new byte[BufferPool.MIN_SIZE], a);
+        byte[] b = pool.acquire(BufferPool.MIN_SIZE + 1);
+        assertEquals(BufferPool.MIN_SIZE * 2, b.length);
+        assertEquals(BufferPool.MAX_SIZE + 1, pool.acquire(BufferPool.MAX_SIZE + 1).length);
+        // 非分级长度不入池
+        pool.release(new byte[10000]);
+        assertEquals(BufferPool.MIN_SIZE * 2, pool.acquire(10000).length);
+    }
+
+    @Test
+    public void untrustedHint() throws IOException {
+        // 接近2GB的预计长度不会预先分配，短数据正常返回
+        byte[] data = "short body".getBytes("UTF-8");
+        long hint = Integer.MAX_VALUE - 100;
+        assertArrayEquals(data, IOUtils.read(new ByteArrayInputStream(data), hint));
+        ByteBuffer buf = IOUtils.readBuffer(new ByteArrayInputStream(data), hint);
+        assertEquals(data.length, buf.remaining());
+        assertTrue(buf.capacity() <= 16 * 1024 * 1024);
+        // 超过上限的数据随读取增长
+        byte[] large = new byte[20 * 1024 * 1024 + 3];
+        new Random(4).nextBytes(large);
+        assertArrayEquals(large, IOUtils.read(new ByteArrayInputStream(large), large.length));
+        buf = IOUtils.readBuffer(new ByteArrayInputStream(large), large.length);
+        assertArrayEquals(large, Arrays.copyOf(buf.array(), buf.limit()));
+    }
+
+    @Test
+    public void readTooLarge() throws IOException {
+        // 超过2GB的文件流，available()返回Integer.MAX_VALUE
+        InputStream huge = new ByteArrayInputStream(new byte[10]) {
+            @Override
+            public synchronized int available() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        try {
+            IOUtils.read(huge, -1);
+            fail();
+        } catch (IOException ignored) {
+        }
+        try {
+            IOUtils.readBuffer(huge, -1);
+            fail();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /* 每次最多返回少量字节，模拟网络流 */
+    private static InputStream trickle(byte[] data) {
+        return new FilterInputStream(new ByteArrayInputStream(data)) {
+            private final Random random = new Random(3);
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(70000)));
+            }
+
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package me.limeice.common.function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.security.InvalidAlgorithmParameterException;
+import java.util.Arrays;
+import java.util.Random;
+
+import me.limeice.common.function.algorithm.security.AES128;
+import me.limeice.common.function.algorithm.security.AES128Ctr;
+import me.limeice.common.function.algorithm.security.Hash;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class MappedFileCipherTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    private File src, enc, dec;
+
+    @Before
+    public void setUp() throws Exception {
+        src = File.createTempFile("mapped", ".src");
+        enc = File.createTempFile("mapped", ".enc");
+        dec = File.createTempFile("mapped", ".dec");
+    }
+
+    @After
+    public void tearDown() {
+        assertTrue(src.delete() & enc.delete() & dec.delete());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        int[] types = {AES128.ECB | AES128.PKCS5Padding, AES128.CBC | AES128.PKCS5Padding,
+                AES128.CBC | AES128.NoPadding, AES128.CTR | AES128.NoPadding};
+        int[] sizes = {0, 4096, 100000};
+        int ctr = AES128.CTR | AES128.NoPadding;
+        for (int type : types) {
+            for (int size : sizes) {
+                if (type == ctr)
+                    size += 5;
+                AES128 aes = new AES128(type);
+                byte[] msg = new byte[size];
+                new Random(size).nextBytes(msg);
+                IOUtils.write(src, msg);
+
+                MappedFileCipher cipher = new MappedFileCipher(aes, KEY_BYTES);
+                cipher.setSegmentSize(1000);
+                if (type == ctr) {
+                    // 未提供计数器块时拒绝
+                    try {
+                        cipher.encrypt(src, enc);
+                        fail();
+                    } catch (InvalidAlgorithmParameterException ignored) {
+                    }
+                    aes.setIV(AES128Ctr.newIV());
+                }
+                cipher.encrypt(src, enc);
+                if (type == ctr) {
+                    // byte[]接口输出为 计数器块 || 密文
+                    byte[] secret = IOUtils.read(enc);
+                    byte[] sealed = Arrays.copyOf(aes.getIV(), 16 + secret.length);
+                    System.arraycopy(secret, 0, sealed, 16, secret.length);
+                    assertArrayEquals(msg, aes.decrypt(sealed, KEY_BYTES));
+                } else {
+                    assertArrayEquals(aes.encrypt(msg, KEY_BYTES), IOUtils.read(enc));
+                }
+                MappedFileCipher.Report report = cipher.decrypt(enc, dec);
+                assertArrayEquals(msg, IOUtils.read(dec));
+                assertFalse(report.getThreadThroughput().isEmpty());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.limeice.common.function;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class ParallelGzipTest {
+
+    @Test
+    public void roundTrip() throws Exception {
+        Random random = new Random(1);
+        byte[] data = new byte[3 * 1024 * 1024 + 11];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) ('a' + random.nextInt(8));
+        for (int threads : new int[]{1, 4}) {
+            for (int blockSize : new int[]{32 * 1024, ParallelGzip.DEFAULT_BLOCK_SIZE, data.length}) {
+                ParallelGzip gzip = new ParallelGzip().setThreads(threads).setBlockSize(blockSize).setLevel(6);
+                byte[] zipped = gzip.compress(data);
+                assertTrue(zipped.length < data.length / 2);
+                assertArrayEquals(data, gunzip(zipped));
+            }
+        }
+        // 不可压缩数据与空输入
+        byte[] noise = new byte[100000];
+        random.nextBytes(noise);
+        assertArrayEquals(noise, gunzip(new ParallelGzip().setBlockSize(32 * 1024).compress(noise)));
+        assertArrayEquals(new byte[0], gunzip(new ParallelGzip().compress(new byte[0])));
+    }
+
+    @Test
+    public void executor() throws Exception {
+        byte[] data = new byte[5 * 32 * 1024];
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = command -> {
+            tasks.incrementAndGet();
+            command.run();
+        };
+        ParallelGzip gzip = new ParallelGzip().setThreads(2).setBlockSize(32 * 1024).setExecutor(executor);
+        assertArrayEquals(data, gunzip(gzip.compress(data)));
+        assertEquals(5, tasks.get());
+    }
+
+    @Test
+    public void zip() throws Exception {
+        byte[] data = new byte[2 * 1024 * 1024];
+        new Random(2).nextBytes(data);
+        for (int i = 0; i < data.length; i += 2)
+            data[i] = 0;
+        ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+        IOUtils.zip(new ByteArrayInputStream(data), zipped, new ParallelGzip().setBlockSize(256 * 1024));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtils.unzip(new ByteArrayInputStream(zipped.toByteArray()), out);
+        assertArrayEquals(data, out.toByteArray());
+
+        zipped = new ByteArrayOutputStream();
+        IOUtils.zip(new ByteArrayInputStream(data), zipped);
+        assertArrayEquals(data, gunzip(zipped.toByteArray()));
+    }
+
+    private static byte[] gunzip(byte[] zipped) throws Exception {
+        return IOUtils.read(new GZIPInputStream(new ByteArrayInputStream(zipped)));
+    }
+}
@@ -0,0 +1,80 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+public class AES128Base64Test {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    private static final String[] MSGS = {"", "a", "0123456789ABCDEF", "用户=Lime;😀", "x\uD800y"};
+
+    @Test
+    public void matchesAES128() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Base64 codec = new AES128Base64(aes.newSession(KEY_BYTES));
+        for (String msg : MSGS) {
+            String expect = aes.encryptBase64(msg, KEY_BYTES);
+            assertEquals(expect, codec.encrypt(msg));
+            StringBuilder builder = new StringBuilder();
+            codec.encrypt(msg, builder);
+            assertEquals(expect, builder.toString());
+            assertEquals(aes.decryptBase64(expect, KEY_BYTES), codec.decrypt(expect));
+        }
+    }
+
+    @Test
+    public void urlSafe() throws Exception {
+        AES128 aes = new AES128(AES128.ECB | AES128.PKCS5Padding);
+        AES128Base64 codec = new AES128Base64(aes.newSession(KEY_BYTES), true, false);
+        for (int len = 0; len < 40; len++) {
+            StringBuilder msg = new StringBuilder();
+            for (int i = 0; i < len; i++)
+                msg.append((char) ('a' + i % 26));
+            String expect = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(aes.encrypt(msg.toString(), KEY_BYTES));
+            byte[] dst = new byte[codec.getEncryptOutputSize(len) + 1];
+            int n = codec.encrypt(msg, dst, 1);
+            assertEquals(expect, new String(dst, 1, n, "US-ASCII"));
+            CharBuffer chars = CharBuffer.allocate(codec.getEncryptOutputSize(len));
+            codec.encrypt(msg, chars);
+            chars.flip();
+            assertEquals(expect, chars.toString());
+            StringBuilder plain = new StringBuilder();
+            codec.decrypt(expect, plain);
+            assertEquals(msg.toString(), plain.toString());
+        }
+    }
+
+    @Test
+    public void largeAndFailed() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Base64 codec = new AES128Base64(aes.newSession(KEY_BYTES));
+        // 超过入池上限的消息之后，小消息仍正常
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 100000; i++)
+            large.append((char) ('a' + i % 26));
+        String secret = codec.encrypt(large);
+        assertEquals(large.toString(), codec.decrypt(secret));
+        assertEquals("Lime", codec.decrypt(codec.encrypt("Lime")));
+        // 失败后缓冲区同样归还
+        try {
+            codec.decrypt("AAAA");
+            fail();
+        } catch (GeneralSecurityException ignored) {
+        }
+        try {
+            codec.encrypt("Lime", new byte[4], 0);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        assertEquals("Lime", codec.decrypt(codec.encrypt("Lime")));
+    }
+}
@@ -0,0 +1,52 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+
+public class AES128CtrTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    @Test
+    public void matchesJce() throws Exception {
+        byte[] iv = AES128Ctr.newIV();
+        Arrays.fill(iv, 8, 16, (byte) 0xFF); // 计数器进位跨越nonce
+        AES128 aes = new AES128(AES128.CTR | AES128.NoPadding);
+        aes.setIV(iv);
+        byte[] msg = new byte[1000003];
+        new Random(3).nextBytes(msg);
+        // 调用方提供计数器块的 ByteBuffer 接口
+        ByteBuffer dst = ByteBuffer.allocate(msg.length);
+        aes.encrypt(ByteBuffer.wrap(msg), dst, KEY_BYTES);
+        byte[] expect = dst.array();
+
+        AES128Ctr ctr = new AES128Ctr(KEY_BYTES);
+        ctr.setParallelThreshold(1000);
+        ctr.setParallelism(7);
+        byte[] secret = ctr.encrypt(iv, msg);
+        assertArrayEquals(expect, secret);
+        assertArrayEquals(msg, ctr.decrypt(iv, secret));
+        // byte[]接口为 计数器块 || 密文
+        byte[] sealed = Arrays.copyOf(iv, 16 + secret.length);
+        System.arraycopy(secret, 0, sealed, 16, secret.length);
+        assertArrayEquals(msg, aes.decrypt(sealed, KEY_BYTES));
+    }
+
+    @Test
+    public void randomAccess() throws Exception {
+        byte[] iv = AES128Ctr.newIV();
+        AES128Ctr ctr = new AES128Ctr(KEY_BYTES);
+        byte[] msg = new byte[5000];
+        new Random(5).nextBytes(msg);
+        byte[] secret = ctr.encrypt(iv, msg);
+        int[][] ranges = {{0, 1}, {17, 100}, {4095, 905}, {31, 1}};
+        for (int[] r : ranges)
+            assertArrayEquals(Arrays.copyOfRange(msg, r[0], r[0] + r[1]), ctr.decrypt(iv, r[0], secret, r[0], r[1]));
+    }
+}
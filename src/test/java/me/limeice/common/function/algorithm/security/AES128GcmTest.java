@@ -0,0 +1,77 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import javax.crypto.AEADBadTagException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+public class AES128GcmTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    @Test
+    public void sealAndOpen() throws Exception {
+        AES128Gcm gcm = new AES128Gcm(KEY_BYTES, 96);
+        byte[] aad = "header".getBytes("UTF-8");
+        byte[] msg = "0123456789ABCDEF0123".getBytes("UTF-8");
+        byte[] sealed = gcm.seal(aad, msg);
+        assertEquals(gcm.getSealedSize(msg.length), sealed.length);
+        assertArrayEquals(msg, gcm.open(aad, sealed));
+
+        sealed[sealed.length - 1] ^= 1;
+        try {
+            gcm.open(aad, sealed);
+            fail();
+        } catch (AEADBadTagException ignored) {
+        }
+    }
+
+    @Test
+    public void incremental() throws Exception {
+        AES128Gcm gcm = new AES128Gcm(KEY_BYTES);
+        byte[] nonce = AES128Gcm.newNonce();
+        byte[] msg = new byte[10000];
+        new Random(1).nextBytes(msg);
+
+        AES128Gcm.Operation op = gcm.encryptor(nonce);
+        op.updateAAD(new byte[]{1, 2});
+        op.updateAAD(new byte[]{3});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < msg.length; i += 999)
+            out.write(op.update(msg, i, Math.min(999, msg.length - i)));
+        out.write(op.doFinal());
+        assertArrayEquals(msg, gcm.decrypt(nonce, new byte[]{1, 2, 3}, out.toByteArray()));
+
+        op = gcm.decryptor(nonce);
+        op.updateAAD(new byte[]{1, 2, 3});
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        plain.write(op.update(out.toByteArray()));
+        plain.write(op.doFinal());
+        assertArrayEquals(msg, plain.toByteArray());
+    }
+
+    @Test
+    public void aes128Mode() throws Exception {
+        AES128 aes = new AES128(AES128.GCM | AES128.NoPadding);
+        String secret = aes.encryptBase64("0123456789ABCDEF", KEY_BYTES);
+        assertEquals("0123456789ABCDEF", aes.decryptBase64(secret, KEY_BYTES));
+        assertEquals(12 + 16 + 16, aes.getEncryptOutputSize(16));
+
+        // 切换密钥与标签长度时不复用旧的AES128Gcm
+        byte[] other = Hash.md5ToBytes("other");
+        byte[] sealed = aes.encrypt("0123456789ABCDEF".getBytes("UTF-8"), other);
+        assertEquals("0123456789ABCDEF", new String(new AES128Gcm(other).open(null, sealed), "UTF-8"));
+        assertEquals("0123456789ABCDEF", aes.decryptBase64(secret, KEY_BYTES));
+        aes.setTagLength(96);
+        sealed = aes.encrypt("0123456789ABCDEF".getBytes("UTF-8"), KEY_BYTES);
+        assertEquals(12 + 16 + 12, sealed.length);
+        assertEquals("0123456789ABCDEF", new String(new AES128Gcm(KEY_BYTES, 96).open(null, sealed), "UTF-8"));
+    }
+}
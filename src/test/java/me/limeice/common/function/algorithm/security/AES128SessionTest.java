@@ -0,0 +1,140 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import me.limeice.common.function.BytesUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+
+public class AES128SessionTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    private static final byte[] iv = new byte[]{0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01,
+            0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01};
+
+    private static final String SMSG_ECB = "5faf450bd7925bf9deb073a20824f635fb3f1554e6f0f0efc8e0bc39c5f7ad15";
+
+    @Test
+    public void encrypt() throws Exception {
+        AES128Session session = new AES128(AES128.ECB | AES128.PKCS5Padding).newSession(KEY_BYTES);
+        for (int i = 0; i < 3; i++)
+            assertEquals(SMSG_ECB, BytesUtils.toHexString(session.encrypt("0123456789ABCDEF".getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void snapshotIV() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        aes.setIV(iv);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        byte[] msg = "snapshot".getBytes("UTF-8");
+        byte[] expect = aes.encrypt(msg, KEY_BYTES);
+        aes.setIV(new byte[16]);
+        assertArrayEquals(expect, session.encrypt(msg));
+        assertArrayEquals(msg, session.decrypt(expect));
+    }
+
+    @Test
+    public void byteBuffer() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        byte[] msg = "direct buffer message".getBytes("UTF-8");
+        byte[] expect = aes.encrypt(msg, KEY_BYTES);
+
+        ByteBuffer src = ByteBuffer.allocateDirect(msg.length);
+        src.put(msg).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(session.getEncryptOutputSize(msg.length));
+        assertEquals(expect.length, session.encrypt(src, dst));
+        dst.flip();
+        byte[] secret = new byte[dst.remaining()];
+        dst.duplicate().get(secret);
+        assertArrayEquals(expect, secret);
+
+        ByteBuffer plain = ByteBuffer.allocate(session.getDecryptOutputSize(dst.remaining()));
+        assertEquals(msg.length, aes.decrypt(dst, plain, KEY_BYTES));
+        assertArrayEquals(msg, Arrays.copyOf(plain.array(), plain.position()));
+    }
+
+    @Test
+    public void inPlace() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.NoPadding);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        byte[] msg = new byte[64];
+        for (int i = 0; i < msg.length; i++)
+            msg[i] = (byte) i;
+        byte[] expect = aes.encrypt(msg, KEY_BYTES);
+        for (ByteBuffer buf : new ByteBuffer[]{ByteBuffer.allocate(80), ByteBuffer.allocateDirect(80)}) {
+            buf.position(8);
+            buf.put(msg).flip().position(8);
+            assertEquals(64, session.encryptInPlace(buf));
+            byte[] secret = new byte[64];
+            buf.duplicate().get(secret);
+            assertArrayEquals(expect, secret);
+            assertEquals(64, session.decryptInPlace(buf));
+            byte[] plain = new byte[64];
+            buf.duplicate().get(plain);
+            assertArrayEquals(msg, plain);
+        }
+    }
+
+    @Test
+    public void batch() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        Random random = new Random(11);
+        byte[][] msgs = new byte[5000][];
+        for (int i = 0; i < msgs.length; i++) {
+            msgs[i] = new byte[random.nextInt(64)];
+            random.nextBytes(msgs[i]);
+        }
+        for (boolean parallel : new boolean[]{false, true}) {
+            AES128Batch secret = session.encryptBatch(msgs, parallel);
+            assertEquals(msgs.length, secret.size());
+            for (int i = 0; i < msgs.length; i++)
+                assertArrayEquals(aes.encrypt(msgs[i], KEY_BYTES), secret.get(i));
+            AES128Batch plain = aes.decryptBatch(secret.getData(), secret.getOffsets(), KEY_BYTES, parallel);
+            for (int i = 0; i < msgs.length; i++)
+                assertArrayEquals(msgs[i], plain.get(i));
+            assertEquals(plain.getOffsets()[msgs.length], plain.getData().length);
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        final AES128Session session = aes.newSession(KEY_BYTES);
+        final byte[] msg = new byte[4096];
+        for (int i = 0; i < msg.length; i++)
+            msg[i] = (byte) i;
+        final byte[] expect = aes.encrypt(msg, KEY_BYTES);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        byte[] secret = session.encrypt(msg);
+                        assertArrayEquals(expect, secret);
+                        assertArrayEquals(msg, session.decrypt(secret));
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> f : futures)
+                f.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
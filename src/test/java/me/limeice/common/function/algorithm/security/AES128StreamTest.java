@@ -0,0 +1,44 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import javax.crypto.Cipher;
+
+import me.limeice.common.function.IOUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+
+
+public class AES128StreamTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    @Test
+    public void roundTrip() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        byte[] msg = new byte[100003];
+        new Random(7).nextBytes(msg);
+        byte[] expect = aes.encrypt(msg, KEY_BYTES);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        OutputStream out = new AES128OutputStream(bos, session, Cipher.ENCRYPT_MODE, 1000);
+        out.write(msg, 0, 10);
+        out.write(msg[10]);
+        out.write(msg, 11, msg.length - 11);
+        out.close();
+        assertArrayEquals(expect, bos.toByteArray());
+
+        InputStream in = new AES128InputStream(new ByteArrayInputStream(expect), session, Cipher.DECRYPT_MODE, 333);
+        assertArrayEquals(msg, IOUtils.read(in));
+
+        in = new AES128InputStream(new ByteArrayInputStream(msg), session, Cipher.ENCRYPT_MODE, 4096);
+        assertArrayEquals(expect, IOUtils.read(in));
+    }
+}
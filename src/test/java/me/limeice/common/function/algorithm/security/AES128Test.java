@@ -3,9 +3,21 @@ package me.limeice.common.function.algorithm.security;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.security.InvalidAlgorithmParameterException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
 import me.limeice.common.function.BytesUtils;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 @SuppressWarnings({"SpellCheckingInspection", "ConstantConditions"})
@@ -90,4 +102,62 @@ public class AES128Test {
         assertEquals(msg3, MSG);
         assertEquals(msg4, MSG);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cfbOfb() throws Exception {
+        byte[] msg = "0123456789ABCDEF0123".getBytes("UTF-8");
+        int[] types = {AES128.CFB | AES128.PKCS5Padding, AES128.CFB | AES128.NoPadding,
+                AES128.OFB | AES128.PKCS5Padding, AES128.OFB | AES128.NoPadding};
+        for (int type : types) {
+            AES128 aes = new AES128(type);
+            aes.setIV(iv);
+            assertTrue(aes.isUseIV());
+            Cipher cipher = Cipher.getInstance(aes.getAlgorithm());
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY_BYTES, "AES"), new IvParameterSpec(iv));
+            byte[] secret = aes.encrypt(msg, KEY_BYTES);
+            assertArrayEquals(aes.getAlgorithm(), cipher.doFinal(msg), secret);
+            assertArrayEquals(msg, aes.decrypt(secret, KEY_BYTES));
+            assertArrayEquals(msg, aes.newSession(KEY_BYTES).decrypt(secret));
+        }
+    }
+
+    @Test
+    public void ctr() throws Exception {
+        byte[] msg1 = "attack at dawn!!".getBytes("UTF-8");
+        byte[] msg2 = "retreat at noon!".getBytes("UTF-8");
+        AES128 aes = new AES128(AES128.CTR | AES128.NoPadding);
+        byte[] secret1 = aes.encrypt(msg1, KEY_BYTES);
+        byte[] secret2 = aes.encrypt(msg2, KEY_BYTES);
+        assertEquals(aes.getEncryptOutputSize(16), secret1.length);
+        // 每条消息使用不同的计数器块，密文异或不能还原另一条明文
+        assertFalse(Arrays.equals(Arrays.copyOf(secret1, 16), Arrays.copyOf(secret2, 16)));
+        byte[] xor = new byte[16];
+        for (int i = 0; i < 16; i++)
+            xor[i] = (byte) (secret1[16 + i] ^ secret2[16 + i] ^ msg1[i]);
+        assertFalse(Arrays.equals(msg2, xor));
+        assertArrayEquals(msg1, aes.decrypt(secret1, KEY_BYTES));
+        assertArrayEquals(msg2, aes.decrypt(secret2, KEY_BYTES));
+
+        // 与 JCE 一致
+        Cipher cipher = Cipher.getInstance(aes.getAlgorithm());
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY_BYTES, "AES"),
+                new IvParameterSpec(Arrays.copyOf(secret1, 16)));
+        assertArrayEquals(cipher.doFinal(msg1), Arrays.copyOfRange(secret1, 16, 32));
+
+        // 会话与未提供计数器块的 ByteBuffer 接口拒绝 CTR
+        try {
+            aes.newSession(KEY_BYTES);
+            fail();
+        } catch (InvalidAlgorithmParameterException ignored) {
+        }
+        try {
+            aes.encrypt(ByteBuffer.wrap(msg1), ByteBuffer.allocate(32), KEY_BYTES);
+            fail();
+        } catch (InvalidAlgorithmParameterException ignored) {
+        }
+        aes.setIV(Arrays.copyOf(secret1, 16));
+        ByteBuffer dst = ByteBuffer.allocate(16);
+        aes.encrypt(ByteBuffer.wrap(msg1), dst, KEY_BYTES);
+        assertArrayEquals(Arrays.copyOfRange(secret1, 16, 32), dst.array());
+    }
+}
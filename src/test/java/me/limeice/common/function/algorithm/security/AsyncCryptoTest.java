@@ -0,0 +1,92 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class AsyncCryptoTest {
+
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    @Test
+    public void roundTrip() throws Exception {
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AES128Session session = aes.newSession(KEY_BYTES);
+        byte[] msg = new byte[64 * 1024];
+        new Random(7).nextBytes(msg);
+        try (AsyncCrypto async = new AsyncCrypto(2, 16, AsyncCrypto.RejectionPolicy.ABORT)) {
+            byte[] secret = async.encrypt(session, msg).get();
+            assertArrayEquals(aes.encrypt(msg, KEY_BYTES), secret);
+            assertArrayEquals(msg, async.decrypt(aes, secret, KEY_BYTES).get());
+            assertArrayEquals(Hash.encode("SHA-256", msg), async.hash("SHA-256", msg).get());
+            assertEquals(3, async.getSubmittedCount());
+            assertEquals(3, async.getWaitTime().getCount());
+        }
+    }
+
+    @Test
+    public void inline() throws Exception {
+        AES128Session session = new AES128(AES128.ECB | AES128.PKCS5Padding).newSession(KEY_BYTES);
+        try (AsyncCrypto async = new AsyncCrypto(1, 1, AsyncCrypto.RejectionPolicy.ABORT)) {
+            CompletableFuture<byte[]> future = async.encrypt(session, "0123456789ABCDEF".getBytes("UTF-8"));
+            assertTrue(future.isDone());
+            assertEquals(1, async.getInlineCount());
+            assertEquals(0, async.getSubmittedCount());
+        }
+    }
+
+    @Test
+    public void error() throws Exception {
+        AES128Session session = new AES128(AES128.CBC | AES128.PKCS5Padding).newSession(KEY_BYTES);
+        try (AsyncCrypto async = new AsyncCrypto(1, 1, AsyncCrypto.RejectionPolicy.ABORT)) {
+            async.setInlineThreshold(0);
+            async.decrypt(session, new byte[17]).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof java.security.GeneralSecurityException);
+        }
+    }
+
+    @Test
+    public void rejection() throws Exception {
+        for (AsyncCrypto.RejectionPolicy policy : AsyncCrypto.RejectionPolicy.values()) {
+            try (AsyncCrypto async = new AsyncCrypto(1, 1, policy)) {
+                async.setInlineThreshold(0);
+                CountDownLatch running = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                async.submit(1, () -> {
+                    running.countDown();
+                    return release.await(10, TimeUnit.SECONDS);
+                });
+                assertTrue(running.await(10, TimeUnit.SECONDS));
+                CompletableFuture<String> queued = async.submit(1, () -> "queued");
+                assertEquals(1, async.getQueueDepth());
+                CompletableFuture<String> third = async.submit(1, () -> Thread.currentThread().getName());
+                assertEquals(1, async.getRejectedCount());
+                if (policy == AsyncCrypto.RejectionPolicy.ABORT) {
+                    try {
+                        third.get();
+                        fail();
+                    } catch (ExecutionException e) {
+                        assertTrue(e.getCause() instanceof RejectedExecutionException);
+                    }
+                } else {
+                    assertEquals(Thread.currentThread().getName(), third.get());
+                }
+                release.countDown();
+                assertEquals("queued", queued.get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+}
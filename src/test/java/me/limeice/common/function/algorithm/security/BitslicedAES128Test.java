@@ -0,0 +1,130 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.security.InvalidKeyException;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.BytesUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+public class BitslicedAES128Test {
+
+    /* 与 AES128Test 相同的向量 */
+    private static final byte[] KEY_BYTES = Hash.md5ToBytes("Lime");
+
+    private static final byte[] iv = new byte[]{0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01,
+            0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01};
+
+    private static final String MSG = "0123456789ABCDEF";
+
+    private static final String SMSG_ECB = "5faf450bd7925bf9deb073a20824f635fb3f1554e6f0f0efc8e0bc39c5f7ad15";
+
+    private static final String SMSG_CBC = "0551359fee241bca3d2259e2f91f07110cb743161a4d6783dba8ca6017881d25";
+
+    private static final int[][] TYPES = {
+            {AES128.ECB, AES128.NoPadding}, {AES128.ECB, AES128.PKCS5Padding},
+            {AES128.CBC, AES128.NoPadding}, {AES128.CBC, AES128.PKCS5Padding},
+            {AES128.CTR, AES128.NoPadding}};
+
+    private final BitslicedAES128 engine = new BitslicedAES128();
+
+    @Test
+    public void fips197() throws Exception {
+        byte[] key = BytesUtils.hexStringToBytes("000102030405060708090a0b0c0d0e0f");
+        byte[] block = BytesUtils.hexStringToBytes("00112233445566778899aabbccddeeff");
+        engine.encryptBlock(key, block, 0, block, 0);
+        assertEquals("69c4e0d86a7b0430d8cdb78070b4c55a", BytesUtils.toHexString(block));
+    }
+
+    @Test
+    public void vectors() throws Exception {
+        byte[] msg = MSG.getBytes("UTF-8");
+        AES128 aes = new AES128(AES128.ECB | AES128.PKCS5Padding);
+        aes.setEngine(engine);
+        assertEquals(SMSG_ECB, BytesUtils.toHexString(aes.encrypt(msg, KEY_BYTES)));
+        assertEquals(MSG, new String(aes.decrypt(BytesUtils.hexStringToBytes(SMSG_ECB), KEY_BYTES), "UTF-8"));
+        // ISO10126 填充为随机字节，按 NoPadding 解密后检查明文与填充长度
+        byte[] plain = engine.doFinal(false, AES128.CBC, AES128.NoPadding, KEY_BYTES, iv,
+                BytesUtils.hexStringToBytes(SMSG_CBC));
+        assertEquals(MSG, new String(plain, 0, 16, "UTF-8"));
+        assertEquals(16, plain[31]);
+    }
+
+    @Test
+    public void matchesJce() throws Exception {
+        Random random = new Random(21);
+        for (int[] type : TYPES) {
+            AES128 jce = new AES128(type[0] | type[1]);
+            for (int len = 0; len <= 100; len++) {
+                if (type[0] != AES128.CTR && type[1] == AES128.NoPadding && len % 16 != 0)
+                    continue;
+                byte[] key = new byte[16];
+                byte[] vector = new byte[16];
+                byte[] msg = new byte[len];
+                random.nextBytes(key);
+                random.nextBytes(vector);
+                random.nextBytes(msg);
+                jce.setIV(vector);
+                byte[] expected = jce.encrypt(msg, key);
+                if (type[0] == AES128.CTR) {
+                    // 计数器块 || 密文
+                    vector = Arrays.copyOf(expected, 16);
+                    expected = Arrays.copyOfRange(expected, 16, expected.length);
+                }
+                byte[] actual = engine.doFinal(true, type[0], type[1], key, vector, msg);
+                assertArrayEquals(jce.getAlgorithm() + " " + len, expected, actual);
+                assertArrayEquals(msg, engine.doFinal(false, type[0], type[1], key, vector, expected));
+            }
+        }
+    }
+
+    @Test
+    public void ctrCarry() throws Exception {
+        byte[] key = new byte[16];
+        byte[] vector = new byte[16];
+        Arrays.fill(vector, 8, 16, (byte) 0xFF);
+        byte[] msg = new byte[200];
+        Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(vector));
+        assertArrayEquals(cipher.doFinal(msg), engine.doFinal(true, AES128.CTR, AES128.NoPadding, key, vector, msg));
+    }
+
+    @Test
+    public void errors() throws Exception {
+        try {
+            engine.doFinal(true, AES128.ECB, AES128.NoPadding, KEY_BYTES, iv, new byte[17]);
+            fail();
+        } catch (IllegalBlockSizeException ignored) {
+        }
+        try {
+            engine.doFinal(false, AES128.CBC, AES128.PKCS5Padding, KEY_BYTES, iv, new byte[17]);
+            fail();
+        } catch (IllegalBlockSizeException ignored) {
+        }
+        try {
+            // 密钥错误时填充几乎不可能正确
+            byte[] secret = engine.doFinal(true, AES128.CBC, AES128.PKCS5Padding, KEY_BYTES, iv, new byte[20]);
+            engine.doFinal(false, AES128.CBC, AES128.PKCS5Padding, new byte[16], iv, secret);
+            fail();
+        } catch (BadPaddingException ignored) {
+        }
+        try {
+            engine.doFinal(true, AES128.ECB, AES128.PKCS5Padding, new byte[15], iv, new byte[16]);
+            fail();
+        } catch (InvalidKeyException ignored) {
+        }
+        assertEquals(0, engine.doFinal(false, AES128.ECB, AES128.PKCS5Padding, KEY_BYTES, iv, new byte[0]).length);
+    }
+}
@@ -0,0 +1,135 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CryptoMetricsTest {
+
+    private static final String ALG = "AES/CBC/PKCS5Padding";
+
+    @Before
+    public void setUp() {
+        CryptoMetrics.reset();
+        CryptoMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        CryptoMetrics.setEnabled(false);
+        CryptoMetrics.reset();
+        CryptoMetrics.unregisterMBean();
+    }
+
+    @Test
+    public void counters() throws Exception {
+        byte[] key = Hash.md5ToBytes("metrics");
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        AtomicLong listened = new AtomicLong();
+        CryptoMetrics.Listener listener = (op, name, bytes, nanos, error) -> listened.addAndGet(bytes);
+        CryptoMetrics.addListener(listener);
+        try {
+            byte[] secret = aes.encrypt(new byte[100], key);
+            aes.newSession(key).decrypt(secret);
+            try {
+                aes.decrypt(new byte[15], key);
+                fail();
+            } catch (IllegalBlockSizeException | BadPaddingException ignored) {
+            }
+            Hash.encode("SHA-256", new byte[64]);
+        } finally {
+            CryptoMetrics.removeListener(listener);
+        }
+
+        OperationStats enc = CryptoMetrics.getStats(CryptoMetrics.Operation.ENCRYPT, ALG);
+        assertNotNull(enc);
+        assertEquals(1, enc.getCount());
+        assertEquals(100, enc.getBytes());
+        OperationStats dec = CryptoMetrics.getStats(CryptoMetrics.Operation.DECRYPT, ALG);
+        assertEquals(2, dec.getCount());
+        assertEquals(1, dec.getErrors());
+        assertEquals(112, dec.getBytes());
+        assertEquals(64, CryptoMetrics.getStats(CryptoMetrics.Operation.DIGEST, "SHA-256").getBytes());
+        assertEquals(100 + 112 + 15 + 64, listened.get());
+        assertEquals(2, dec.getLatency().getCount());
+
+        // 关闭后不再记录
+        CryptoMetrics.setEnabled(false);
+        aes.encrypt(new byte[100], key);
+        assertEquals(1, enc.getCount());
+        assertNull(CryptoMetrics.getStats(CryptoMetrics.Operation.DIGEST, "SHA-512"));
+        Hash.sha512("metrics");
+        assertNull(CryptoMetrics.getStats(CryptoMetrics.Operation.DIGEST, "SHA-512"));
+    }
+
+    @Test
+    public void throwingListener() throws Exception {
+        byte[] key = Hash.md5ToBytes("metrics");
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        CryptoMetrics.Listener listener = (op, name, bytes, nanos, error) -> {
+            throw new IllegalStateException("listener");
+        };
+        CryptoMetrics.addListener(listener);
+        try {
+            byte[] secret = aes.encrypt(new byte[100], key);
+            assertArrayEquals(new byte[100], aes.newSession(key).decrypt(secret));
+            ByteBuffer dst = ByteBuffer.allocate(aes.getDecryptOutputSize(secret.length));
+            assertEquals(100, aes.decrypt(ByteBuffer.wrap(secret), dst, key));
+        } finally {
+            CryptoMetrics.removeListener(listener);
+        }
+        OperationStats enc = CryptoMetrics.getStats(CryptoMetrics.Operation.ENCRYPT, ALG);
+        assertEquals(1, enc.getCount());
+        assertEquals(0, enc.getErrors());
+        OperationStats dec = CryptoMetrics.getStats(CryptoMetrics.Operation.DECRYPT, ALG);
+        assertEquals(2, dec.getCount());
+        assertEquals(0, dec.getErrors());
+    }
+
+    @Test
+    public void mbean() throws Exception {
+        Hash.encode("SHA-1", new byte[10]);
+        CryptoMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(CryptoMetrics.OBJECT_NAME);
+        assertEquals(true, server.getAttribute(name, "Enabled"));
+        TabularData counts = (TabularData) server.getAttribute(name, "Counts");
+        assertEquals(1L, counts.get(new Object[]{"digest:SHA-1"}).get("value"));
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+            histogram.record(i * 1000L);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000, snapshot.getMax());
+        assertEquals(500500, snapshot.getMean(), 1);
+        long p50 = snapshot.getPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125);
+        long p99 = snapshot.getPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000);
+        assertEquals(1000000, snapshot.getPercentile(100));
+        for (long v : new long[]{0, 7, 8, 9, 1000, Long.MAX_VALUE})
+            assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucket(v)) >= v);
+    }
+}
@@ -0,0 +1,129 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import me.limeice.common.function.BytesUtils;
+import me.limeice.common.function.IOUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class HashTest {
+
+    @Test
+    public void hex() {
+        assertEquals("e10adc3949ba59abbe56e057f20f883e", Hash.md5("123456"));
+        assertEquals("8d969eef6ecad3c29a3a629280e686cf0c3f5d5a86aff3ca12020c923adc6c92", Hash.sha256("123456"));
+    }
+
+    @Test
+    public void engine() throws Exception {
+        byte[] msg = new byte[200001];
+        new Random(9).nextBytes(msg);
+        for (String algorithm : new String[]{"MD5", "SHA-1", "SHA-256", "SHA-512"}) {
+            byte[] expect = MessageDigest.getInstance(algorithm).digest(msg);
+            DigestEngine engine = Hash.engine(algorithm);
+            assertArrayEquals(expect, engine.digest(msg));
+            assertArrayEquals(expect, Hash.encode(algorithm, new ByteArrayInputStream(msg)));
+            ByteBuffer direct = ByteBuffer.allocateDirect(msg.length);
+            direct.put(msg).flip();
+            assertArrayEquals(expect, engine.digest(direct));
+            try (DigestEngine.Context context = engine.begin()) {
+                context.update(msg, 0, 100).update(ByteBuffer.wrap(msg, 100, msg.length - 100));
+                assertArrayEquals(expect, context.digest());
+            }
+        }
+    }
+
+    @Test
+    public void file() throws Exception {
+        byte[] msg = new byte[300000];
+        new Random(10).nextBytes(msg);
+        File file = File.createTempFile("hash", ".bin");
+        try {
+            IOUtils.write(file, msg);
+            assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(msg), Hash.encode("SHA-256", file));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void treeHash() throws Exception {
+        byte[] msg = new byte[10000];
+        new Random(12).nextBytes(msg);
+        File file = File.createTempFile("tree", ".bin");
+        try {
+            IOUtils.write(file, msg);
+            TreeHash tree = Hash.treeHash("SHA-256", file, 1000);
+            assertEquals(10, tree.getLeafCount());
+            // 叶子：H(0x00 || data)
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update((byte) 0);
+            md.update(msg, 3000, 1000);
+            assertArrayEquals(md.digest(), tree.getLeaf(3));
+            assertEquals(tree.getRootHex(), Hash.treeHash("SHA-256", file, 1000).getRootHex());
+
+            msg[4500] ^= 1;
+            IOUtils.write(file, msg);
+            assertFalse(tree.verifyLeaf(file, 4));
+            assertTrue(tree.verifyLeaf(file, 5));
+            TreeHash changed = Hash.treeHash("SHA-256", file, 1000);
+            assertArrayEquals(new int[]{4}, tree.diff(changed));
+            assertFalse(tree.getRootHex().equals(changed.getRootHex()));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void hmac() throws Exception {
+        // RFC 4231 test case 2
+        HmacEngine jefe = Hash.hmac(HmacEngine.HMAC_SHA256, "Jefe".getBytes("UTF-8"));
+        byte[] data = "what do ya want for nothing?".getBytes("UTF-8");
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                BytesUtils.toHexString(jefe.sign(data)));
+
+        byte[] key = Hash.md5ToBytes("Lime");
+        byte[] msg = new byte[20001];
+        new Random(25).nextBytes(msg);
+        for (String algorithm : new String[]{HmacEngine.HMAC_SHA1, HmacEngine.HMAC_SHA256,
+                HmacEngine.HMAC_SHA384, HmacEngine.HMAC_SHA512}) {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            byte[] expect = mac.doFinal(msg);
+            HmacEngine engine = Hash.hmac(algorithm, key);
+            assertEquals(expect.length, engine.getMacLength());
+            for (int i = 0; i < 3; i++)
+                assertArrayEquals(expect, engine.sign(msg));
+            assertArrayEquals(expect, engine.sign(new ByteArrayInputStream(msg)));
+            ByteBuffer direct = ByteBuffer.allocateDirect(msg.length);
+            direct.put(msg).flip();
+            assertArrayEquals(expect, engine.sign(direct));
+            try (HmacEngine.Context context = engine.begin()) {
+                context.update(msg, 0, 100).update(ByteBuffer.wrap(msg, 100, msg.length - 100));
+                assertTrue(context.verify(expect));
+            }
+            // 放弃的计算不影响下一次
+            engine.begin().update(msg, 0, 10).close();
+            assertTrue(engine.verify(msg, expect));
+            byte[] bad = expect.clone();
+            bad[bad.length - 1] ^= 1;
+            assertFalse(engine.verify(msg, bad));
+            assertFalse(engine.verify(msg, Arrays.copyOf(expect, 16)));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class KeyCacheTest {
+
+    @Test
+    public void hitAndEvict() {
+        KeyCache cache = new KeyCache(2, 0, TimeUnit.SECONDS);
+        assertArrayEquals(Hash.md5ToBytes("a"), cache.get("a"));
+        assertArrayEquals(Hash.md5ToBytes("a"), cache.get("a"));
+        cache.get("b");
+        cache.get("c");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void expire() throws Exception {
+        KeyCache cache = new KeyCache(8, 1, TimeUnit.MILLISECONDS);
+        cache.get("a");
+        Thread.sleep(5);
+        assertArrayEquals(Hash.md5ToBytes("a"), cache.get("a"));
+        assertEquals(1, cache.getExpirationCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void aes128() throws Exception {
+        AES128 aes = new AES128(AES128.ECB | AES128.PKCS5Padding);
+        String expect = aes.encryptBase64("0123456789ABCDEF", "Lime");
+        aes.setKeyCache(new KeyCache(16, 1, TimeUnit.MINUTES));
+        assertEquals(expect, aes.encryptBase64("0123456789ABCDEF", "Lime"));
+        assertEquals("0123456789ABCDEF", aes.decryptBase64(expect, "Lime"));
+        assertEquals(1, aes.getKeyCache().getHitCount());
+    }
+
+    @Test
+    public void concurrentEvict() throws Exception {
+        // 容量为1时几乎每次未命中都会淘汰并清零其他线程正在读取的条目
+        final KeyCache cache = new KeyCache(1, 0, TimeUnit.SECONDS);
+        final String[] secrets = {"a", "b", "c"};
+        final byte[][] expected = new byte[secrets.length][];
+        for (int i = 0; i < secrets.length; i++)
+            expected[i] = Hash.md5ToBytes(secrets[i]);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    int n = (i + seed) % secrets.length;
+                    if (!Arrays.equals(expected[n], cache.get(secrets[n])))
+                        failures.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(0, failures.get());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
@@ -0,0 +1,66 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import me.limeice.common.function.BytesUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+
+public class Pbkdf2Test {
+
+    @Test
+    public void rfc7914() {
+        byte[] key = new Pbkdf2(1).derive("passwd", "salt".getBytes(), 64);
+        assertEquals("55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+                + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783", BytesUtils.toHexString(key));
+        key = new Pbkdf2(80000).derive("Password", "NaCl".getBytes(), 64);
+        assertEquals("4ddcd8f60b98be21830cee5ef22701f9641a4418d04c0414aeff08876b34ab56"
+                + "a1d425a1225833549adb841b51c9b3176a272bdebba1d078478f62b397f33c8d", BytesUtils.toHexString(key));
+    }
+
+    @Test
+    public void matchesSecretKeyFactory() throws Exception {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        Random random = new Random(24);
+        String[] passwords = {"a", "password", "口令Lime", new String(new char[64]).replace('\0', 'x'),
+                new String(new char[200]).replace('\0', 'y')};
+        for (String password : passwords) {
+            for (int keyLength : new int[]{1, 16, 32, 33, 100}) {
+                int iterations = 1 + random.nextInt(300);
+                byte[] salt = new byte[1 + random.nextInt(100)];
+                random.nextBytes(salt);
+                byte[] expected = factory.generateSecret(
+                        new PBEKeySpec(password.toCharArray(), salt, iterations, keyLength * 8)).getEncoded();
+                assertArrayEquals(password + " " + keyLength, expected,
+                        new Pbkdf2(iterations).derive(password, salt, keyLength));
+            }
+        }
+    }
+
+    @Test
+    public void lanes() throws Exception {
+        Pbkdf2 kdf = new Pbkdf2(1000);
+        byte[][] salts = new byte[5][];
+        for (int i = 0; i < salts.length; i++)
+            salts[i] = ("salt" + i).getBytes();
+        byte[][] keys = kdf.derive("Lime", salts, 48);
+        for (int i = 0; i < salts.length; i++)
+            assertArrayEquals(kdf.derive("Lime", salts[i], 48), keys[i]);
+
+        // 作为 KeyCache 派生函数
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        aes.setKeyCache(new KeyCache(16, 1, TimeUnit.MINUTES, kdf.deriver(salts[0])));
+        String secret = aes.encryptBase64("src_Lime", "Lime");
+        assertEquals("src_Lime", aes.decryptBase64(secret, "Lime"));
+        assertEquals(secret, new AES128(AES128.CBC | AES128.PKCS5Padding)
+                .encryptBase64("src_Lime", kdf.derive("Lime", salts[0], 16)));
+    }
+}
@@ -0,0 +1,68 @@
+package me.limeice.common.function.algorithm.security;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.security.Provider;
+import java.util.Map;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+public class ProviderTunerTest {
+
+    @After
+    public void tearDown() {
+        ProviderTuner.reset();
+    }
+
+    @Test
+    public void calibrate() throws Exception {
+        ProviderTuner.Report report = ProviderTuner.calibrate(5, "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding",
+                "AES/XYZ/NoPadding");
+        assertSame(report, ProviderTuner.getReport());
+        for (String t : new String[]{"AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"}) {
+            ProviderTuner.Entry selected = report.getSelected(t);
+            assertNotNull(t, selected);
+            assertTrue(selected.getThroughput() > 0);
+            assertSame(selected.getProvider(), ProviderTuner.getPinned(t));
+            assertEquals(selected.getProvider(), ProviderTuner.getCipher(t).getProvider());
+        }
+        assertNull(report.getSelected("AES/XYZ/NoPadding"));
+        assertNull(ProviderTuner.getPinned("AES/XYZ/NoPadding"));
+
+        Map<String, String> map = report.toMap();
+        assertTrue(map.containsKey("aesIntrinsics"));
+        assertTrue(map.containsKey("AES/CBC/PKCS5Padding"));
+        CryptoMetrics.registerMBean();
+        ObjectName name = new ObjectName(CryptoMetrics.OBJECT_NAME);
+        TabularData capabilities = (TabularData) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(name, "Capabilities");
+        assertEquals(map.size(), capabilities.size());
+        assertEquals(map.get("AES/CBC/PKCS5Padding"),
+                capabilities.get(new Object[]{"AES/CBC/PKCS5Padding"}).get("value"));
+
+        // 固定后的 Provider 不影响结果
+        AES128 aes = new AES128(AES128.CBC | AES128.PKCS5Padding);
+        byte[] key = Hash.md5ToBytes("Lime");
+        assertArrayEquals("Lime".getBytes("UTF-8"), aes.decrypt(aes.encrypt("Lime".getBytes("UTF-8"), key), key));
+    }
+
+    @Test
+    public void pin() throws Exception {
+        Provider provider = ProviderTuner.getCipher("AES/ECB/NoPadding").getProvider();
+        ProviderTuner.pin("AES/ECB/NoPadding", provider);
+        assertSame(provider, ProviderTuner.getPinned("AES/ECB/NoPadding"));
+        ProviderTuner.reset();
+        assertNull(ProviderTuner.getPinned("AES/ECB/NoPadding"));
+    }
+}